@@ -2,8 +2,10 @@ package com.quizplatform.quizapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class QuizBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(QuizBackendApplication.class, args);
@@ -0,0 +1,64 @@
+package com.quizplatform.quizapp.config;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link AuthPrincipal} controller parameters. A bearer token wins
+ * over the session; the parameter is null when the caller is anonymous.
+ */
+public class AuthPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String SESSION_ATTRIBUTE = "user";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String REQUEST_ATTRIBUTE = AuthPrincipal.class.getName();
+
+    private final TokenService tokenService;
+
+    public AuthPrincipalArgumentResolver(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null) {
+            return null;
+        }
+        // Resolved at most once per request, however many handlers ask for it
+        Object cached = request.getAttribute(REQUEST_ATTRIBUTE);
+        if (cached instanceof AuthPrincipal) {
+            return cached;
+        }
+
+        AuthPrincipal principal = null;
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            principal = tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        } else {
+            HttpSession session = request.getSession(false);
+            if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof AuthPrincipal stored) {
+                principal = stored;
+            }
+        }
+
+        if (principal != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, principal);
+        }
+        return principal;
+    }
+}
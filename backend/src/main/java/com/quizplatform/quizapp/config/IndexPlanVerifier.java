@@ -0,0 +1,159 @@
+package com.quizplatform.quizapp.config;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Explains every repository query shape on startup and reports any whose
+ * winning plan scans the whole collection (COLLSCAN) or sorts in memory
+ * (SORT). Keep {@link #SHAPES} in step with the repositories.
+ *
+ * mongo.index-check: warn (default) logs the offenders, fail stops the
+ * application, off skips the check.
+ */
+@Component
+public class IndexPlanVerifier implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexPlanVerifier.class);
+
+    private static final Set<String> BAD_STAGES = Set.of("COLLSCAN", "SORT");
+
+    record QueryShape(String name, String collection, Document filter, Document sort) {
+    }
+
+    // Representative values; only the shape matters to the planner
+    static final List<QueryShape> SHAPES = List.of(
+            new QueryShape("ResultRepository.findByUserId", "results",
+                    new Document("userId", "u"), new Document("_id", -1)),
+            new QueryShape("ResultRepository.findByUserIdAndIdLessThan", "results",
+                    new Document("userId", "u").append("_id", new Document("$lt", new ObjectId())), new Document("_id", -1)),
+            new QueryShape("ResultRepository.findSliceBy", "results",
+                    new Document(), new Document("_id", -1)),
+            new QueryShape("ResultRepository.findByIdLessThan", "results",
+                    new Document("_id", new Document("$lt", new ObjectId())), new Document("_id", -1)),
+            new QueryShape("ResultRepository.findByUserIdAndSubmissionKey", "results",
+                    new Document("userId", "u").append("submissionKey", "k"), null),
+            new QueryShape("ResultRepository.streamAllScores", "results",
+                    new Document(), new Document("_id", 1)),
+            new QueryShape("ResultRepository.streamForStats", "results",
+                    new Document("_id", new Document("$gte", new ObjectId()).append("$lt", new ObjectId())), new Document("_id", 1)),
+            new QueryShape("ResultRepository.streamForExport (by quiz and date)", "results",
+                    new Document("quizId", "q").append("_id", new Document("$gte", new ObjectId())), null),
+            new QueryShape("ResultRepository.scanAnswers", "results",
+                    new Document("quizId", "q").append("quizVersion", 1L), null),
+            new QueryShape("QuizRepository.findSummaries (sort by title)", "quizzes",
+                    new Document(), new Document("title", 1)),
+            new QueryShape("QuizRepository.findSummaries (sort by id)", "quizzes",
+                    new Document(), new Document("_id", 1)),
+            new QueryShape("QuizRepository.findSummariesByIdIn", "quizzes",
+                    new Document("_id", new Document("$in", List.of(new ObjectId()))), null),
+            new QueryShape("QuizRepository.findSummariesAfter", "quizzes",
+                    new Document("_id", new Document("$gt", new ObjectId())), new Document("_id", 1)),
+            new QueryShape("UserRepository.findByUsername", "users",
+                    new Document("username", "u"), null),
+            new QueryShape("UserRepository.findByEmail", "users",
+                    new Document("email", "e"), null),
+            new QueryShape("UserRepository.replacePasswordHash", "users",
+                    new Document("_id", new ObjectId()).append("password", "p"), null),
+            new QueryShape("OtpRepository.consumeOtp", "otps",
+                    new Document("email", "e").append("code", "c").append("used", false)
+                            .append("expiryTime", new Document("$gt", new Date())), null),
+            new QueryShape("ProfileRepository.findByUserId", "profiles",
+                    new Document("userId", "u"), null),
+            new QueryShape("AttemptRepository.claimOpen", "attempts",
+                    new Document("finished", false).append("$or", List.of(
+                            new Document("owner", "n"),
+                            new Document("owner", null),
+                            new Document("leaseUntil", new Document("$lt", new Date())))),
+                    new Document("deadline", 1)),
+            new QueryShape("AttemptRepository.findByUserIdAndQuizIdAndFinishedFalse", "attempts",
+                    new Document("userId", "u").append("quizId", "q").append("finished", false), null));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.index-check:warn}")
+    private String mode;
+
+    @Override
+    public void run(String... args) {
+        if ("off".equals(mode)) {
+            return;
+        }
+        List<String> problems;
+        try {
+            problems = verify();
+        } catch (RuntimeException e) {
+            if ("fail".equals(mode)) {
+                throw e;
+            }
+            log.warn("Index check skipped, explain failed: {}", e.getMessage());
+            return;
+        }
+        if (problems.isEmpty()) {
+            log.info("Index check passed for {} query shapes", SHAPES.size());
+            return;
+        }
+        for (String problem : problems) {
+            log.warn("Query not covered by an index: {}", problem);
+        }
+        if ("fail".equals(mode)) {
+            throw new IllegalStateException("Index check failed for " + problems.size() + " queries: " + problems);
+        }
+    }
+
+    /**
+     * Returns one line per query shape whose plan contains COLLSCAN or SORT.
+     */
+    public List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        for (QueryShape shape : SHAPES) {
+            Document find = new Document("find", shape.collection()).append("filter", shape.filter());
+            if (shape.sort() != null) {
+                find.append("sort", shape.sort());
+            }
+            Document explain = mongoTemplate.executeCommand(
+                    new Document("explain", find).append("verbosity", "queryPlanner"));
+            Object queryPlanner = explain.get("queryPlanner");
+            Object winningPlan = queryPlanner instanceof Document planner ? planner.get("winningPlan") : null;
+
+            Set<String> stages = new TreeSet<>();
+            collectStages(winningPlan, stages);
+            stages.retainAll(BAD_STAGES);
+            if (!stages.isEmpty()) {
+                problems.add(shape.name() + " on " + shape.collection() + " uses " + stages);
+            }
+        }
+        return problems;
+    }
+
+    // Plans nest through inputStage/inputStages/queryPlan/shards, so walk everything
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            for (Object value : document.values()) {
+                collectStages(value, stages);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                collectStages(value, stages);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.quizplatform.quizapp.config;
+
+import com.quizplatform.quizapp.service.AttemptService;
+import com.quizplatform.quizapp.service.LoginHashPool;
+import com.quizplatform.quizapp.service.MailDispatcher;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.ResultWriteBehind;
+import com.quizplatform.quizapp.service.SubmissionKeys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters the services already keep as Micrometer meters. HTTP
+ * latency, repository timers and Mongo pool gauges come from Spring Boot's
+ * auto-configuration (see application.properties); this covers the rest.
+ * Meters read the service state on scrape, so nothing is added to the hot
+ * paths.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder quizCacheMetrics(QuizService quizService) {
+        // Names and tags follow Micrometer's cache conventions
+        return registry -> {
+            FunctionCounter.builder("cache.gets", quizService, service -> service.getCacheStats().hitCount())
+                    .tags("cache", "quizzes", "result", "hit")
+                    .description("Quiz cache lookups that were served from memory")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", quizService, service -> service.getCacheStats().missCount())
+                    .tags("cache", "quizzes", "result", "miss")
+                    .description("Quiz cache lookups that went to MongoDB")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", quizService, service -> service.getCacheStats().evictionCount())
+                    .tag("cache", "quizzes")
+                    .register(registry);
+            Gauge.builder("cache.size", quizService, QuizService::getCacheSize)
+                    .tag("cache", "quizzes")
+                    .register(registry);
+            Gauge.builder("cache.hit.ratio", quizService, service -> service.getCacheStats().hitRate())
+                    .tag("cache", "quizzes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder mailDispatchMetrics(MailDispatcher mailDispatcher) {
+        return registry -> {
+            Gauge.builder("mail.dispatch.queue.depth", mailDispatcher, MailDispatcher::getQueueDepth)
+                    .description("OTP mails waiting to be sent")
+                    .register(registry);
+            FunctionCounter.builder("mail.dispatch.sent", mailDispatcher, MailDispatcher::getSentCount)
+                    .register(registry);
+            FunctionCounter.builder("mail.dispatch.failed", mailDispatcher, MailDispatcher::getFailedCount)
+                    .description("Mails dropped after the last retry")
+                    .register(registry);
+            FunctionCounter.builder("mail.dispatch.retries", mailDispatcher, MailDispatcher::getRetryCount)
+                    .register(registry);
+            FunctionCounter.builder("mail.dispatch.rejected", mailDispatcher, MailDispatcher::getRejectedCount)
+                    .description("Mails refused because the queue was full")
+                    .register(registry);
+            FunctionTimer.builder("mail.dispatch.batch", mailDispatcher,
+                            MailDispatcher::getBatchCount, MailDispatcher::getSendNanos, TimeUnit.NANOSECONDS)
+                    .description("SMTP batch send time")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginHashMetrics(LoginHashPool loginHashPool) {
+        return registry -> {
+            Gauge.builder("auth.login.hash.active", loginHashPool, LoginHashPool::getActiveCount)
+                    .register(registry);
+            Gauge.builder("auth.login.hash.queue.depth", loginHashPool, LoginHashPool::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("auth.login.hash.rejected", loginHashPool, LoginHashPool::getRejectedCount)
+                    .description("Logins shed because the hash queue was full")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.hash.timeouts", loginHashPool, LoginHashPool::getTimedOutCount)
+                    .description("Logins shed because the hash check took too long")
+                    .register(registry);
+            FunctionTimer.builder("auth.login.hash", loginHashPool,
+                            LoginHashPool::getTaskCount, LoginHashPool::getTaskNanos, TimeUnit.NANOSECONDS)
+                    .description("Password hash work on the login pool, excluding queue wait")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder resultWriteBehindMetrics(ResultWriteBehind resultWriteBehind) {
+        // Mean batch size is results.write_behind.records / results.write_behind.flush count
+        return registry -> {
+            Gauge.builder("results.write_behind.backlog", resultWriteBehind, ResultWriteBehind::getBacklog)
+                    .description("Acknowledged results not yet in MongoDB")
+                    .register(registry);
+            FunctionTimer.builder("results.write_behind.flush", resultWriteBehind,
+                            ResultWriteBehind::getBatchCount, ResultWriteBehind::getFlushNanos, TimeUnit.NANOSECONDS)
+                    .description("insertMany time per batch")
+                    .register(registry);
+            FunctionTimer.builder("results.write_behind.lag", resultWriteBehind,
+                            ResultWriteBehind::getRecordCount, ResultWriteBehind::getLagNanos, TimeUnit.NANOSECONDS)
+                    .description("Time from acknowledgement to the result being in MongoDB")
+                    .register(registry);
+            FunctionCounter.builder("results.write_behind.records", resultWriteBehind, ResultWriteBehind::getRecordCount)
+                    .register(registry);
+            Gauge.builder("results.write_behind.batch.size.last", resultWriteBehind, ResultWriteBehind::getLastBatchSize)
+                    .register(registry);
+            FunctionCounter.builder("results.write_behind.flush.failures", resultWriteBehind, ResultWriteBehind::getFailedFlushCount)
+                    .register(registry);
+            FunctionCounter.builder("results.write_behind.rejected", resultWriteBehind, ResultWriteBehind::getRejectedCount)
+                    .description("Submissions refused because the backlog was full")
+                    .register(registry);
+            FunctionCounter.builder("results.write_behind.journal.syncs", resultWriteBehind, ResultWriteBehind::getJournalSyncCount)
+                    .description("Journal fsyncs; fewer than records means appends were group committed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder submissionKeyMetrics(SubmissionKeys submissionKeys) {
+        return registry -> {
+            FunctionCounter.builder("results.duplicates", submissionKeys, SubmissionKeys::getDuplicateCount)
+                    .description("Retried submissions answered without writing a second result")
+                    .register(registry);
+            Gauge.builder("results.idempotency.keys", submissionKeys, SubmissionKeys::getSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public MeterBinder attemptMetrics(AttemptService attemptService) {
+        // Answers saved vs. attempts.flushed shows how many clicks each write absorbs
+        return registry -> {
+            Gauge.builder("attempts.open", attemptService, AttemptService::getOpenCount)
+                    .description("Attempts in progress on this node")
+                    .register(registry);
+            Gauge.builder("attempts.live", attemptService, AttemptService::getLiveCount)
+                    .description("Attempts held in memory, including finished ones not yet flushed")
+                    .register(registry);
+            FunctionCounter.builder("attempts.started", attemptService, AttemptService::getStartedCount)
+                    .register(registry);
+            FunctionCounter.builder("attempts.answers", attemptService, AttemptService::getAnswerCount)
+                    .description("Autosaved answers")
+                    .register(registry);
+            FunctionCounter.builder("attempts.closed", attemptService, AttemptService::getFinishedCount)
+                    .tag("reason", "finished")
+                    .register(registry);
+            FunctionCounter.builder("attempts.closed", attemptService, AttemptService::getExpiredCount)
+                    .tag("reason", "expired")
+                    .description("Attempts finalized by the server when time ran out")
+                    .register(registry);
+            FunctionCounter.builder("attempts.flushes", attemptService, AttemptService::getFlushCount)
+                    .register(registry);
+            FunctionCounter.builder("attempts.flushed", attemptService, AttemptService::getFlushedCount)
+                    .description("Attempt documents written to MongoDB")
+                    .register(registry);
+            FunctionCounter.builder("attempts.flush.failures", attemptService, AttemptService::getFailedFlushCount)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.quizplatform.quizapp.config;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.quizplatform.quizapp.model.Otp;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves the otps collection from the old non-unique email index to the
+ * unique one issuance relies on. MongoDB refuses a second index on the
+ * same key with different options, so the old index is dropped and any
+ * duplicate OTPs per email (keeping the latest expiry) are removed before
+ * {@value #EMAIL_INDEX} is created. Runs before the web server starts and
+ * is a no-op once the collection has been migrated.
+ *
+ * If it fails (it logs a warning and the application keeps running) do
+ * the same by hand: drop the non-unique { email: 1 } index, delete the
+ * duplicates, then create { email: 1 } unique, named {@value #EMAIL_INDEX}.
+ */
+@Component
+public class OtpIndexMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(OtpIndexMigration.class);
+
+    static final String EMAIL_INDEX = "email_unique";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void migrate() {
+        try {
+            MongoCollection<Document> otps = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Otp.class));
+            dropLegacyIndex(otps);
+            int removed = removeDuplicates(otps);
+            if (removed > 0) {
+                log.info("Removed {} duplicate OTPs before creating {}", removed, EMAIL_INDEX);
+            }
+            otps.createIndex(Indexes.ascending("email"), new IndexOptions().name(EMAIL_INDEX).unique(true));
+        } catch (MongoException e) {
+            log.warn("OTP index migration failed, create the unique email index manually: {}", e.getMessage());
+        }
+    }
+
+    private void dropLegacyIndex(MongoCollection<Document> otps) {
+        for (Document index : otps.listIndexes().into(new ArrayList<>())) {
+            Document key = index.get("key", Document.class);
+            boolean emailOnly = key != null && key.size() == 1 && key.containsKey("email");
+            if (emailOnly && !index.getBoolean("unique", false)) {
+                log.info("Dropping non-unique OTP index {}", index.getString("name"));
+                otps.dropIndex(index.getString("name"));
+            }
+        }
+    }
+
+    private int removeDuplicates(MongoCollection<Document> otps) {
+        List<Document> groups = otps.aggregate(List.of(
+                Aggregates.sort(Sorts.descending("expiryTime")),
+                Aggregates.group("$email", Accumulators.push("ids", "$_id"), Accumulators.sum("count", 1)),
+                Aggregates.match(Filters.gt("count", 1)))).into(new ArrayList<>());
+        int removed = 0;
+        for (Document group : groups) {
+            List<Object> ids = group.getList("ids", Object.class);
+            // Newest first; keep it and drop the rest
+            removed += (int) otps.deleteMany(Filters.in("_id", ids.subList(1, ids.size()))).getDeletedCount();
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.quizplatform.quizapp.config;
+
+import com.quizplatform.quizapp.controllers.ReactiveQuizHandler;
+import com.quizplatform.quizapp.controllers.ReactiveResultHandler;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+/**
+ * The "reactive" profile: quiz and result routes served by functional
+ * endpoints on Netty, a handful of event-loop threads instead of a
+ * thread per connection.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    // Tomcat is on the classpath as well and Boot would otherwise pick it
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:5173"));
+        cors.setAllowedMethods(List.of("GET", "POST"));
+        cors.setAllowedHeaders(List.of("*"));
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new CorsWebFilter(source);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> apiRoutes(ReactiveQuizHandler quizHandler, ReactiveResultHandler resultHandler) {
+        // Literal paths before /{id}
+        return RouterFunctions.route()
+                .GET("/api/quizzes", quizHandler::getQuizzes)
+                .POST("/api/quizzes", quizHandler::createQuiz)
+                .GET("/api/quizzes/summaries", quizHandler::getQuizSummaries)
+                .GET("/api/quizzes/cache-stats", quizHandler::getCacheStats)
+                .GET("/api/quizzes/{id}/stats", quizHandler::getQuizStats)
+                .GET("/api/quizzes/{id}", quizHandler::getQuizById)
+                .POST("/api/results/submit", resultHandler::submitResult)
+                .GET("/api/results/my-results", resultHandler::getMyResults)
+                .GET("/api/results/all", resultHandler::getAllResults)
+                .build();
+    }
+}
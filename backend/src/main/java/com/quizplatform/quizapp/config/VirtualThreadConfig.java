@@ -0,0 +1,43 @@
+package com.quizplatform.quizapp.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * threads.virtual.enabled=true runs every request on its own virtual thread
+ * instead of Tomcat's bounded worker pool, so requests blocked on MongoDB
+ * no longer cap concurrency; the Mongo pool (max-pool-size) becomes the
+ * limit instead. Async MVC work (streamed exports) and the mail dispatcher
+ * workers switch to virtual threads too. The login hash pool stays on
+ * platform threads because hashing is CPU bound.
+ *
+ * Off by default: the throughput gain on the quiz-start and submit paths
+ * has not been measured yet. Compare both modes with the benchmarks
+ * module's LoadTest against a real MongoDB before enabling it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    // Replaces Boot's pooled executor, which Spring MVC uses for async requests
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-vt-"));
+    }
+}
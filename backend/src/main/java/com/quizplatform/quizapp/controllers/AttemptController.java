@@ -0,0 +1,151 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.Attempt;
+import com.quizplatform.quizapp.model.AttemptAnswer;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.Submission;
+import com.quizplatform.quizapp.service.AttemptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Timed quiz attempts: start (or resume) an attempt, autosave answers as
+ * they are picked, and finish it. The server owns the clock; attempts that
+ * are not finished in time are finalized and scored by AttemptService.
+ *
+ * Starting or fetching an attempt returns its questions in the attempt's
+ * own order; answers are sent as positions in that order.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/attempts")
+public class AttemptController {
+
+    @Autowired
+    private AttemptService attemptService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startAttempt(@RequestBody Map<String, String> request, AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String quizId = request.get("quizId");
+        if (quizId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Attempt attempt = attemptService.start(principal.getId(), quizId);
+        if (attempt == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(withQuestions(attempt));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> getAttempt(@PathVariable String id, AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Attempt attempt = attemptService.get(principal.getId(), id);
+        if (attempt == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(withQuestions(attempt));
+    }
+
+    @PostMapping("/{id}/answers")
+    public ResponseEntity<Map<String, Object>> saveAnswer(
+            @PathVariable String id,
+            @RequestBody AttemptAnswer answer,
+            AuthPrincipal principal) {
+        Map<String, Object> response = new HashMap<>();
+        if (principal == null) {
+            response.put("message", "Login required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        AttemptService.AnswerOutcome outcome;
+        try {
+            outcome = attemptService.answer(principal.getId(), id, answer.getQuestion(), answer.getAnswer());
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        switch (outcome) {
+            case NOT_FOUND:
+                response.put("message", "Attempt not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            case CLOSED:
+                response.put("message", "Attempt is closed");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            default:
+                response.put("message", "Answer saved");
+                return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * The body may carry the final answer vector (as in a Submission); it is
+     * applied only while the attempt is still accepting answers.
+     */
+    @PostMapping("/{id}/finish")
+    public ResponseEntity<Map<String, Object>> finishAttempt(
+            @PathVariable String id,
+            @RequestBody(required = false) Submission submission,
+            AuthPrincipal principal) {
+        Map<String, Object> response = new HashMap<>();
+        if (principal == null) {
+            response.put("message", "Login required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        // Finishing is idempotent; a retry or a late finish gets the recorded outcome
+        Attempt attempt;
+        try {
+            attempt = attemptService.finish(principal.getId(), id, submission != null ? submission.getAnswers() : null);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (attempt == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(attemptResponse(attempt));
+    }
+
+    private Map<String, Object> withQuestions(Attempt attempt) {
+        Map<String, Object> response = attemptResponse(attempt);
+        response.put("questions", attemptService.questions(attempt));
+        return response;
+    }
+
+    static Map<String, Object> attemptResponse(Attempt attempt) {
+        byte[] stored = attempt.getAnswers();
+        int[] answers = new int[stored == null ? 0 : stored.length];
+        for (int i = 0; i < answers.length; i++) {
+            answers[i] = stored[i];
+        }
+
+        // Clients count down from remainingSeconds, so their clock never matters
+        long remainingMillis = attempt.getDeadline().toEpochMilli() - Instant.now().toEpochMilli();
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", attempt.getId());
+        response.put("quizId", attempt.getQuizId());
+        response.put("answers", answers);
+        response.put("deadline", attempt.getDeadline().toString());
+        response.put("remainingSeconds", attempt.isFinished() ? 0L : Math.max(0L, (remainingMillis + 999) / 1000));
+        response.put("finished", attempt.isFinished());
+        response.put("expired", attempt.isExpired());
+        response.put("score", attempt.getScore());
+        return response;
+    }
+}
@@ -1,20 +1,36 @@
 package com.quizplatform.quizapp.controllers;
 
+import com.quizplatform.quizapp.config.AuthPrincipalArgumentResolver;
+import com.quizplatform.quizapp.model.AuthPrincipal;
 import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.service.TokenService;
 import com.quizplatform.quizapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import java.util.HashMap;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
 public class AuthController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    // "session" keeps the principal in the servlet session; "token" is fully stateless
+    @Value("${auth.mode:session}")
+    private String authMode;
+
     @PostMapping("/register")
     public ResponseEntity<String> register(@RequestBody User user) {
         String message = userService.registerUser(user);
@@ -25,27 +41,41 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<User> login(@RequestBody User user, HttpSession session) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody User user, HttpServletRequest request) {
         User existing = userService.loginUser(user.getUsername(), user.getPassword());
-        if (existing != null) {
-            session.setAttribute("user", existing);
-            return ResponseEntity.ok(existing);
+        if (existing == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+
+        AuthPrincipal principal = AuthPrincipal.from(existing);
+        if (!"token".equals(authMode)) {
+            request.getSession().setAttribute(AuthPrincipalArgumentResolver.SESSION_ATTRIBUTE, principal);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", principal.getId());
+        response.put("username", principal.getUsername());
+        response.put("role", principal.getRole());
+        response.put("email", principal.getEmail());
+        response.put("token", tokenService.issue(principal));
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        session.invalidate();
+    public ResponseEntity<String> logout(HttpServletRequest request) {
+        // Tokens are stateless and simply expire; only a session needs tearing down
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
         return ResponseEntity.ok("Logged out successfully");
     }
 
     @GetMapping("/current")
-    public ResponseEntity<User> getCurrentUser(HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user != null) {
-            return ResponseEntity.ok(user);
+    public ResponseEntity<AuthPrincipal> getCurrentUser(AuthPrincipal principal) {
+        if (principal != null) {
+            return ResponseEntity.ok(principal);
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
-}
\ No newline at end of file
+}
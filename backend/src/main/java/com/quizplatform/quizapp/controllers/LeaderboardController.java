@@ -0,0 +1,90 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.LeaderboardEntry;
+import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.repository.UserRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @GetMapping("/{quizId}")
+    public ResponseEntity<Map<String, Object>> getTop(
+            @PathVariable String quizId,
+            @RequestParam(defaultValue = "10") int limit,
+            AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<LeaderboardEntry> entries = leaderboardService.top(quizId, limit);
+        fillUsernames(entries);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("quizId", quizId);
+        response.put("entries", entries);
+        response.put("participants", leaderboardService.participants(quizId));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{quizId}/me")
+    public ResponseEntity<Map<String, Object>> getMyRank(@PathVariable String quizId, AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        LeaderboardEntry entry = leaderboardService.rankOf(quizId, principal.getId());
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("quizId", quizId);
+        response.put("rank", entry.getRank());
+        response.put("score", entry.getScore());
+        response.put("participants", leaderboardService.participants(quizId));
+        return ResponseEntity.ok(response);
+    }
+
+    // One projected $in query for the whole page of rows
+    private void fillUsernames(List<LeaderboardEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> userIds = new ArrayList<>(entries.size());
+        for (LeaderboardEntry entry : entries) {
+            userIds.add(entry.getUserId());
+        }
+        Map<String, String> usernames = new HashMap<>();
+        for (User user : userRepository.findUsernamesByIdIn(userIds)) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        for (LeaderboardEntry entry : entries) {
+            entry.setUsername(usernames.get(entry.getUserId()));
+        }
+    }
+}
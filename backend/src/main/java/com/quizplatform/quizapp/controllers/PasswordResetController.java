@@ -4,15 +4,17 @@ import com.quizplatform.quizapp.model.User;
 import com.quizplatform.quizapp.repository.UserRepository;
 import com.quizplatform.quizapp.service.OtpService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/password-reset")
 public class PasswordResetController {
 
@@ -23,7 +25,7 @@ public class PasswordResetController {
     private OtpService otpService;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @PostMapping("/request")
     public ResponseEntity<Map<String, String>> requestOtp(@RequestBody Map<String, String> request) {
@@ -84,28 +86,28 @@ public class PasswordResetController {
         String otp = request.get("otp");
         String newPassword = request.get("newPassword");
 
-        // Verify OTP first
-        if (!otpService.verifyOtp(email, otp)) {
+        // Checked first: a rejected request must not use up the OTP
+        if (newPassword == null || newPassword.trim().isEmpty()) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "New password is required");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        // Verify and consume the OTP in one atomic step
+        if (!otpService.consumeOtp(email, otp)) {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Invalid or expired OTP");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
 
-        // Find user
-        User user = userRepository.findByEmail(email);
-        if (user == null) {
+        // Update password without loading the user first
+        long updated = userRepository.updatePasswordByEmail(email, passwordEncoder.encode(newPassword));
+        if (updated == 0) {
             Map<String, String> response = new HashMap<>();
             response.put("message", "User not found");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
-        // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
-
-        // Mark OTP as used
-        otpService.markOtpAsUsed(email, otp);
-
         Map<String, String> response = new HashMap<>();
         response.put("message", "Password reset successfully");
         return ResponseEntity.ok(response);
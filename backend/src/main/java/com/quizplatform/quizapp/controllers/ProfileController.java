@@ -1,15 +1,15 @@
 package com.quizplatform.quizapp.controllers;
 
+import com.quizplatform.quizapp.model.AuthPrincipal;
 import com.quizplatform.quizapp.model.Profile;
-import com.quizplatform.quizapp.model.User;
 import com.quizplatform.quizapp.repository.ProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import jakarta.servlet.http.HttpSession;
 
 @RestController
+@org.springframework.context.annotation.Profile("!reactive")
 @RequestMapping("/api/profile")
 public class ProfileController {
 
@@ -17,53 +17,50 @@ public class ProfileController {
     private ProfileRepository profileRepository;
 
     @GetMapping
-    public ResponseEntity<Profile> getProfile(HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) {
+    public ResponseEntity<Profile> getProfile(AuthPrincipal principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        Profile profile = profileRepository.findByUserId(user.getId());
+        Profile profile = profileRepository.findByUserId(principal.getId());
         if (profile == null) {
             // Return empty profile if not found
             profile = new Profile();
-            profile.setUserId(user.getId());
-            profile.setEmail(user.getUsername()); // Default email to username
+            profile.setUserId(principal.getId());
+            profile.setEmail(principal.getUsername()); // Default email to username
         }
         
         return ResponseEntity.ok(profile);
     }
 
     @PostMapping
-    public ResponseEntity<String> saveProfile(@RequestBody Profile profile, HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) {
+    public ResponseEntity<String> saveProfile(@RequestBody Profile profile, AuthPrincipal principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        Profile existingProfile = profileRepository.findByUserId(user.getId());
+        Profile existingProfile = profileRepository.findByUserId(principal.getId());
         if (existingProfile != null) {
             profile.setId(existingProfile.getId());
         }
         
-        profile.setUserId(user.getId());
+        profile.setUserId(principal.getId());
         profileRepository.save(profile);
         return ResponseEntity.ok("Profile saved successfully");
     }
 
     @PutMapping
-    public ResponseEntity<String> updateProfile(@RequestBody Profile profile, HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) {
+    public ResponseEntity<String> updateProfile(@RequestBody Profile profile, AuthPrincipal principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        Profile existingProfile = profileRepository.findByUserId(user.getId());
+        Profile existingProfile = profileRepository.findByUserId(principal.getId());
         if (existingProfile != null) {
             profile.setId(existingProfile.getId());
         }
         
-        profile.setUserId(user.getId());
+        profile.setUserId(principal.getId());
         profileRepository.save(profile);
         return ResponseEntity.ok("Profile updated successfully");
     }
@@ -1,38 +1,299 @@
 package com.quizplatform.quizapp.controllers;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.ImportReport;
 import com.quizplatform.quizapp.model.Quiz;
-import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import com.quizplatform.quizapp.model.QuizSummary;
 import com.quizplatform.quizapp.repository.QuizRepository;
+import com.quizplatform.quizapp.service.AnswerTally;
+import com.quizplatform.quizapp.service.CachedQuiz;
+import com.quizplatform.quizapp.service.QuizImportService;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import jakarta.servlet.http.HttpSession;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/quizzes")
 public class QuizController {
 
+    static final int MAX_BATCH_IDS = 100;
+
+    // Larger page sizes are clamped, so one request cannot pull the whole catalog
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Only indexed fields, so a listing never falls back to an in-memory sort
+    private static final Set<String> SORTABLE_FIELDS = Set.of("title", "id");
+
+    // Quizzes are always revalidated, which costs a 304 from the cached ETag
+    static final CacheControl QUIZ_CACHE_CONTROL = CacheControl.noCache();
+
     @Autowired
     private QuizRepository quizRepository;
 
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    @Autowired
+    private QuizImportService quizImportService;
+
+    @Value("${quiz.http.catalog-max-age-seconds:30}")
+    private long catalogMaxAgeSeconds;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getQuizzes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "title") String sortBy) {
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        Page<Quiz> quizPage = quizRepository.findAll(pageable);
-        
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+
+        // Cursor mode walks the catalog in _id order: after=<last id seen>, or empty for the first page.
+        // Its order is fixed, so any sortBy other than id is rejected rather than ignored.
+        if (after != null) {
+            if (!after.isEmpty() && !ObjectId.isValid(after)) {
+                return ResponseEntity.badRequest().build();
+            }
+            if (sortBy != null && !"id".equals(sortBy)) {
+                return ResponseEntity.badRequest().build();
+            }
+        } else {
+            sortBy = sortBy != null ? sortBy : "title";
+            if (!isSortable(sortBy)) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        size = clampPageSize(size);
+
+        // A catalog the client already has is confirmed without running the query
+        String eTag = quizService.getCatalogETag();
+        CacheControl cacheControl = catalogCacheControl(catalogMaxAgeSeconds);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        Map<String, Object> body;
+        if (after != null) {
+            Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
+            Slice<QuizSummary> quizSlice = after.isEmpty()
+                    ? quizRepository.findSummarySlice(pageable)
+                    : quizRepository.findSummariesAfter(new ObjectId(after), pageable);
+            body = cursorResponse(quizSlice);
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+            body = pageResponse(quizRepository.findSummaries(pageable));
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body);
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<String, QuizSummary>> getQuizSummaries(@RequestParam List<String> ids) {
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove("");
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(quizService.findSummaries(distinctIds));
+    }
+
+    /**
+     * Writes the cached, already serialized quiz: gzipped if the client takes
+     * gzip, plain otherwise, so Jackson and the compressor never run here.
+     * A request whose If-None-Match holds the ETag of that representation
+     * gets a 304 from Spring instead.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> getQuizById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CachedQuiz cached = quizService.findCached(id);
+        if (cached == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(QUIZ_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (cached.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            // Content-Encoding is already set, so the container does not compress again
+            return response.eTag(cached.getGzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(cached.getGzip());
+        }
+        return response.eTag(cached.getETag()).body(cached.getJson());
+    }
+
+    @PostMapping
+    public ResponseEntity<String> createQuiz(@RequestBody Quiz quiz, AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized: Only admin can create quiz");
+        }
+        quizService.save(quiz);
+        return ResponseEntity.ok("Quiz created successfully");
+    }
+
+    /**
+     * Bulk import from the raw request body (JSON array or CSV), read as a
+     * stream rather than bound with @RequestBody so large files are never
+     * held in memory. Per-record problems are listed in the report.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importQuizzes(
+            @RequestParam(defaultValue = "json") String format,
+            HttpServletRequest request,
+            AuthPrincipal principal) throws IOException {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!"json".equals(format) && !"csv".equals(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try (InputStream in = request.getInputStream()) {
+            ImportReport report = "csv".equals(format)
+                    ? quizImportService.importCsv(in)
+                    : quizImportService.importJson(in);
+            return ResponseEntity.ok(report);
+        }
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<Map<String, Object>> getQuizStats(@PathVariable String id, AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        QuizStatsSnapshot stats = quizStatsService.get(id);
+        if (stats == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(statsResponse(id, stats));
+    }
+
+    /**
+     * Per-question accuracy over every stored result of the quiz, scanned
+     * from the packed answer vectors. Slower than /stats, but exact.
+     */
+    @GetMapping("/{id}/answer-stats")
+    public ResponseEntity<Map<String, Object>> getAnswerStats(@PathVariable String id, AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        AnswerTally tally = quizStatsService.tallyAnswers(id);
+        if (tally == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int i = 0; i < tally.getQuestionCount(); i++) {
+            long answered = tally.getAnswered(i);
+            Map<String, Object> question = new HashMap<>();
+            question.put("index", i);
+            question.put("attempts", answered);
+            question.put("correct", tally.getCorrect(i));
+            question.put("correctRate", answered > 0 ? (double) tally.getCorrect(i) / answered : null);
+            questions.add(question);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("quizId", id);
+        response.put("results", tally.getResults());
+        // Results stored without answers, or answered against other questions
+        response.put("skipped", tally.getSkipped());
+        response.put("questions", questions);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats(AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(cacheStatsResponse(quizService));
+    }
+
+    // Response bodies are built here and shared with the reactive handlers,
+    // so both stacks serve identical JSON
+
+    static boolean isSortable(String sortBy) {
+        return SORTABLE_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * Whether an Accept-Encoding header admits gzip: listed (or covered by
+     * "*") without q=0. An explicit gzip entry wins over "*".
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    static CacheControl catalogCacheControl(long maxAgeSeconds) {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    static Map<String, Object> pageResponse(Page<QuizSummary> quizPage) {
         Map<String, Object> response = new HashMap<>();
         response.put("quizzes", quizPage.getContent());
         response.put("currentPage", quizPage.getNumber());
@@ -40,23 +301,54 @@ public class QuizController {
         response.put("totalPages", quizPage.getTotalPages());
         response.put("hasNext", quizPage.hasNext());
         response.put("hasPrevious", quizPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        return response;
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<Quiz> getQuizById(@PathVariable String id) {
-        Optional<Quiz> quiz = quizRepository.findById(id);
-        return quiz.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    static Map<String, Object> cursorResponse(Slice<QuizSummary> quizSlice) {
+        List<QuizSummary> quizzes = quizSlice.getContent();
+        Map<String, Object> response = new HashMap<>();
+        response.put("quizzes", quizzes);
+        response.put("hasNext", quizSlice.hasNext());
+        response.put("nextCursor", quizSlice.hasNext() ? quizzes.get(quizzes.size() - 1).getId() : null);
+        return response;
     }
 
-    @PostMapping
-    public ResponseEntity<String> createQuiz(@RequestBody Quiz quiz, HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null || !"ADMIN".equals(user.getRole())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized: Only admin can create quiz");
+    static Map<String, Object> statsResponse(String id, QuizStatsSnapshot stats) {
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int i = 0; i < stats.getQuestionAttempts().length; i++) {
+            long attempts = stats.getQuestionAttempts()[i];
+            Map<String, Object> question = new HashMap<>();
+            question.put("index", i);
+            question.put("attempts", attempts);
+            question.put("correctRate", attempts > 0 ? (double) stats.getQuestionCorrect()[i] / attempts : null);
+            questions.add(question);
         }
-        quizRepository.save(quiz);
-        return ResponseEntity.ok("Quiz created successfully");
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("quizId", id);
+        response.put("count", stats.getCount());
+        response.put("mean", stats.getMean());
+        response.put("stdDev", Math.sqrt(stats.variance()));
+        response.put("min", stats.getMin());
+        response.put("max", stats.getMax());
+        response.put("p25", stats.scoreAtPercentile(25));
+        response.put("median", stats.scoreAtPercentile(50));
+        response.put("p75", stats.scoreAtPercentile(75));
+        response.put("p90", stats.scoreAtPercentile(90));
+        response.put("histogram", stats.getScoreHistogram());
+        response.put("questions", questions);
+        return response;
+    }
+
+    static Map<String, Object> cacheStatsResponse(QuizService quizService) {
+        CacheStats stats = quizService.getCacheStats();
+        Map<String, Object> response = new HashMap<>();
+        response.put("size", quizService.getCacheSize());
+        response.put("hits", stats.hitCount());
+        response.put("misses", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictions", stats.evictionCount());
+        response.put("evictedBytes", stats.evictionWeight());
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.repository.ReactiveQuizRepository;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ReactiveQuizService;
+import com.quizplatform.quizapp.service.TokenService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Functional endpoints mirroring {@link QuizController} for the "reactive"
+ * profile. Response bodies come from the same builders, so the JSON is identical.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveQuizHandler {
+
+    @Autowired
+    private ReactiveQuizRepository reactiveQuizRepository;
+
+    @Autowired
+    private ReactiveQuizService reactiveQuizService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${quiz.http.catalog-max-age-seconds:30}")
+    private long catalogMaxAgeSeconds;
+
+    public Mono<ServerResponse> getQuizzes(ServerRequest request) {
+        int page = ReactiveSupport.intParam(request, "page", 0);
+        int size = QuizController.clampPageSize(ReactiveSupport.intParam(request, "size", 10));
+        Optional<String> requestedSort = request.queryParam("sortBy");
+        String sortBy = requestedSort.orElse("title");
+        Optional<String> after = request.queryParam("after");
+
+        if (after.isPresent()) {
+            String cursor = after.get();
+            if (!cursor.isEmpty() && !ObjectId.isValid(cursor)) {
+                return ServerResponse.badRequest().build();
+            }
+            if (requestedSort.isPresent() && !"id".equals(sortBy)) {
+                return ServerResponse.badRequest().build();
+            }
+        } else if (!QuizController.isSortable(sortBy)) {
+            return ServerResponse.badRequest().build();
+        }
+
+        String eTag = quizService.getCatalogETag();
+        CacheControl cacheControl = QuizController.catalogCacheControl(catalogMaxAgeSeconds);
+        return request.checkNotModified(eTag)
+                .switchIfEmpty(Mono.defer(() -> catalog(page, size, sortBy, after)
+                        .flatMap(body -> ServerResponse.ok().eTag(eTag).cacheControl(cacheControl).bodyValue(body))));
+    }
+
+    private Mono<Map<String, Object>> catalog(int page, int size, String sortBy, Optional<String> after) {
+        if (after.isPresent()) {
+            String cursor = after.get();
+            Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
+            Pageable lookahead = PageRequest.of(0, size + 1, Sort.by("id"));
+            Flux<QuizSummary> rows = cursor.isEmpty()
+                    ? reactiveQuizRepository.findSummariesBy(lookahead)
+                    : reactiveQuizRepository.findSummariesAfter(new ObjectId(cursor), lookahead);
+            return rows.collectList()
+                    .map(list -> QuizController.cursorResponse(ReactiveSupport.slice(list, pageable)));
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        return Mono.zip(reactiveQuizRepository.findSummariesBy(pageable).collectList(), reactiveQuizRepository.count())
+                .map(pageAndTotal -> QuizController.pageResponse(
+                        new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2())));
+    }
+
+    public Mono<ServerResponse> getQuizSummaries(ServerRequest request) {
+        List<String> values = request.queryParams().get("ids");
+        if (values == null || values.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+        // Same binding as @RequestParam List<String>: a single value is comma separated
+        Set<String> distinctIds = new LinkedHashSet<>();
+        if (values.size() == 1) {
+            for (String id : StringUtils.commaDelimitedListToStringArray(values.get(0))) {
+                distinctIds.add(id.trim());
+            }
+        } else {
+            distinctIds.addAll(values);
+        }
+        distinctIds.remove("");
+        if (distinctIds.size() > QuizController.MAX_BATCH_IDS) {
+            return ServerResponse.badRequest().build();
+        }
+        return reactiveQuizService.findSummaries(distinctIds)
+                .flatMap(summaries -> ServerResponse.ok().bodyValue(summaries));
+    }
+
+    public Mono<ServerResponse> getQuizById(ServerRequest request) {
+        // Same stored bytes as QuizController; a matching If-None-Match is
+        // turned into a 304 when the response is written
+        boolean gzip = QuizController.acceptsGzip(
+                String.join(",", request.headers().header(HttpHeaders.ACCEPT_ENCODING)));
+        return reactiveQuizService.findCached(request.pathVariable("id"))
+                .flatMap(cached -> {
+                    ServerResponse.BodyBuilder response = ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .cacheControl(QuizController.QUIZ_CACHE_CONTROL)
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+                    if (gzip && cached.getGzip() != null) {
+                        return response.eTag(cached.getGzipETag())
+                                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                .bodyValue(cached.getGzip());
+                    }
+                    return response.eTag(cached.getETag()).bodyValue(cached.getJson());
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    public Mono<ServerResponse> createQuiz(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null || !principal.isAdmin()) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).bodyValue("Unauthorized: Only admin can create quiz");
+        }
+        return request.bodyToMono(Quiz.class)
+                .flatMap(quiz -> reactiveQuizService.save(quiz)
+                        .then(ServerResponse.ok().bodyValue("Quiz created successfully")))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().bodyValue("Quiz body is required")));
+    }
+
+    public Mono<ServerResponse> getQuizStats(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null || !principal.isAdmin()) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String id = request.pathVariable("id");
+        QuizStatsSnapshot stats = quizStatsService.get(id);
+        if (stats == null) {
+            return ServerResponse.notFound().build();
+        }
+        return ServerResponse.ok().bodyValue(QuizController.statsResponse(id, stats));
+    }
+
+    public Mono<ServerResponse> getCacheStats(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null || !principal.isAdmin()) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ServerResponse.ok().bodyValue(QuizController.cacheStatsResponse(quizService));
+    }
+}
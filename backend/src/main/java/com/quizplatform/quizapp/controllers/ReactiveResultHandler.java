@@ -0,0 +1,203 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.model.Submission;
+import com.quizplatform.quizapp.repository.ReactiveResultRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ReactiveQuizService;
+import com.quizplatform.quizapp.service.ScoringService;
+import com.quizplatform.quizapp.service.SubmissionKeys;
+import com.quizplatform.quizapp.service.TokenService;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Functional endpoints mirroring the submit and listing endpoints of
+ * {@link ResultController} for the "reactive" profile.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveResultHandler {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+
+    @Autowired
+    private ReactiveResultRepository reactiveResultRepository;
+
+    @Autowired
+    private ReactiveQuizService reactiveQuizService;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private SubmissionKeys submissionKeys;
+
+    public Mono<ServerResponse> submitResult(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null) {
+            return message(HttpStatus.UNAUTHORIZED, "Login required");
+        }
+        String submissionKey = request.headers().firstHeader(SubmissionKeys.HEADER);
+        if (submissionKey != null && !SubmissionKeys.isValid(submissionKey)) {
+            return message(HttpStatus.BAD_REQUEST, "Invalid " + SubmissionKeys.HEADER);
+        }
+        return request.bodyToMono(Submission.class).flatMap(submission -> {
+            if (submission.getQuizId() == null) {
+                return message(HttpStatus.BAD_REQUEST, "quizId is required");
+            }
+            return reactiveQuizService.findById(submission.getQuizId())
+                    .flatMap(quiz -> {
+                        // Score on the server; the client only sends the options it picked
+                        int score;
+                        try {
+                            score = scoringService.score(quiz, submission.getAnswers());
+                        } catch (IllegalArgumentException e) {
+                            return message(HttpStatus.BAD_REQUEST, e.getMessage());
+                        }
+                        if (submissionKey != null) {
+                            Integer previousScore = submissionKeys.claim(principal.getId(), submissionKey, score);
+                            if (previousScore != null) {
+                                return ServerResponse.ok().bodyValue(ResultController.alreadySubmittedResponse(previousScore));
+                            }
+                        }
+
+                        Result result = new Result();
+                        result.setUserId(principal.getId());
+                        result.setQuizId(submission.getQuizId());
+                        result.setScore(score);
+                        result.setSubmissionKey(submissionKey);
+                        scoringService.attachAnswers(result, submission.getAnswers());
+                        return reactiveResultRepository.save(result)
+                                .flatMap(saved -> {
+                                    leaderboardService.record(saved);
+                                    quizStatsService.record(saved);
+
+                                    Map<String, Object> response = new HashMap<>();
+                                    response.put("message", "Result submitted successfully");
+                                    response.put("score", score);
+                                    return ServerResponse.ok().bodyValue(response);
+                                })
+                                .onErrorResume(DuplicateKeyException.class, e -> reactiveResultRepository
+                                        .findByUserIdAndSubmissionKey(principal.getId(), submissionKey)
+                                        .map(Result::getScore)
+                                        .defaultIfEmpty(score)
+                                        .flatMap(storedScore -> {
+                                            submissionKeys.remember(principal.getId(), submissionKey, storedScore);
+                                            submissionKeys.countDuplicate();
+                                            return ServerResponse.ok()
+                                                    .bodyValue(ResultController.alreadySubmittedResponse(storedScore));
+                                        }))
+                                .doOnError(e -> {
+                                    if (submissionKey != null) {
+                                        submissionKeys.release(principal.getId(), submissionKey);
+                                    }
+                                });
+                    })
+                    .switchIfEmpty(Mono.defer(() -> message(HttpStatus.NOT_FOUND, "Quiz not found")));
+        }).switchIfEmpty(Mono.defer(() -> message(HttpStatus.BAD_REQUEST, "Request body is required")));
+    }
+
+    public Mono<ServerResponse> getMyResults(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return listResults(request, principal.getId());
+    }
+
+    public Mono<ServerResponse> getAllResults(ServerRequest request) {
+        AuthPrincipal principal = ReactiveSupport.principal(request, tokenService);
+        if (principal == null || !principal.isAdmin()) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return listResults(request, null);
+    }
+
+    // One user's results when userId is set, everyone's otherwise
+    private Mono<ServerResponse> listResults(ServerRequest request, String userId) {
+        int page = ReactiveSupport.intParam(request, "page", 0);
+        int size = ReactiveSupport.intParam(request, "size", 10);
+        if (!ResultController.isValidPage(page, size)) {
+            return ServerResponse.badRequest().build();
+        }
+        size = QuizController.clampPageSize(size);
+        Optional<String> after = request.queryParam("after");
+
+        if (after.isPresent()) {
+            String cursor = after.get();
+            if (!ResultController.isValidCursor(cursor)) {
+                return ServerResponse.badRequest().build();
+            }
+            Pageable pageable = PageRequest.of(0, size, NEWEST_FIRST);
+            Pageable lookahead = PageRequest.of(0, size + 1, NEWEST_FIRST);
+            Flux<Result> rows;
+            if (userId != null) {
+                rows = cursor.isEmpty()
+                        ? reactiveResultRepository.findByUserId(userId, lookahead)
+                        : reactiveResultRepository.findByUserIdAndIdLessThan(userId, new ObjectId(cursor), lookahead);
+            } else {
+                rows = cursor.isEmpty()
+                        ? reactiveResultRepository.findAllBy(lookahead)
+                        : reactiveResultRepository.findByIdLessThan(new ObjectId(cursor), lookahead);
+            }
+            return rows.collectList()
+                    .map(list -> ReactiveSupport.slice(list, pageable))
+                    .flatMap(slice -> quizTitles(slice.getContent())
+                            .map(titles -> ResultController.cursorResponse(slice, titles)))
+                    .flatMap(body -> ServerResponse.ok().bodyValue(body));
+        }
+
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        Flux<Result> content = userId != null
+                ? reactiveResultRepository.findByUserId(userId, pageable)
+                : reactiveResultRepository.findAllBy(pageable);
+        Mono<Long> total = userId != null
+                ? reactiveResultRepository.countByUserId(userId)
+                : reactiveResultRepository.count();
+        return Mono.zip(content.collectList(), total)
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()))
+                .flatMap(resultPage -> quizTitles(resultPage.getContent())
+                        .map(titles -> ResultController.pageResponse(resultPage, titles)))
+                .flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    private Mono<Map<String, String>> quizTitles(List<Result> results) {
+        return reactiveQuizService.findSummaries(ResultController.quizIds(results))
+                .map(summaries -> ResultController.titles(summaries.values()));
+    }
+
+    private static Mono<ServerResponse> message(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        return ServerResponse.status(status).bodyValue(response);
+    }
+}
@@ -0,0 +1,58 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.service.TokenService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.List;
+
+/**
+ * Request plumbing shared by the reactive handlers: what argument resolvers
+ * and Spring Data's Slice queries do for the servlet controllers.
+ */
+final class ReactiveSupport {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private ReactiveSupport() {
+    }
+
+    /**
+     * The caller behind a valid bearer token, or null. There is no session
+     * on the reactive stack.
+     */
+    static AuthPrincipal principal(ServerRequest request, TokenService tokenService) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Parameter '" + name + "' must be an integer");
+        }
+    }
+
+    /**
+     * Turns rows fetched with a limit of one more than the page size into a
+     * Slice, the extra row only signalling that another page exists.
+     */
+    static <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
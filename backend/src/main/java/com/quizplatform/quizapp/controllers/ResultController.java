@@ -1,84 +1,311 @@
 package com.quizplatform.quizapp.controllers;
 
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.QuizSummary;
 import com.quizplatform.quizapp.model.Result;
-import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.model.Submission;
 import com.quizplatform.quizapp.repository.ResultRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ResultExportService;
+import com.quizplatform.quizapp.service.ResultWriteBehind;
+import com.quizplatform.quizapp.service.ScoringService;
+import com.quizplatform.quizapp.service.SubmissionKeys;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/results")
 public class ResultController {
 
     @Autowired
     private ResultRepository resultRepository;
 
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    @Autowired
+    private ResultExportService resultExportService;
+
+    @Autowired
+    private ResultWriteBehind resultWriteBehind;
+
+    @Autowired
+    private SubmissionKeys submissionKeys;
+
+    /**
+     * Clients should send an Idempotency-Key header, reused on retries of the
+     * same attempt; a repeated key gets the original score back and writes
+     * nothing.
+     */
     @PostMapping("/submit")
-    public ResponseEntity<String> submitResult(@RequestBody Result result, HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Login required");
-        }
-        result.setUserId(user.getId());
-        resultRepository.save(result);
-        return ResponseEntity.ok("Result submitted successfully");
+    public ResponseEntity<Map<String, Object>> submitResult(
+            @RequestBody Submission submission,
+            AuthPrincipal principal,
+            @RequestHeader(value = SubmissionKeys.HEADER, required = false) String submissionKey) {
+        Map<String, Object> response = new HashMap<>();
+        if (principal == null) {
+            response.put("message", "Login required");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        if (submissionKey != null && !SubmissionKeys.isValid(submissionKey)) {
+            response.put("message", "Invalid " + SubmissionKeys.HEADER);
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        // Score on the server; the client only sends the options it picked
+        int score;
+        try {
+            score = scoringService.score(submission.getQuizId(), submission.getAnswers());
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (score < 0) {
+            response.put("message", "Quiz not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        if (submissionKey != null) {
+            Integer previousScore = submissionKeys.claim(principal.getId(), submissionKey, score);
+            if (previousScore != null) {
+                return ResponseEntity.ok(alreadySubmittedResponse(previousScore));
+            }
+        }
+
+        Result result = new Result();
+        result.setUserId(principal.getId());
+        result.setQuizId(submission.getQuizId());
+        result.setScore(score);
+        result.setSubmissionKey(submissionKey);
+        scoringService.attachAnswers(result, submission.getAnswers());
+        try {
+            // Acknowledged once journaled; the insert itself is batched (see ResultWriteBehind)
+            resultWriteBehind.submit(result);
+        } catch (DuplicateKeyException e) {
+            // Key claimed before this node saw it (restart or another node); the index caught it
+            int storedScore = resultRepository.findByUserIdAndSubmissionKey(principal.getId(), submissionKey)
+                    .map(Result::getScore)
+                    .orElse(score);
+            submissionKeys.remember(principal.getId(), submissionKey, storedScore);
+            submissionKeys.countDuplicate();
+            return ResponseEntity.ok(alreadySubmittedResponse(storedScore));
+        } catch (RuntimeException e) {
+            if (submissionKey != null) {
+                submissionKeys.release(principal.getId(), submissionKey);
+            }
+            throw e;
+        }
+        leaderboardService.record(result);
+        quizStatsService.record(result);
+
+        response.put("message", "Result submitted successfully");
+        response.put("score", score);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/my-results")
     public ResponseEntity<Map<String, Object>> getMyResults(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) {
+            @RequestParam(required = false) String after,
+            AuthPrincipal principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        size = QuizController.clampPageSize(size);
+
+        // Cursor mode: after=<last id seen>, or after= (empty) for the first page
+        if (after != null) {
+            if (!isValidCursor(after)) {
+                return ResponseEntity.badRequest().build();
+            }
+            Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+            Slice<Result> resultSlice = after.isEmpty()
+                    ? resultRepository.findSliceByUserId(principal.getId(), pageable)
+                    : resultRepository.findByUserIdAndIdLessThan(principal.getId(), new ObjectId(after), pageable);
+            return ResponseEntity.ok(cursorResponse(resultSlice, quizTitles(resultSlice.getContent())));
+        }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Result> resultPage = resultRepository.findByUserId(user.getId(), pageable);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("results", resultPage.getContent());
-        response.put("currentPage", resultPage.getNumber());
-        response.put("totalItems", resultPage.getTotalElements());
-        response.put("totalPages", resultPage.getTotalPages());
-        response.put("hasNext", resultPage.hasNext());
-        response.put("hasPrevious", resultPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        Page<Result> resultPage = resultRepository.findByUserId(principal.getId(), pageable);
+        return ResponseEntity.ok(pageResponse(resultPage, quizTitles(resultPage.getContent())));
     }
 
     @GetMapping("/all")
     public ResponseEntity<Map<String, Object>> getAllResults(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null || !"ADMIN".equals(user.getRole())) {
+            @RequestParam(required = false) String after,
+            AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (!isValidPage(page, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        size = QuizController.clampPageSize(size);
+
+        if (after != null) {
+            if (!isValidCursor(after)) {
+                return ResponseEntity.badRequest().build();
+            }
+            Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+            Slice<Result> resultSlice = after.isEmpty()
+                    ? resultRepository.findSliceBy(pageable)
+                    : resultRepository.findByIdLessThan(new ObjectId(after), pageable);
+            return ResponseEntity.ok(cursorResponse(resultSlice, quizTitles(resultSlice.getContent())));
+        }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Result> resultPage = resultRepository.findAll(pageable);
-        
+        Page<Result> resultPage = resultRepository.findPageBy(pageable);
+        return ResponseEntity.ok(pageResponse(resultPage, quizTitles(resultPage.getContent())));
+    }
+
+    /**
+     * Streams every matching result as NDJSON (default) or CSV. from/to
+     * accept an ISO instant or a date (midnight UTC); from is inclusive,
+     * to is exclusive.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportResults(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String quizId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            AuthPrincipal principal) {
+        if (principal == null || !principal.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ResultExportService.Format exportFormat = ResultExportService.Format.parse(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant fromTime;
+        Instant toTime;
+        try {
+            fromTime = parseTime(from);
+            toTime = parseTime(to);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> resultExportService.export(exportFormat, quizId, fromTime, toTime, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"results." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    private static Instant parseTime(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return Instant.parse(value);
+    }
+
+    // Resolves the titles for a page of results with a single $in query
+    private Map<String, String> quizTitles(List<Result> results) {
+        return titles(quizService.findSummaries(quizIds(results)).values());
+    }
+
+    // Response bodies are built here and shared with the reactive handlers,
+    // so both stacks serve identical JSON
+
+    static Map<String, Object> alreadySubmittedResponse(int score) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Result already submitted");
+        response.put("score", score);
+        return response;
+    }
+
+    // Larger sizes are clamped; these would make PageRequest throw
+    static boolean isValidPage(int page, int size) {
+        return page >= 0 && size >= 1;
+    }
+
+    static boolean isValidCursor(String after) {
+        return after.isEmpty() || ObjectId.isValid(after);
+    }
+
+    static Map<String, Object> pageResponse(Page<Result> resultPage, Map<String, String> quizTitles) {
         Map<String, Object> response = new HashMap<>();
         response.put("results", resultPage.getContent());
+        response.put("quizTitles", quizTitles);
         response.put("currentPage", resultPage.getNumber());
         response.put("totalItems", resultPage.getTotalElements());
         response.put("totalPages", resultPage.getTotalPages());
         response.put("hasNext", resultPage.hasNext());
         response.put("hasPrevious", resultPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        return response;
+    }
+
+    static Map<String, Object> cursorResponse(Slice<Result> resultSlice, Map<String, String> quizTitles) {
+        List<Result> results = resultSlice.getContent();
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("quizTitles", quizTitles);
+        response.put("hasNext", resultSlice.hasNext());
+        response.put("nextCursor", resultSlice.hasNext() ? results.get(results.size() - 1).getId() : null);
+        return response;
+    }
+
+    static Set<String> quizIds(List<Result> results) {
+        Set<String> quizIds = new HashSet<>();
+        for (Result result : results) {
+            if (result.getQuizId() != null) {
+                quizIds.add(result.getQuizId());
+            }
+        }
+        return quizIds;
+    }
+
+    static Map<String, String> titles(Collection<QuizSummary> summaries) {
+        Map<String, String> titles = new HashMap<>();
+        for (QuizSummary summary : summaries) {
+            titles.put(summary.getId(), summary.getTitle());
+        }
+        return titles;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.quizplatform.quizapp.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -7,8 +9,22 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(LoginCapacityException.class)
+    public ResponseEntity<String> handleLoginCapacity(LoginCapacityException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(SubmissionBacklogException.class)
+    public ResponseEntity<String> handleSubmissionBacklog(SubmissionBacklogException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralExceptions(Exception ex) {
         return ResponseEntity.status(500).body("An error occurred: " + ex.getMessage());
     }
-}
\ No newline at end of file
+}
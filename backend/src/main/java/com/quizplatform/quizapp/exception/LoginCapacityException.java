@@ -0,0 +1,12 @@
+package com.quizplatform.quizapp.exception;
+
+/**
+ * Thrown when the login hash pool is saturated and a login is shed rather
+ * than queued indefinitely. Mapped to 503 with a Retry-After hint.
+ */
+public class LoginCapacityException extends RuntimeException {
+
+    public LoginCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.quizplatform.quizapp.exception;
+
+/**
+ * Thrown when too many submissions are waiting to be written to MongoDB and
+ * new ones are refused rather than buffered without bound. Mapped to 503
+ * with a Retry-After hint.
+ */
+public class SubmissionBacklogException extends RuntimeException {
+
+    public SubmissionBacklogException(String message) {
+        super(message);
+    }
+}
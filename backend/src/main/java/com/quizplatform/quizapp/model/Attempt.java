@@ -0,0 +1,68 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Persisted state of a timed quiz attempt. Live attempts are held in memory
+ * (see AttemptService) and written here in periodic batches, so this is a
+ * recovery copy rather than the source of truth while an attempt runs.
+ *
+ * answers[i] is the chosen option for question i, or -1 if unanswered; a
+ * byte per question keeps documents and the in-memory copy small. Question i
+ * is the i-th question as the attempt displays it; seed re-derives that
+ * order (see QuizShuffle) as long as the quiz still has quizVersion (see
+ * QuizVersion); an attempt whose quiz was edited meanwhile is closed
+ * without a score. The
+ * partial indexes only hold open attempts: open_deadline is all a restart
+ * reloads, sorted so the planner can walk it, and open_user_quiz lets a user
+ * have one open attempt per quiz across every node.
+ *
+ * owner is the node holding the attempt in memory; it renews leaseUntil
+ * while it runs. Another node adopts an open attempt only once its lease
+ * has run out.
+ */
+@Data
+@Document(collection = "attempts")
+@CompoundIndexes({
+        @CompoundIndex(name = "open_deadline", def = "{ 'deadline': 1 }", partialFilter = "{ 'finished': false }"),
+        @CompoundIndex(name = "open_user_quiz", def = "{ 'userId': 1, 'quizId': 1 }", unique = true,
+                partialFilter = "{ 'finished': false }")
+})
+public class Attempt {
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String quizId;
+
+    private byte[] answers;
+
+    private long seed;
+
+    // Null for attempts stored before versions were recorded
+    private Long quizVersion;
+
+    private Instant startedAt;
+
+    private Instant deadline;
+
+    private boolean finished;
+
+    // Set when the server closed the attempt because its time ran out
+    private boolean expired;
+
+    private Instant finishedAt;
+
+    private Integer score;
+
+    private String owner;
+
+    private Instant leaseUntil;
+}
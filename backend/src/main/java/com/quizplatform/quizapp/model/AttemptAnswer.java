@@ -0,0 +1,12 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+/**
+ * One autosaved answer: the option picked for a question, or -1 to clear it.
+ */
+@Data
+public class AttemptAnswer {
+    private int question;
+    private int answer;
+}
@@ -0,0 +1,30 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * The authenticated caller, resolved once per request from a signed token or
+ * the session. Deliberately small: no password hash and no profile data.
+ */
+@Data
+public class AuthPrincipal implements Serializable {
+    private String id;
+    private String username;
+    private String role;
+    private String email;
+
+    public static AuthPrincipal from(User user) {
+        AuthPrincipal principal = new AuthPrincipal();
+        principal.setId(user.getId());
+        principal.setUsername(user.getUsername());
+        principal.setRole(user.getRole());
+        principal.setEmail(user.getEmail());
+        return principal;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+}
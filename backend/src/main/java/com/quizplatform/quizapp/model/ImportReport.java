@@ -0,0 +1,27 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk quiz import. Only the first errors are listed; the
+ * counts always cover every record.
+ */
+@Data
+public class ImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    private boolean aborted; // the file itself was unreadable past this point
+    private boolean errorsTruncated;
+    private List<RecordError> errors = new ArrayList<>();
+
+    @Data
+    public static class RecordError {
+        private long record; // 1-based position of the quiz in the file
+        private String title;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+/**
+ * One row of a quiz leaderboard: a user's best score and its rank. Tied
+ * scores share a rank (1, 2, 2, 4).
+ */
+@Data
+public class LeaderboardEntry {
+    private int rank;
+    private String userId;
+    private String username;
+    private int score;
+}
@@ -13,11 +13,14 @@ public class Otp {
     @Id
     private String id;
     
-    @Indexed
+    // One pending OTP per email; issuance upserts on this key. The unique
+    // index is created by OtpIndexMigration, which first retires the old one
     private String email;
     
     private String code;
     
+    // TTL index: MongoDB deletes the document once expiryTime has passed
+    @Indexed(expireAfterSeconds = 0)
     private LocalDateTime expiryTime;
     
     private boolean used;
@@ -1,5 +1,6 @@
 package com.quizplatform.quizapp.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.util.List;
 
@@ -7,5 +8,6 @@ import java.util.List;
 public class Question {
     private String questionText;
     private List<String> options;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // never sent to quiz takers; scoring is server-side
     private int correctOption; // index of correct answer
 }
\ No newline at end of file
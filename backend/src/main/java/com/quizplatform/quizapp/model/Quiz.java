@@ -6,6 +6,11 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.List;
 
+/**
+ * shuffleQuestions, shuffleOptions and poolSize only apply to timed attempts
+ * (see QuizShuffle): each attempt gets its own order and, with poolSize, its
+ * own poolSize questions drawn from the full list.
+ */
 @Data
 @Document(collection = "quizzes")
 public class Quiz {
@@ -17,4 +22,7 @@ public class Quiz {
     
     private List<Question> questions;
     private Integer durationSeconds; // optional total duration in seconds
+    private boolean shuffleQuestions;
+    private boolean shuffleOptions;
+    private Integer poolSize; // optional: questions drawn per attempt
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time copy of one quiz's running statistics. This is what the
+ * stats API serves. Stored in "quiz_stats", it holds the quiz's results
+ * with an _id below foldedTo, folded in from the results collection (see
+ * QuizStatsService).
+ */
+@Data
+@Document(collection = "quiz_stats")
+public class QuizStatsSnapshot {
+    @Id
+    private String quizId;
+
+    private long count;
+    private double mean;
+    private double m2; // sum of squared deviations from the mean (Welford)
+    private int min;
+    private int max;
+
+    // Submissions per score 0..100. Scores are whole percentages, so this
+    // gives exact percentiles in fixed space.
+    private long[] scoreHistogram;
+
+    // Per question: how many submissions answered it and how many got it right
+    private long[] questionAttempts;
+    private long[] questionCorrect;
+
+    private LocalDateTime updatedAt;
+
+    // Results with a smaller _id are counted here; null for statistics
+    // written before folding, which are recounted from scratch
+    private ObjectId foldedTo;
+
+    // Set when the quiz is edited: per-question counts only cover results
+    // from this _id on
+    private ObjectId questionsFrom;
+
+    public double variance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+
+    /**
+     * Smallest score at or below which {@code percentile} percent of
+     * submissions fall (nearest-rank). Returns 0 when there are none.
+     */
+    public int scoreAtPercentile(double percentile) {
+        if (count == 0 || scoreHistogram == null) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int score = 0; score < scoreHistogram.length; score++) {
+            seen += scoreHistogram[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return scoreHistogram.length - 1;
+    }
+}
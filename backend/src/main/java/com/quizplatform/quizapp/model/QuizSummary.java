@@ -0,0 +1,15 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+/**
+ * Catalog view of a quiz. Read straight from the "quizzes" collection with a
+ * projection, so the questions array is never decoded for listings.
+ */
+@Data
+public class QuizSummary {
+    private String id;
+    private String title;
+    private int questionCount;
+    private Integer durationSeconds;
+}
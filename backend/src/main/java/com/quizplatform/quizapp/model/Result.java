@@ -2,20 +2,45 @@ package com.quizplatform.quizapp.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * Indexes follow the actual query shapes: a user's results newest first
+ * (equality on userId, then the _id sort/range), and a quiz's results by
+ * score. Each also serves plain lookups on its leading field.
+ *
+ * submissionKey is the client's Idempotency-Key; the partial unique index
+ * allows one result per user and key, and ignores results without a key.
+ *
+ * answers holds the submitted option per question, one byte each (-1 for
+ * unanswered), and correctMask one bit per question (bit i of byte i / 8)
+ * set when it matched the key at grading time. quizVersion is the
+ * QuizVersion they were graded against; the per-question analytics scan
+ * only reads results of the quiz's current version. Listings leave all
+ * three out.
+ */
 @Data
 @Document(collection = "results")
+@CompoundIndex(name = "userId_id", def = "{ 'userId': 1, '_id': -1 }")
+@CompoundIndex(name = "quizId_score", def = "{ 'quizId': 1, 'score': -1 }")
+@CompoundIndex(name = "userId_submissionKey", def = "{ 'userId': 1, 'submissionKey': 1 }", unique = true,
+        partialFilter = "{ 'submissionKey': { '$exists': true } }")
 public class Result {
     @Id
     private String id;
     
-    @Indexed
     private String userId;
     
-    @Indexed
     private String quizId;
     
     private int score;
-}
\ No newline at end of file
+
+    private String submissionKey;
+
+    private byte[] answers;
+
+    private byte[] correctMask;
+
+    private Long quizVersion;
+}
@@ -0,0 +1,10 @@
+package com.quizplatform.quizapp.model;
+
+import java.util.List;
+
+/**
+ * A question as one attempt sees it. The text is the quiz's own string and
+ * options is a reordered view over the quiz's list, so nothing is copied.
+ */
+public record ShuffledQuestion(String questionText, List<String> options) {
+}
@@ -0,0 +1,13 @@
+package com.quizplatform.quizapp.model;
+
+import lombok.Data;
+
+/**
+ * Raw answers posted by a quiz taker. answers[i] is the chosen option index
+ * for question i, or -1 if the question was left unanswered.
+ */
+@Data
+public class Submission {
+    private String quizId;
+    private int[] answers;
+}
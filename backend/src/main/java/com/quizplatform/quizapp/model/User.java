@@ -1,5 +1,6 @@
 package com.quizplatform.quizapp.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -14,9 +15,9 @@ public class User {
     @Indexed(unique = true)
     private String username;
     
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepted on register/login, never echoed back
     private String password;
     
-    @Indexed
     private String role; // e.g., "ADMIN" or "STUDENT"
     
     @Indexed
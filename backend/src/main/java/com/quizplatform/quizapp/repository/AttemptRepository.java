@@ -0,0 +1,12 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Attempt;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface AttemptRepository extends MongoRepository<Attempt, String>, AttemptRepositoryCustom {
+
+    // Served by the open_user_quiz partial index
+    Optional<Attempt> findByUserIdAndQuizIdAndFinishedFalse(String userId, String quizId);
+}
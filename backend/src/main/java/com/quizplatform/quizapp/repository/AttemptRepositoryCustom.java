@@ -0,0 +1,53 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Attempt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface AttemptRepositoryCustom {
+
+    /**
+     * Writes a batch of attempt snapshots in one unordered bulk write,
+     * replacing each stored copy by id or inserting it if missing. A stored
+     * copy owned by a node other than the snapshot's owner, or a new one
+     * whose user already has an open attempt for the quiz, is left alone;
+     * the ids of those are returned.
+     */
+    Set<String> upsertAll(List<Attempt> attempts);
+
+    /**
+     * Open attempts this owner may hold, by deadline: its own, and those
+     * whose owner's lease ran out before now, which are taken over with
+     * leaseUntil. An attempt another node takes over first is left out.
+     */
+    List<Attempt> claimOpen(String owner, Instant now, Instant leaseUntil);
+
+    /**
+     * Extends the lease on the given attempts while owner still holds them.
+     */
+    void renewLeases(Collection<String> ids, String owner, Instant leaseUntil);
+
+    /**
+     * Stores the finished attempt if its stored copy is still open (or
+     * missing), in one atomic findAndModify. Returns false if another node
+     * finished it first; only the caller that gets true may record a result.
+     * Claiming again for the same owner succeeds, so a failed close can be
+     * retried.
+     */
+    boolean claimFinish(Attempt finished);
+
+    /**
+     * {@link #claimFinish} for a batch, in one unordered bulk write. Returns
+     * the ids another node finished first.
+     */
+    Set<String> claimFinishAll(List<Attempt> finished);
+
+    /**
+     * Reopens an attempt claimed by {@link #claimFinish} whose result could
+     * not be recorded.
+     */
+    void releaseFinish(String id, String owner);
+}
@@ -0,0 +1,159 @@
+package com.quizplatform.quizapp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.quizplatform.quizapp.model.Attempt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class AttemptRepositoryImpl implements AttemptRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Set<String> upsertAll(List<Attempt> attempts) {
+        if (attempts.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attempt.class);
+        for (Attempt attempt : attempts) {
+            // A copy owned elsewhere does not match, so the upsert's insert fails on _id instead
+            Query owned = Query.query(Criteria.where("id").is(attempt.getId()).orOperator(
+                    Criteria.where("owner").is(attempt.getOwner()), Criteria.where("owner").is(null)));
+            bulk.replaceOne(owned, attempt, FindAndReplaceOptions.options().upsert());
+        }
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<String> refused = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                refused.add(attempts.get(error.getIndex()).getId());
+            }
+            return refused;
+        }
+    }
+
+    @Override
+    public List<Attempt> claimOpen(String owner, Instant now, Instant leaseUntil) {
+        // Sorted on deadline so the open_deadline partial index serves it
+        Query query = Query.query(Criteria.where("finished").is(false).orOperator(
+                        Criteria.where("owner").is(owner),
+                        Criteria.where("owner").is(null),
+                        Criteria.where("leaseUntil").lt(now)))
+                .with(Sort.by("deadline"));
+        List<Attempt> claimed = new ArrayList<>();
+        for (Attempt attempt : mongoTemplate.find(query, Attempt.class)) {
+            if (!owner.equals(attempt.getOwner())) {
+                // Only while it still has the owner and lease it was read with
+                Query unchanged = Query.query(Criteria.where("id").is(attempt.getId())
+                        .and("finished").is(false)
+                        .and("owner").is(attempt.getOwner())
+                        .and("leaseUntil").is(attempt.getLeaseUntil()));
+                Update takeOver = Update.update("owner", owner).set("leaseUntil", leaseUntil);
+                if (mongoTemplate.updateFirst(unchanged, takeOver, Attempt.class).getModifiedCount() == 0) {
+                    continue;
+                }
+                attempt.setOwner(owner);
+                attempt.setLeaseUntil(leaseUntil);
+            }
+            claimed.add(attempt);
+        }
+        return claimed;
+    }
+
+    @Override
+    public void renewLeases(Collection<String> ids, String owner, Instant leaseUntil) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(ids).and("owner").is(owner)),
+                Update.update("leaseUntil", leaseUntil), Attempt.class);
+    }
+
+    @Override
+    public boolean claimFinish(Attempt finished) {
+        try {
+            mongoTemplate.findAndModify(claimable(finished), finishUpdate(finished),
+                    FindAndModifyOptions.options().upsert(true), Attempt.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Already finished elsewhere, so the upsert tried to insert a second copy
+            return false;
+        }
+    }
+
+    @Override
+    public Set<String> claimFinishAll(List<Attempt> finished) {
+        if (finished.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attempt.class);
+        for (Attempt attempt : finished) {
+            bulk.upsert(claimable(attempt), finishUpdate(attempt));
+        }
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<String> lost = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                lost.add(finished.get(error.getIndex()).getId());
+            }
+            return lost;
+        }
+    }
+
+    // Open, or already claimed by this owner in a close that is being retried
+    private static Query claimable(Attempt finished) {
+        return Query.query(Criteria.where("id").is(finished.getId()).orOperator(
+                Criteria.where("finished").is(false), Criteria.where("owner").is(finished.getOwner())));
+    }
+
+    private static Update finishUpdate(Attempt finished) {
+        return Update.update("finished", true)
+                .set("expired", finished.isExpired())
+                .set("finishedAt", finished.getFinishedAt())
+                .set("score", finished.getScore())
+                .set("answers", finished.getAnswers())
+                .set("owner", finished.getOwner())
+                .set("leaseUntil", finished.getLeaseUntil())
+                // Not flushed yet: the claim inserts the whole attempt
+                .setOnInsert("userId", finished.getUserId())
+                .setOnInsert("quizId", finished.getQuizId())
+                .setOnInsert("seed", finished.getSeed())
+                .setOnInsert("startedAt", finished.getStartedAt())
+                .setOnInsert("deadline", finished.getDeadline());
+    }
+
+    @Override
+    public void releaseFinish(String id, String owner) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id).and("owner").is(owner)),
+                Update.update("finished", false).unset("finishedAt").set("expired", false).unset("score"),
+                Attempt.class);
+    }
+}
@@ -3,8 +3,8 @@ package com.quizplatform.quizapp.repository;
 import com.quizplatform.quizapp.model.Otp;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface OtpRepository extends MongoRepository<Otp, String> {
-    Otp findByEmail(String email);
-    Otp findByEmailAndCode(String email, String code);
-}
+import java.time.LocalDateTime;
 
+public interface OtpRepository extends MongoRepository<Otp, String>, OtpRepositoryCustom {
+    boolean existsByEmailAndCodeAndUsedFalseAndExpiryTimeAfter(String email, String code, LocalDateTime now);
+}
@@ -0,0 +1,20 @@
+package com.quizplatform.quizapp.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single round-trip OTP operations that derived queries cannot express.
+ */
+public interface OtpRepositoryCustom {
+
+    /**
+     * Creates or replaces the pending OTP for an email in one upsert.
+     */
+    void upsertOtp(String email, String code, LocalDateTime expiryTime);
+
+    /**
+     * Atomically marks a matching, unused, unexpired OTP as used. Returns
+     * false if no such OTP exists, so a code can only ever be consumed once.
+     */
+    boolean consumeOtp(String email, String code);
+}
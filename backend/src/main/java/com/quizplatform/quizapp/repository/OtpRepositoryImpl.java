@@ -0,0 +1,35 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Otp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class OtpRepositoryImpl implements OtpRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void upsertOtp(String email, String code, LocalDateTime expiryTime) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        Update update = new Update()
+                .set("code", code)
+                .set("expiryTime", expiryTime)
+                .set("used", false);
+        mongoTemplate.upsert(query, update, Otp.class);
+    }
+
+    @Override
+    public boolean consumeOtp(String email, String code) {
+        Query query = Query.query(Criteria.where("email").is(email)
+                .and("code").is(code)
+                .and("used").is(false)
+                .and("expiryTime").gt(LocalDateTime.now()));
+        return mongoTemplate.findAndModify(query, new Update().set("used", true), Otp.class) != null;
+    }
+}
@@ -1,7 +1,32 @@
 package com.quizplatform.quizapp.repository;
 
 import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface QuizRepository extends MongoRepository<Quiz, String> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+
+public interface QuizRepository extends MongoRepository<Quiz, String>, QuizRepositoryCustom {
+
+    // Only the catalog fields leave the server; questionCount is computed by $size
+    String SUMMARY_FIELDS = "{ 'title': 1, 'durationSeconds': 1, 'questionCount': { '$size': { '$ifNull': ['$questions', []] } } }";
+
+    @Query(value = "{}", fields = SUMMARY_FIELDS)
+    Page<QuizSummary> findSummaries(Pageable pageable);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = SUMMARY_FIELDS)
+    List<QuizSummary> findSummariesByIdIn(Collection<String> ids);
+
+    // Keyset pagination: Slice fetches one extra row for hasNext and never counts
+    @Query(value = "{}", fields = SUMMARY_FIELDS)
+    Slice<QuizSummary> findSummarySlice(Pageable pageable);
+
+    @Query(value = "{ '_id': { '$gt': ?0 } }", fields = SUMMARY_FIELDS)
+    Slice<QuizSummary> findSummariesAfter(ObjectId id, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Quiz;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quiz writes that derived repository methods cannot express.
+ */
+public interface QuizRepositoryCustom {
+
+    /**
+     * Inserts the quizzes with one unordered bulk write: a failing document
+     * does not stop the rest. Returns the failures keyed by position in the
+     * list; an empty map means everything was inserted.
+     */
+    Map<Integer, String> insertUnordered(List<Quiz> quizzes);
+
+    /**
+     * Increments the catalog version shared by every node and returns the
+     * new value. Called after each write to the quizzes collection.
+     */
+    long incrementCatalogVersion();
+
+    /**
+     * The shared catalog version; 0 before the first write.
+     */
+    long findCatalogVersion();
+}
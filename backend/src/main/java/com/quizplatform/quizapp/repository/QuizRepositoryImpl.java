@@ -0,0 +1,62 @@
+package com.quizplatform.quizapp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.quizplatform.quizapp.model.Quiz;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class QuizRepositoryImpl implements QuizRepositoryCustom {
+
+    // One document per versioned collection, looked up by _id
+    static final String VERSIONS_COLLECTION = "versions";
+    static final String CATALOG_VERSION_ID = "quizzes";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Quiz> quizzes) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (quizzes.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Quiz.class)
+                    .insert(quizzes)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public long incrementCatalogVersion() {
+        Document version = mongoTemplate.findAndModify(catalogVersionQuery(), new Update().inc("version", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, VERSIONS_COLLECTION);
+        return version != null ? version.get("version", Number.class).longValue() : 0;
+    }
+
+    @Override
+    public long findCatalogVersion() {
+        Document version = mongoTemplate.findOne(catalogVersionQuery(), Document.class, VERSIONS_COLLECTION);
+        return version != null ? version.get("version", Number.class).longValue() : 0;
+    }
+
+    private static Query catalogVersionQuery() {
+        return Query.query(Criteria.where("_id").is(CATALOG_VERSION_ID));
+    }
+}
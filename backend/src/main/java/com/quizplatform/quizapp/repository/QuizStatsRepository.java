@@ -0,0 +1,7 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface QuizStatsRepository extends MongoRepository<QuizStatsSnapshot, String>, QuizStatsRepositoryCustom {
+}
@@ -0,0 +1,40 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+/**
+ * Conditional writes that let several nodes fold results into the same
+ * statistics without counting any result twice.
+ */
+public interface QuizStatsRepositoryCustom {
+
+    /**
+     * Statistics recomputed by a fold, with the fold position and question
+     * marker of the stored document they were computed from (both null for
+     * a quiz without one, or for one written before folding).
+     */
+    record FoldedStats(QuizStatsSnapshot stats, ObjectId expectedFoldedTo, ObjectId expectedQuestionsFrom) {
+    }
+
+    /**
+     * Writes one fold in a single ordered bulk write. Each document in
+     * {@code folded} replaces the stored one only while that still has the
+     * expected fold position and question marker, and is inserted if the
+     * quiz has none; every other document folded up to somewhere in
+     * [{@code fromId}, {@code toId}) moves on to {@code toId}, since the
+     * fold found no results for it. A document another node changed in the
+     * meantime is left as that node wrote it, and if another node inserted
+     * one first the rest of this write is dropped; either way the next fold
+     * picks up from what is stored.
+     */
+    void saveFold(List<FoldedStats> folded, ObjectId fromId, ObjectId toId);
+
+    /**
+     * Clears a quiz's per-question counts after an edit; only results from
+     * {@code fromId} on are counted again.
+     */
+    void resetQuestions(String quizId, ObjectId fromId);
+}
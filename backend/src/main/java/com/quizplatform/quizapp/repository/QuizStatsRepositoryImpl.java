@@ -0,0 +1,72 @@
+package com.quizplatform.quizapp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuizStatsRepositoryImpl implements QuizStatsRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void saveFold(List<FoldedStats> folded, ObjectId fromId, ObjectId toId) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, QuizStatsSnapshot.class);
+        List<String> written = new ArrayList<>(folded.size());
+        // Inserts first: if one fails, no other document moves past results it has not seen
+        for (FoldedStats entry : folded) {
+            if (entry.expectedFoldedTo() == null) {
+                bulk.replaceOne(expected(entry), entry.stats(), FindAndReplaceOptions.options().upsert());
+                written.add(entry.stats().getQuizId());
+            }
+        }
+        for (FoldedStats entry : folded) {
+            if (entry.expectedFoldedTo() != null) {
+                bulk.replaceOne(expected(entry), entry.stats(), FindAndReplaceOptions.empty());
+                written.add(entry.stats().getQuizId());
+            }
+        }
+        Criteria untouched = Criteria.where("foldedTo").gte(fromId).lt(toId);
+        if (!written.isEmpty()) {
+            untouched.and("quizId").nin(written);
+        }
+        bulk.updateMulti(Query.query(untouched), new Update().set("foldedTo", toId));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void resetQuestions(String quizId, ObjectId fromId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("quizId").is(quizId)),
+                new Update().set("questionsFrom", fromId)
+                        .set("questionAttempts", new long[0])
+                        .set("questionCorrect", new long[0]),
+                QuizStatsSnapshot.class);
+    }
+
+    private static Query expected(FoldedStats entry) {
+        return Query.query(Criteria.where("quizId").is(entry.stats().getQuizId())
+                .and("foldedTo").is(entry.expectedFoldedTo())
+                .and("questionsFrom").is(entry.expectedQuestionsFrom()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link QuizRepository} for the "reactive"
+ * profile. Reactive queries cannot return Page or Slice, so callers fetch
+ * one extra row or count separately.
+ */
+public interface ReactiveQuizRepository extends ReactiveMongoRepository<Quiz, String> {
+
+    @Query(value = "{}", fields = QuizRepository.SUMMARY_FIELDS)
+    Flux<QuizSummary> findSummariesBy(Pageable pageable);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = QuizRepository.SUMMARY_FIELDS)
+    Flux<QuizSummary> findSummariesByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id': { '$gt': ?0 } }", fields = QuizRepository.SUMMARY_FIELDS)
+    Flux<QuizSummary> findSummariesAfter(ObjectId id, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Result;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ResultRepository} for the "reactive" profile.
+ */
+public interface ReactiveResultRepository extends ReactiveMongoRepository<Result, String> {
+    @Query(fields = ResultRepository.WITHOUT_ANSWERS)
+    Flux<Result> findByUserId(String userId, Pageable pageable);
+    Mono<Long> countByUserId(String userId);
+    @Query(fields = ResultRepository.WITHOUT_ANSWERS)
+    Mono<Result> findByUserIdAndSubmissionKey(String userId, String submissionKey);
+
+    @Query(fields = ResultRepository.WITHOUT_ANSWERS)
+    Flux<Result> findAllBy(Pageable pageable);
+    @Query(fields = ResultRepository.WITHOUT_ANSWERS)
+    Flux<Result> findByIdLessThan(ObjectId id, Pageable pageable);
+    @Query(fields = ResultRepository.WITHOUT_ANSWERS)
+    Flux<Result> findByUserIdAndIdLessThan(String userId, ObjectId id, Pageable pageable);
+}
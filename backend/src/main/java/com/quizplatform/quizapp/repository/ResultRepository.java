@@ -1,10 +1,48 @@
 package com.quizplatform.quizapp.repository;
 
 import com.quizplatform.quizapp.model.Result;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface ResultRepository extends MongoRepository<Result, String> {
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ResultRepository extends MongoRepository<Result, String>, ResultRepositoryCustom {
+
+    // Listings never need the packed answer vectors
+    String WITHOUT_ANSWERS = "{ 'answers': 0, 'correctMask': 0, 'quizVersion': 0 }";
+
+    @Query(fields = WITHOUT_ANSWERS)
     Page<Result> findByUserId(String userId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(fields = WITHOUT_ANSWERS)
+    Page<Result> findPageBy(Pageable pageable);
+
+    // Keyset pagination over _id (newest first); Slice skips the count query.
+    // Cursors are ObjectIds because range operators on _id are not converted from strings.
+    @Query(fields = WITHOUT_ANSWERS)
+    Slice<Result> findSliceBy(Pageable pageable);
+    @Query(fields = WITHOUT_ANSWERS)
+    Slice<Result> findByIdLessThan(ObjectId id, Pageable pageable);
+    @Query(fields = WITHOUT_ANSWERS)
+    Slice<Result> findSliceByUserId(String userId, Pageable pageable);
+    @Query(fields = WITHOUT_ANSWERS)
+    Slice<Result> findByUserIdAndIdLessThan(String userId, ObjectId id, Pageable pageable);
+
+    // Served by the userId_submissionKey unique index
+    @Query(fields = WITHOUT_ANSWERS)
+    Optional<Result> findByUserIdAndSubmissionKey(String userId, String submissionKey);
+
+    // Cursor over every result in insertion order, for rebuilding in-memory aggregates; close after use
+    @Query(value = "{}", fields = "{ 'userId': 1, 'quizId': 1, 'score': 1 }", sort = "{ '_id': 1 }")
+    Stream<Result> streamAllScores();
+
+    // Results in an _id range in insertion order, with what quiz statistics are folded from; close after use
+    @Query(value = "{ '_id': { '$gte': ?0, '$lt': ?1 } }",
+            fields = "{ 'quizId': 1, 'score': 1, 'answers': 1, 'correctMask': 1 }", sort = "{ '_id': 1 }")
+    Stream<Result> streamForStats(ObjectId fromId, ObjectId toId);
+}
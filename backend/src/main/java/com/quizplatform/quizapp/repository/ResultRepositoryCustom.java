@@ -0,0 +1,36 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Result;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Result queries with optional filters that derived queries cannot express.
+ */
+public interface ResultRepositoryCustom {
+
+    /**
+     * Cursor over results for export, optionally limited to one quiz and to
+     * an _id range (ObjectIds encode creation time, so this is a date range).
+     * Any bound may be null. The stream must be closed to release the cursor.
+     */
+    Stream<Result> streamForExport(String quizId, ObjectId fromId, ObjectId toId);
+
+    /**
+     * Inserts a batch in one unordered bulk write. Results whose id already
+     * exists are skipped, so replaying a batch is harmless; any other write
+     * error, including a duplicate submission key, is thrown. Returns the
+     * number actually inserted.
+     */
+    int insertIgnoringDuplicates(List<Result> results);
+
+    /**
+     * Feeds the packed answers and correct mask of every result for a quiz
+     * graded against quizVersion to consumer, in no particular order. Either
+     * array is null for results stored without them.
+     */
+    void scanAnswers(String quizId, long quizVersion, BiConsumer<byte[], byte[]> consumer);
+}
@@ -0,0 +1,129 @@
+package com.quizplatform.quizapp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.quizplatform.quizapp.model.Result;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+public class ResultRepositoryImpl implements ResultRepositoryCustom {
+
+    // Rows fetched per getMore; bounds memory held for an export regardless of its size
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    // Packed vectors are small, so fetch many per getMore
+    private static final int SCAN_BATCH_SIZE = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<Result> streamForExport(String quizId, ObjectId fromId, ObjectId toId) {
+        Criteria criteria = new Criteria();
+        if (quizId != null) {
+            criteria.and("quizId").is(quizId);
+        }
+        if (fromId != null || toId != null) {
+            Criteria id = criteria.and("id");
+            if (fromId != null) {
+                id.gte(fromId);
+            }
+            if (toId != null) {
+                id.lt(toId);
+            }
+        }
+        Query query = Query.query(criteria).cursorBatchSize(EXPORT_BATCH_SIZE);
+        query.fields().exclude("answers", "correctMask", "quizVersion");
+        if (quizId == null) {
+            // Walks the _id index; with a quiz filter the quizId index order is used
+            // instead, because sorting that by _id would be a blocking in-memory sort
+            query.with(Sort.by("id"));
+        }
+        return mongoTemplate.stream(query, Result.class);
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<Result> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Result.class)
+                    .insert(results)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (!isIdConflict(error)) {
+                    throw e;
+                }
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    // Only a replayed result conflicts on _id; a conflict on any other unique index is a real duplicate
+    static boolean isIdConflict(BulkWriteError error) {
+        return error.getCode() == DUPLICATE_KEY && error.getMessage() != null
+                && error.getMessage().contains("index: _id_ ");
+    }
+
+    @Override
+    public void scanAnswers(String quizId, long quizVersion, BiConsumer<byte[], byte[]> consumer) {
+        // Straight from the driver as raw BSON: no entity mapping
+        try (MongoCursor<RawBsonDocument> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Result.class))
+                .withDocumentClass(RawBsonDocument.class)
+                .find(Filters.and(Filters.eq("quizId", quizId), Filters.eq("quizVersion", quizVersion)))
+                .projection(Projections.fields(Projections.include("answers", "correctMask"), Projections.excludeId()))
+                .batchSize(SCAN_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                readPackedAnswers(cursor.next(), consumer);
+            }
+        }
+    }
+
+    /**
+     * Reads both binaries of a projected result in one pass of the driver's
+     * reader. Anything that is not a binary, under either name, reads as
+     * missing.
+     */
+    static void readPackedAnswers(RawBsonDocument document, BiConsumer<byte[], byte[]> consumer) {
+        byte[] answers = null;
+        byte[] correctMask = null;
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                if (reader.getCurrentBsonType() != BsonType.BINARY) {
+                    reader.skipValue();
+                } else if ("answers".equals(name)) {
+                    answers = reader.readBinaryData().getData();
+                } else if ("correctMask".equals(name)) {
+                    correctMask = reader.readBinaryData().getData();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+        }
+        consumer.accept(answers, correctMask);
+    }
+}
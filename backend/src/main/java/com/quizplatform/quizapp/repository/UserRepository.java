@@ -2,8 +2,27 @@ package com.quizplatform.quizapp.repository;
 
 import com.quizplatform.quizapp.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends MongoRepository<User, String> {
     User findByUsername(String username);
     User findByEmail(String email);
-}
\ No newline at end of file
+
+    // Only id and username, for labelling leaderboard rows
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'username': 1 }")
+    List<User> findUsernamesByIdIn(Collection<String> ids);
+
+    // Returns the number of users updated, so a reset needs no read-before-write
+    @Query("{ 'email': ?0 }")
+    @Update("{ '$set': { 'password': ?1 } }")
+    long updatePasswordByEmail(String email, String password);
+
+    // Compare-and-set so a rehash never overwrites a password changed in the meantime
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long replacePasswordHash(String id, String currentHash, String newHash);
+}
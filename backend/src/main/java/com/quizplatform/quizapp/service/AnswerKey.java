@@ -0,0 +1,105 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+
+import java.util.List;
+
+/**
+ * Compact, immutable answer key for one quiz: the correct option index of
+ * every question packed into a byte array. Grading a submission is a single
+ * pass over two primitive arrays and allocates nothing.
+ */
+public final class AnswerKey {
+
+    private final byte[] correctOptions;
+
+    private AnswerKey(byte[] correctOptions) {
+        this.correctOptions = correctOptions;
+    }
+
+    public static AnswerKey of(Quiz quiz) {
+        List<Question> questions = quiz.getQuestions();
+        if (questions == null) {
+            return new AnswerKey(new byte[0]);
+        }
+        byte[] correct = new byte[questions.size()];
+        for (int i = 0; i < correct.length; i++) {
+            int option = questions.get(i).getCorrectOption();
+            if (option < 0 || option > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Question " + i + " has an invalid correct option: " + option);
+            }
+            correct[i] = (byte) option;
+        }
+        return new AnswerKey(correct);
+    }
+
+    public int questionCount() {
+        return correctOptions.length;
+    }
+
+    public boolean isCorrect(int question, int answer) {
+        return answer == correctOptions[question];
+    }
+
+    /**
+     * Number of answers matching the key. Unanswered questions are sent as -1
+     * and never match.
+     */
+    public int countCorrect(int[] answers) {
+        int correct = 0;
+        for (int i = 0; i < correctOptions.length; i++) {
+            if (answers[i] == correctOptions[i]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    /**
+     * Bit i (bit i % 8 of byte i / 8) is set when answer i is correct.
+     */
+    public byte[] correctMask(int[] answers) {
+        byte[] mask = new byte[maskLength(correctOptions.length)];
+        for (int i = 0; i < correctOptions.length; i++) {
+            if (answers[i] == correctOptions[i]) {
+                mask[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return mask;
+    }
+
+    public static int maskLength(int questionCount) {
+        return (questionCount + 7) >>> 3;
+    }
+
+    /**
+     * One byte per answer; callers have already checked that every option
+     * fits (see ScoringService).
+     */
+    public static byte[] pack(int[] answers) {
+        byte[] packed = new byte[answers.length];
+        for (int i = 0; i < answers.length; i++) {
+            packed[i] = (byte) answers[i];
+        }
+        return packed;
+    }
+
+    /**
+     * Percentage score rounded the same way the quiz page used to round it.
+     */
+    public int score(int[] answers) {
+        return score(answers, correctOptions.length);
+    }
+
+    /**
+     * Score out of the asked questions only, for attempts that drew a sample
+     * from the quiz; questions not asked are -1 in answers.
+     */
+    public int score(int[] answers, int asked) {
+        if (asked <= 0) {
+            return 0;
+        }
+        return (int) Math.round(countCorrect(answers) * 100.0 / asked);
+    }
+}
@@ -0,0 +1,70 @@
+package com.quizplatform.quizapp.service;
+
+/**
+ * Per-question counts accumulated straight from packed answer vectors (see
+ * Result): answered counts come from the answer bytes, correct counts from
+ * walking the set bits of the correct mask. No per-result objects are
+ * built, so a scan is bound by reading the vectors, not by the tallying.
+ */
+public final class AnswerTally {
+
+    private final int questionCount;
+    private final int maskLength;
+    private final long[] answered;
+    private final long[] correct;
+    private long results;
+    private long skipped;
+
+    public AnswerTally(int questionCount) {
+        this.questionCount = questionCount;
+        this.maskLength = AnswerKey.maskLength(questionCount);
+        this.answered = new long[questionCount];
+        this.correct = new long[questionCount];
+    }
+
+    /**
+     * Adds one result. Results without packed answers, or whose vectors do
+     * not fit the quiz, are counted as skipped; the scan already leaves out
+     * results of other quiz versions.
+     */
+    public void add(byte[] answers, byte[] correctMask) {
+        if (answers == null || correctMask == null
+                || answers.length != questionCount || correctMask.length != maskLength) {
+            skipped++;
+            return;
+        }
+        results++;
+        for (int i = 0; i < questionCount; i++) {
+            if (answers[i] >= 0) {
+                answered[i]++;
+            }
+        }
+        for (int b = 0; b < maskLength; b++) {
+            int bits = correctMask[b] & 0xFF;
+            while (bits != 0) {
+                correct[(b << 3) + Integer.numberOfTrailingZeros(bits)]++;
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public long getResults() {
+        return results;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getAnswered(int question) {
+        return answered[question];
+    }
+
+    public long getCorrect(int question) {
+        return correct[question];
+    }
+}
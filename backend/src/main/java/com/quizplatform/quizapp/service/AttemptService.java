@@ -0,0 +1,657 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Attempt;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.model.ShuffledQuestion;
+import com.quizplatform.quizapp.repository.AttemptRepository;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side timed attempts. Running attempts live in memory: an answer
+ * click updates one byte and marks the attempt dirty, and dirty attempts are
+ * upserted to "attempts" in one bulk write per flush interval. Deadlines sit
+ * in a {@link TimerWheel}; each tick hands the attempts whose time (plus a
+ * grace period for answers already in flight) has run out to an expiry
+ * thread, which claims them in bulk, scores them and records the result
+ * exactly as a submission would.
+ *
+ * Each attempt gets a random seed that fixes its question order, option
+ * order and question sample (see QuizShuffle). Answers are kept in the
+ * order the attempt displays them and mapped back to quiz order only when
+ * the attempt is scored.
+ *
+ * Open attempts are held by the node that started them, under a lease it
+ * renews while it runs; with several nodes, route /api/attempts by user.
+ * On startup a node reloads its own open attempts, so a restart loses at
+ * most the answers changed since the last flush, and every node takes over
+ * open attempts whose lease has run out. Finishing claims the stored copy
+ * atomically before the result is recorded, so an attempt two nodes hold
+ * (its owner stalled past the lease) is still scored once; the node that
+ * loses the claim, or whose flush finds the attempt taken over, drops it.
+ */
+@Service
+@Profile("!reactive")
+public class AttemptService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptService.class);
+
+    // One revolution covers slots * tick; longer deadlines just wait extra laps
+    private static final int WHEEL_SLOTS = 4096;
+
+    // Used when a quiz has no durationSeconds, matching the quiz page's old default
+    static final int SECONDS_PER_QUESTION = 60;
+
+    static final String SUBMISSION_KEY_PREFIX = "attempt:";
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    // Expired attempts claimed per bulk write
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    public enum AnswerOutcome { SAVED, NOT_FOUND, CLOSED }
+
+    private record Closing(LiveAttempt attempt, Attempt closed, Result result) {
+    }
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private ResultWriteBehind resultWriteBehind;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private QuizStatsService quizStatsService;
+
+    private Clock clock = Clock.systemUTC();
+
+    // One thread, so batches of expired attempts are finalized in deadline order
+    private Executor expiryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attempt-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long graceMillis;
+    private final long leaseMillis;
+    private final String nodeId;
+    private final TimerWheel<String> deadlines;
+
+    // Leases are renewed a few times per lease period, not on every flush
+    private long nextRenewal;
+
+    // attempt id -> attempt; finished attempts stay until their final state is flushed
+    private final Map<String, LiveAttempt> attempts = new ConcurrentHashMap<>();
+    // userId/quizId -> the open attempt, so a reload resumes instead of restarting
+    private final Map<String, LiveAttempt> openAttempts = new ConcurrentHashMap<>();
+
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong answerCount = new AtomicLong();
+    private final AtomicLong finishedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+
+    public AttemptService(@Value("${quiz.attempts.tick-ms:1000}") long tickMillis,
+                          @Value("${quiz.attempts.grace-seconds:5}") long graceSeconds,
+                          @Value("${quiz.attempts.lease-seconds:30}") long leaseSeconds,
+                          @Value("${quiz.attempts.node-id:}") String nodeId) {
+        this.graceMillis = TimeUnit.SECONDS.toMillis(graceSeconds);
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        this.deadlines = new TimerWheel<>(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int resumed = adopt();
+        if (resumed > 0) {
+            log.info("Resumed {} open attempts", resumed);
+        }
+    }
+
+    /**
+     * Takes over open attempts whose owner has stopped renewing its lease,
+     * so they are still finalized when that node does not come back.
+     */
+    @Scheduled(fixedDelayString = "${quiz.attempts.lease-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void adoptExpired() {
+        try {
+            int adopted = adopt();
+            if (adopted > 0) {
+                log.info("Took over {} attempts whose lease ran out", adopted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check for attempts to take over", e);
+        }
+    }
+
+    /**
+     * Starts a timed attempt, or returns the user's open attempt for the quiz
+     * if there is one, on this node or stored by another. Returns null if the
+     * quiz does not exist.
+     */
+    public Attempt start(String userId, String quizId) {
+        CachedQuiz cached = quizService.findCached(quizId);
+        if (cached == null) {
+            return null;
+        }
+        Quiz quiz = cached.getQuiz();
+        LiveAttempt[] started = new LiveAttempt[1];
+        LiveAttempt open = openAttempts.computeIfAbsent(openKey(userId, quizId), key -> {
+            long now = clock.millis();
+            long deadline = now + TimeUnit.SECONDS.toMillis(durationSeconds(quiz));
+            started[0] = LiveAttempt.start(new ObjectId().toHexString(), userId, quizId,
+                    ThreadLocalRandom.current().nextLong(), cached.getVersion(),
+                    QuizShuffle.drawnCount(quiz, questionCount(quiz)), now, deadline);
+            attempts.put(started[0].getId(), started[0]);
+            return started[0];
+        });
+        if (started[0] == null) {
+            return open.snapshot();
+        }
+        return insert(open);
+    }
+
+    /**
+     * Stores a new attempt right away rather than on the next flush, so the
+     * open_user_quiz index refuses it if another node already holds an open
+     * attempt for the same user and quiz; that attempt is returned instead.
+     */
+    private Attempt insert(LiveAttempt attempt) {
+        long now = clock.millis();
+        Attempt snapshot = attempt.takeIfDirty();
+        snapshot.setOwner(nodeId);
+        snapshot.setLeaseUntil(Instant.ofEpochMilli(now + leaseMillis));
+        try {
+            attemptRepository.insert(snapshot);
+        } catch (DuplicateKeyException e) {
+            drop(attempt);
+            Optional<Attempt> existing = attemptRepository
+                    .findByUserIdAndQuizIdAndFinishedFalse(attempt.getUserId(), attempt.getQuizId());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            // The other attempt finished in between; this one is free to start
+            return start(attempt.getUserId(), attempt.getQuizId());
+        } catch (RuntimeException e) {
+            // Run from memory and let the flush store it once Mongo is back
+            attempt.markDirty();
+            log.warn("Could not store new attempt {}, keeping it for the next flush", attempt.getId(), e);
+        }
+        deadlines.schedule(attempt.getId(), attempt.getDeadline() + graceMillis);
+        startedCount.incrementAndGet();
+        return attempt.snapshot();
+    }
+
+    /**
+     * The user's attempt, open or finished, or null if there is no such
+     * attempt or it belongs to someone else.
+     */
+    public Attempt get(String userId, String attemptId) {
+        LiveAttempt attempt = live(userId, attemptId);
+        if (attempt != null) {
+            return attempt.snapshot();
+        }
+        return stored(userId, attemptId);
+    }
+
+    /**
+     * The attempt's questions in the order it shows them, or null if the
+     * quiz no longer exists.
+     */
+    public List<ShuffledQuestion> questions(Attempt attempt) {
+        return quizService.findById(attempt.getQuizId())
+                .map(quiz -> QuizShuffle.of(quiz, attempt.getSeed()).questions())
+                .orElse(null);
+    }
+
+    /**
+     * Autosaves one answer (-1 clears it). question and option are
+     * positions as displayed to the attempt. Touches memory only.
+     *
+     * @throws IllegalArgumentException if question or option is out of range
+     */
+    public AnswerOutcome answer(String userId, String attemptId, int question, int option) {
+        LiveAttempt attempt = live(userId, attemptId);
+        if (attempt == null) {
+            return stored(userId, attemptId) != null ? AnswerOutcome.CLOSED : AnswerOutcome.NOT_FOUND;
+        }
+        if (!attempt.answer(question, option, clock.millis(), attempt.getDeadline() + graceMillis)) {
+            return AnswerOutcome.CLOSED;
+        }
+        answerCount.incrementAndGet();
+        return AnswerOutcome.SAVED;
+    }
+
+    /**
+     * Finishes the attempt and records its result. finalAnswers, if given,
+     * replaces the autosaved answers while the deadline allows, so a lost
+     * autosave cannot change the score. Finishing twice returns the same
+     * outcome. Returns null if the attempt is not the user's.
+     *
+     * @throws IllegalArgumentException if finalAnswers does not fit the quiz
+     * @throws com.quizplatform.quizapp.exception.SubmissionBacklogException
+     *         if the result could not be accepted; the attempt stays open
+     */
+    public Attempt finish(String userId, String attemptId, int[] finalAnswers) {
+        LiveAttempt attempt = live(userId, attemptId);
+        if (attempt == null) {
+            return stored(userId, attemptId);
+        }
+        long now = clock.millis();
+        long acceptUntil = attempt.getDeadline() + graceMillis;
+        if (finalAnswers != null) {
+            attempt.answerAll(finalAnswers, now, acceptUntil);
+        }
+        CompletableFuture<Attempt> pending = attempt.beginClose();
+        if (pending != null) {
+            Attempt closed = await(pending);
+            return closed != null ? closed : stored(userId, attemptId);
+        }
+        return close(attempt, now > acceptUntil, now);
+    }
+
+    /**
+     * Advances the timer wheel and hands the attempts whose deadline and
+     * grace period have passed to the expiry thread, so slow MongoDB writes
+     * never hold up the shared scheduler.
+     */
+    @Scheduled(fixedRateString = "${quiz.attempts.tick-ms:1000}")
+    public void expire() {
+        long now = clock.millis();
+        List<String> due = deadlines.advance(now);
+        if (!due.isEmpty()) {
+            expiryExecutor.execute(() -> expireAll(due, now));
+        }
+    }
+
+    /**
+     * Writes every attempt changed since the last flush in one bulk upsert,
+     * then forgets finished attempts whose final state is now stored.
+     */
+    @Scheduled(fixedDelayString = "${quiz.attempts.flush-interval-ms:5000}")
+    public void flush() {
+        long now = clock.millis();
+        Instant leaseUntil = Instant.ofEpochMilli(now + leaseMillis);
+        List<Attempt> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (LiveAttempt attempt : attempts.values()) {
+            Attempt snapshot = attempt.takeIfDirty();
+            if (snapshot != null) {
+                snapshot.setOwner(nodeId);
+                snapshot.setLeaseUntil(leaseUntil);
+                changed.add(snapshot);
+            } else if (!attempt.isFinished()) {
+                unchanged.add(attempt.getId());
+            }
+        }
+        if (now >= nextRenewal) {
+            renewLeases(unchanged, leaseUntil, now);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<String> takenOver;
+        try {
+            takenOver = attemptRepository.upsertAll(changed);
+        } catch (RuntimeException e) {
+            // Keep them dirty so the next run retries
+            for (Attempt snapshot : changed) {
+                attempts.get(snapshot.getId()).markDirty();
+            }
+            failedFlushCount.incrementAndGet();
+            log.warn("Could not persist {} attempts", changed.size(), e);
+            return;
+        }
+        flushCount.incrementAndGet();
+        flushedCount.addAndGet(changed.size() - takenOver.size());
+        for (Attempt snapshot : changed) {
+            if (takenOver.contains(snapshot.getId())) {
+                log.warn("Attempt {} is held by another node", snapshot.getId());
+                drop(attempts.get(snapshot.getId()));
+            } else if (snapshot.isFinished()) {
+                // Nothing changes after finishing, so the stored copy is final
+                attempts.remove(snapshot.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (expiryExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        flush();
+    }
+
+    private void renewLeases(List<String> ids, Instant leaseUntil, long now) {
+        try {
+            if (!ids.isEmpty()) {
+                attemptRepository.renewLeases(ids, nodeId, leaseUntil);
+            }
+            nextRenewal = now + leaseMillis / 3;
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the lease on {} attempts", ids.size(), e);
+        }
+    }
+
+    /**
+     * Loads the open attempts this node may hold that are not in memory yet:
+     * on startup its own, and at any time those whose lease ran out.
+     */
+    private int adopt() {
+        long now = clock.millis();
+        int adopted = 0;
+        for (Attempt stored : attemptRepository.claimOpen(nodeId, Instant.ofEpochMilli(now),
+                Instant.ofEpochMilli(now + leaseMillis))) {
+            if (attempts.containsKey(stored.getId())) {
+                continue;
+            }
+            LiveAttempt attempt = LiveAttempt.restore(stored);
+            attempts.put(attempt.getId(), attempt);
+            openAttempts.putIfAbsent(openKey(attempt.getUserId(), attempt.getQuizId()), attempt);
+            // Deadlines that passed while nobody held it fire on the next tick
+            deadlines.schedule(attempt.getId(), attempt.getDeadline() + graceMillis);
+            adopted++;
+        }
+        return adopted;
+    }
+
+    private void drop(LiveAttempt attempt) {
+        if (attempt != null) {
+            attempts.remove(attempt.getId(), attempt);
+            openAttempts.remove(openKey(attempt.getUserId(), attempt.getQuizId()), attempt);
+        }
+    }
+
+    /**
+     * Closes an attempt the caller has begun closing. Scoring and the claim
+     * run without the attempt's monitor; callers finishing it meanwhile wait
+     * on the close instead (see LiveAttempt).
+     */
+    private Attempt close(LiveAttempt attempt, boolean expired, long now) {
+        Closing closing;
+        try {
+            closing = prepare(attempt, expired, now);
+            if (!attemptRepository.claimFinish(closing.closed())) {
+                lost(attempt);
+                return attemptRepository.findById(attempt.getId()).orElse(null);
+            }
+        } catch (RuntimeException e) {
+            attempt.abortClose(e);
+            throw e;
+        }
+        return complete(closing);
+    }
+
+    private void expireAll(List<String> ids, long now) {
+        for (int from = 0; from < ids.size(); from += EXPIRY_BATCH_SIZE) {
+            expireBatch(ids.subList(from, Math.min(ids.size(), from + EXPIRY_BATCH_SIZE)), now);
+        }
+    }
+
+    // Claims a batch of expired attempts in one bulk write, then records their results
+    private void expireBatch(List<String> ids, long now) {
+        List<Closing> batch = new ArrayList<>();
+        for (String id : ids) {
+            LiveAttempt attempt = attempts.get(id);
+            // Gone, finished, or being finished by its user right now
+            if (attempt == null || attempt.beginClose() != null) {
+                continue;
+            }
+            try {
+                batch.add(prepare(attempt, true, now));
+            } catch (RuntimeException e) {
+                attempt.abortClose(e);
+                log.warn("Could not finalize expired attempt {}, retrying", id, e);
+                deadlines.schedule(id, now + RETRY_DELAY_MS);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Attempt> closed = new ArrayList<>(batch.size());
+        for (Closing closing : batch) {
+            closed.add(closing.closed());
+        }
+        Set<String> lost;
+        try {
+            lost = attemptRepository.claimFinishAll(closed);
+        } catch (RuntimeException e) {
+            for (Closing closing : batch) {
+                closing.attempt().abortClose(e);
+                deadlines.schedule(closing.attempt().getId(), now + RETRY_DELAY_MS);
+            }
+            log.warn("Could not finalize {} expired attempts, retrying", batch.size(), e);
+            return;
+        }
+        for (Closing closing : batch) {
+            String id = closing.attempt().getId();
+            if (lost.contains(id)) {
+                lost(closing.attempt());
+                continue;
+            }
+            try {
+                complete(closing);
+            } catch (RuntimeException e) {
+                log.warn("Could not finalize expired attempt {}, retrying", id, e);
+                deadlines.schedule(id, now + RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private Closing prepare(LiveAttempt attempt, boolean expired, long now) {
+        Result result = score(attempt);
+        Attempt closed = attempt.snapshot();
+        closed.setFinished(true);
+        closed.setExpired(expired);
+        closed.setFinishedAt(Instant.ofEpochMilli(now));
+        closed.setScore(result != null ? result.getScore() : null);
+        closed.setOwner(nodeId);
+        closed.setLeaseUntil(Instant.ofEpochMilli(now + leaseMillis));
+        return new Closing(attempt, closed, result);
+    }
+
+    // Another node took the attempt over and finished it; its outcome stands
+    private void lost(LiveAttempt attempt) {
+        drop(attempt);
+        attempt.abandon();
+    }
+
+    // Records the result of a claimed close and marks the attempt finished
+    private Attempt complete(Closing closing) {
+        LiveAttempt attempt = closing.attempt();
+        if (closing.result() != null) {
+            try {
+                record(closing.result());
+            } catch (RuntimeException e) {
+                try {
+                    attemptRepository.releaseFinish(attempt.getId(), nodeId);
+                } catch (RuntimeException releaseFailure) {
+                    e.addSuppressed(releaseFailure);
+                }
+                attempt.abortClose(e);
+                throw e;
+            }
+        }
+        Attempt closed = closing.closed();
+        attempt.finish(closed.getScore(), closed.isExpired(), closed.getFinishedAt().toEpochMilli());
+        openAttempts.remove(openKey(attempt.getUserId(), attempt.getQuizId()), attempt);
+        (closed.isExpired() ? expiredCount : finishedCount).incrementAndGet();
+        return attempt.snapshot();
+    }
+
+    private static Attempt await(CompletableFuture<Attempt> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Scores the attempt into the result to record, or returns null if it
+     * cannot be scored any more.
+     */
+    private Result score(LiveAttempt attempt) {
+        CachedQuiz cached = quizService.findCached(attempt.getQuizId());
+        if (cached == null) {
+            log.warn("Attempt {} closed without a score: quiz {} no longer exists", attempt.getId(), attempt.getQuizId());
+            return null;
+        }
+        // The seed only re-derives the order the attempt saw from the version it started on
+        if (attempt.getQuizVersion() != null && attempt.getQuizVersion() != cached.getVersion()) {
+            log.warn("Attempt {} closed without a score: quiz {} was edited while it ran",
+                    attempt.getId(), attempt.getQuizId());
+            return null;
+        }
+        Quiz quiz = cached.getQuiz();
+        int score;
+        int[] answers;
+        try {
+            QuizShuffle shuffle = QuizShuffle.of(quiz, attempt.getSeed());
+            answers = shuffle.toQuizOrder(attempt.answerVector());
+            score = scoringService.score(quiz, answers, shuffle.size());
+        } catch (IllegalArgumentException e) {
+            // The quiz was edited while the attempt ran; its answers no longer line up
+            log.warn("Attempt {} closed without a score: {}", attempt.getId(), e.getMessage());
+            return null;
+        }
+        Result result = new Result();
+        result.setUserId(attempt.getUserId());
+        result.setQuizId(attempt.getQuizId());
+        result.setScore(score);
+        // One result per attempt, even if finalizing is retried after a restart
+        result.setSubmissionKey(SUBMISSION_KEY_PREFIX + attempt.getId());
+        scoringService.attachAnswers(result, answers);
+        return result;
+    }
+
+    private void record(Result result) {
+        try {
+            resultWriteBehind.submit(result);
+        } catch (DuplicateKeyException e) {
+            return;
+        }
+        leaderboardService.record(result);
+        quizStatsService.record(result);
+    }
+
+    private LiveAttempt live(String userId, String attemptId) {
+        LiveAttempt attempt = attempts.get(attemptId);
+        return attempt != null && attempt.getUserId().equals(userId) ? attempt : null;
+    }
+
+    private Attempt stored(String userId, String attemptId) {
+        if (!ObjectId.isValid(attemptId)) {
+            return null;
+        }
+        return attemptRepository.findById(attemptId)
+                .filter(attempt -> userId.equals(attempt.getUserId()))
+                .orElse(null);
+    }
+
+    static long durationSeconds(Quiz quiz) {
+        if (quiz.getDurationSeconds() != null && quiz.getDurationSeconds() > 0) {
+            return quiz.getDurationSeconds();
+        }
+        return (long) Math.max(questionCount(quiz), 1) * SECONDS_PER_QUESTION;
+    }
+
+    private static int questionCount(Quiz quiz) {
+        return quiz.getQuestions() == null ? 0 : quiz.getQuestions().size();
+    }
+
+    private static String hostName() {
+        // Stable across restarts, so a restarted node takes its attempts straight back
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return new ObjectId().toHexString();
+        }
+    }
+
+    private static String openKey(String userId, String quizId) {
+        return userId + "/" + quizId;
+    }
+
+    public int getLiveCount() {
+        return attempts.size();
+    }
+
+    public int getOpenCount() {
+        return openAttempts.size();
+    }
+
+    public long getStartedCount() {
+        return startedCount.get();
+    }
+
+    public long getAnswerCount() {
+        return answerCount.get();
+    }
+
+    public long getFinishedCount() {
+        return finishedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+}
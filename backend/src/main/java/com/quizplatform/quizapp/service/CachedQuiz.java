@@ -0,0 +1,140 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Quiz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A quiz as held by the {@link QuizService} cache, together with its JSON
+ * already serialized and gzipped, so GET /api/quizzes/{id} writes stored
+ * bytes instead of running Jackson and a compressor per request. Both forms
+ * are built once when the quiz enters the cache and dropped with it when
+ * the quiz changes.
+ *
+ * The ETag hashes the JSON bytes, so it changes exactly when the response
+ * would, and every node derives the same tag for the same content without
+ * sharing any state. The gzipped form is a different representation and
+ * gets its own tag.
+ *
+ * The answer key used for grading and the quiz's {@link QuizVersion} live
+ * here too, so they are bounded, expired and invalidated with the quiz they
+ * were built from.
+ */
+public final class CachedQuiz {
+
+    private final Quiz quiz;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String eTag;
+    private final String gzipETag;
+
+    // Built on first use; a racing second build is harmless
+    private volatile AnswerKey answerKey;
+    private volatile Long version;
+
+    private CachedQuiz(Quiz quiz, byte[] json, byte[] gzip, String hash) {
+        this.quiz = quiz;
+        this.json = json;
+        this.gzip = gzip;
+        this.eTag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-gzip\"";
+    }
+
+    public static CachedQuiz of(Quiz quiz, ObjectMapper objectMapper) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(quiz);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize quiz " + quiz.getId(), e);
+        }
+        byte[] gzip = gzip(json);
+        // Tiny quizzes can come out larger; those are only ever sent as is
+        return new CachedQuiz(quiz, json, gzip.length < json.length ? gzip : null, hash(json));
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    /** The quiz as the JSON body GET /api/quizzes/{id} returns. */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /** The JSON gzipped, or null if compressing it does not pay off. */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /** Quoted, ready for the ETag header. */
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzipETag() {
+        return gzipETag;
+    }
+
+    /**
+     * The quiz's answer key.
+     *
+     * @throws IllegalStateException if a question's correct option is invalid
+     */
+    public AnswerKey getAnswerKey() {
+        AnswerKey key = answerKey;
+        if (key == null) {
+            key = AnswerKey.of(quiz);
+            answerKey = key;
+        }
+        return key;
+    }
+
+    /** See {@link QuizVersion}. */
+    public long getVersion() {
+        Long current = version;
+        if (current == null) {
+            current = QuizVersion.of(quiz);
+            version = current;
+        }
+        return current;
+    }
+
+    /** Bytes held for the serialized forms, for the cache weigher. */
+    int payloadSize() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+
+    // Runs once per cache load, so the slowest level is affordable
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // 128 bits of SHA-256 are plenty to tell versions of one quiz apart
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
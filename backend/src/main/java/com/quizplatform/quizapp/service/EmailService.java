@@ -2,37 +2,30 @@ package com.quizplatform.quizapp.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmailService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    @Autowired
+    private MailDispatcher mailDispatcher;
 
     public void sendOtpEmail(String toEmail, String otp) {
-        if (mailSender != null) {
-            // Email is configured - send actual email
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(toEmail);
-                message.setSubject("Password Reset OTP - Quiz Platform");
-                message.setText(
-                    "Hello,\n\n" +
-                    "You requested a password reset for your quiz platform account.\n\n" +
-                    "Your OTP code is: " + otp + "\n\n" +
-                    "This code is valid for 10 minutes.\n\n" +
-                    "If you did not request this, please ignore this email.\n\n" +
-                    "Best regards,\n" +
-                    "Quiz Platform Team"
-                );
-                mailSender.send(message);
-            } catch (Exception e) {
-                // If email fails, log to console for development
-                logOtpToConsole(toEmail, otp);
-                throw new RuntimeException("Failed to send email: " + e.getMessage());
-            }
+        if (mailDispatcher.isEnabled()) {
+            // Email is configured - hand off to the dispatcher; delivery happens off the request thread
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(toEmail);
+            message.setSubject("Password Reset OTP - Quiz Platform");
+            message.setText(
+                "Hello,\n\n" +
+                "You requested a password reset for your quiz platform account.\n\n" +
+                "Your OTP code is: " + otp + "\n\n" +
+                "This code is valid for 10 minutes.\n\n" +
+                "If you did not request this, please ignore this email.\n\n" +
+                "Best regards,\n" +
+                "Quiz Platform Team"
+            );
+            mailDispatcher.enqueue(message);
         } else {
             // Email not configured - log to console for development
             logOtpToConsole(toEmail, otp);
@@ -51,4 +44,3 @@ public class EmailService {
         System.out.println("===========================================\n");
     }
 }
-
@@ -0,0 +1,170 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.LeaderboardEntry;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory per-quiz leaderboards, ranked by each user's best score. Fed by
+ * every submission and rebuilt from the results collection on startup.
+ * Keeping only the best score makes recording order-independent, so
+ * submissions that arrive while the rebuild is running are not lost.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final int MAX_SCORE = 100;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    private final Map<String, QuizBoard> boards = new ConcurrentHashMap<>();
+
+    // Tie-break within a score: whoever reached it first ranks first in the list
+    private final AtomicLong sequence = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long count = 0;
+        try (Stream<Result> results = resultRepository.streamAllScores()) {
+            Iterator<Result> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                record(iterator.next());
+                count++;
+            }
+        }
+        log.info("Rebuilt leaderboards for {} quizzes from {} results in {} ms",
+                boards.size(), count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void record(Result result) {
+        if (result.getQuizId() == null || result.getUserId() == null) {
+            return;
+        }
+        int score = Math.max(0, Math.min(MAX_SCORE, result.getScore()));
+        boards.computeIfAbsent(result.getQuizId(), id -> new QuizBoard())
+                .record(result.getUserId(), score, sequence.incrementAndGet());
+    }
+
+    /**
+     * The best {@code limit} users for a quiz, highest score first. Usernames
+     * are left for the caller to fill in.
+     */
+    public List<LeaderboardEntry> top(String quizId, int limit) {
+        QuizBoard board = boards.get(quizId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    /**
+     * The user's rank and best score for a quiz, or null if they have no
+     * result for it.
+     */
+    public LeaderboardEntry rankOf(String quizId, String userId) {
+        QuizBoard board = boards.get(quizId);
+        return board == null ? null : board.rankOf(userId);
+    }
+
+    public int participants(String quizId) {
+        QuizBoard board = boards.get(quizId);
+        return board == null ? 0 : board.size();
+    }
+
+    record Standing(String userId, int score, long sequence) {
+    }
+
+    /**
+     * One quiz's standings. The skip list keeps them ordered for top-N. A
+     * Fenwick tree of user counts per score answers "how many users scored
+     * higher" in O(log 101), so a rank lookup never walks the list.
+     */
+    static final class QuizBoard {
+
+        private static final Comparator<Standing> ORDER = Comparator
+                .comparingInt(Standing::score).reversed()
+                .thenComparingLong(Standing::sequence)
+                .thenComparing(Standing::userId);
+
+        private final Map<String, Standing> bestByUser = new HashMap<>();
+        private final ConcurrentSkipListSet<Standing> ordered = new ConcurrentSkipListSet<>(ORDER);
+
+        // 1-based; position 1 is score 100, position 101 is score 0
+        private final int[] countsByScore = new int[MAX_SCORE + 2];
+
+        synchronized void record(String userId, int score, long sequence) {
+            Standing current = bestByUser.get(userId);
+            if (current != null) {
+                if (score <= current.score()) {
+                    return;
+                }
+                ordered.remove(current);
+                addCount(current.score(), -1);
+            }
+            Standing standing = new Standing(userId, score, sequence);
+            bestByUser.put(userId, standing);
+            ordered.add(standing);
+            addCount(score, 1);
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, ordered.size()));
+            for (Standing standing : ordered) {
+                if (entries.size() >= limit) {
+                    break;
+                }
+                entries.add(entry(standing));
+            }
+            return entries;
+        }
+
+        synchronized LeaderboardEntry rankOf(String userId) {
+            Standing standing = bestByUser.get(userId);
+            return standing == null ? null : entry(standing);
+        }
+
+        synchronized int size() {
+            return bestByUser.size();
+        }
+
+        private LeaderboardEntry entry(Standing standing) {
+            LeaderboardEntry entry = new LeaderboardEntry();
+            entry.setRank(countAbove(standing.score()) + 1);
+            entry.setUserId(standing.userId());
+            entry.setScore(standing.score());
+            return entry;
+        }
+
+        private void addCount(int score, int delta) {
+            for (int i = MAX_SCORE - score + 1; i < countsByScore.length; i += i & -i) {
+                countsByScore[i] += delta;
+            }
+        }
+
+        private int countAbove(int score) {
+            int count = 0;
+            for (int i = MAX_SCORE - score; i > 0; i -= i & -i) {
+                count += countsByScore[i];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Attempt;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory state of one attempt: a byte per question plus a few longs, so
+ * thousands of concurrent exams fit in a few hundred kilobytes. Recording an
+ * answer only flips the dirty flag; AttemptService writes dirty attempts to
+ * MongoDB in batches.
+ *
+ * Closing happens in two steps so that scoring and storing run without the
+ * monitor: {@link #beginClose} freezes the answers, and {@link #finish},
+ * {@link #abortClose} or {@link #abandon} ends the close. Callers that
+ * arrive meanwhile wait on the close in progress.
+ */
+final class LiveAttempt {
+
+    static final byte UNANSWERED = -1;
+
+    private final String id;
+    private final String userId;
+    private final String quizId;
+    private final long seed;
+    private final Long quizVersion;
+    private final long startedAt;
+    private final long deadline;
+    private final byte[] answers;
+
+    private boolean finished;
+    private boolean expired;
+    private long finishedAt;
+    private Integer score;
+    private boolean dirty;
+    // Set while closing and after; completes with the final snapshot, or null if another node finished it
+    private CompletableFuture<Attempt> closing;
+
+    private LiveAttempt(String id, String userId, String quizId, long seed, Long quizVersion,
+                        long startedAt, long deadline, byte[] answers) {
+        this.id = id;
+        this.userId = userId;
+        this.quizId = quizId;
+        this.seed = seed;
+        this.quizVersion = quizVersion;
+        this.startedAt = startedAt;
+        this.deadline = deadline;
+        this.answers = answers;
+    }
+
+    static LiveAttempt start(String id, String userId, String quizId, long seed, long quizVersion,
+                             int questionCount, long now, long deadline) {
+        byte[] answers = new byte[questionCount];
+        Arrays.fill(answers, UNANSWERED);
+        LiveAttempt attempt = new LiveAttempt(id, userId, quizId, seed, quizVersion, now, deadline, answers);
+        attempt.dirty = true;
+        return attempt;
+    }
+
+    static LiveAttempt restore(Attempt stored) {
+        byte[] answers = stored.getAnswers() != null ? stored.getAnswers().clone() : new byte[0];
+        return new LiveAttempt(stored.getId(), stored.getUserId(), stored.getQuizId(), stored.getSeed(),
+                stored.getQuizVersion(), stored.getStartedAt().toEpochMilli(), stored.getDeadline().toEpochMilli(), answers);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getUserId() {
+        return userId;
+    }
+
+    String getQuizId() {
+        return quizId;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    Long getQuizVersion() {
+        return quizVersion;
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Records option for question, or -1 to clear it. Returns false once the
+     * attempt is finished or acceptUntil has passed.
+     *
+     * @throws IllegalArgumentException if question or option is out of range
+     */
+    synchronized boolean answer(int question, int option, long now, long acceptUntil) {
+        if (question < 0 || question >= answers.length) {
+            throw new IllegalArgumentException("Question must be between 0 and " + (answers.length - 1));
+        }
+        if (option < UNANSWERED || option > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid option: " + option);
+        }
+        if (closing != null || now > acceptUntil) {
+            return false;
+        }
+        if (answers[question] != option) {
+            answers[question] = (byte) option;
+            dirty = true;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces all answers at once, as {@link #answer} would one by one.
+     */
+    synchronized boolean answerAll(int[] vector, long now, long acceptUntil) {
+        if (vector.length != answers.length) {
+            throw new IllegalArgumentException("Expected " + answers.length + " answers");
+        }
+        for (int option : vector) {
+            if (option < UNANSWERED || option > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid option: " + option);
+            }
+        }
+        if (closing != null || now > acceptUntil) {
+            return false;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            if (answers[i] != vector[i]) {
+                answers[i] = (byte) vector[i];
+                dirty = true;
+            }
+        }
+        return true;
+    }
+
+    synchronized int[] answerVector() {
+        int[] vector = new int[answers.length];
+        for (int i = 0; i < answers.length; i++) {
+            vector[i] = answers[i];
+        }
+        return vector;
+    }
+
+    synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Starts closing: answers are refused from now on. Returns null if the
+     * caller is to close the attempt, or the close already under way (or
+     * done) to wait for.
+     */
+    synchronized CompletableFuture<Attempt> beginClose() {
+        if (closing != null) {
+            return closing;
+        }
+        closing = new CompletableFuture<>();
+        return null;
+    }
+
+    synchronized void finish(Integer score, boolean expired, long now) {
+        this.finished = true;
+        this.expired = expired;
+        this.finishedAt = now;
+        this.score = score;
+        this.dirty = true;
+        closing.complete(snapshot());
+    }
+
+    /**
+     * Reopens the attempt after a close that failed; waiting callers get
+     * the failure.
+     */
+    synchronized void abortClose(RuntimeException failure) {
+        CompletableFuture<Attempt> failed = closing;
+        closing = null;
+        failed.completeExceptionally(failure);
+    }
+
+    /**
+     * Ends a close lost to another node, which finished the attempt.
+     */
+    synchronized void abandon() {
+        closing.complete(null);
+    }
+
+    synchronized void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Snapshot for the next flush, or null if nothing changed since the last
+     * one. Clears the dirty flag; a failed write must call markDirty.
+     */
+    synchronized Attempt takeIfDirty() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return snapshot();
+    }
+
+    synchronized Attempt snapshot() {
+        Attempt attempt = new Attempt();
+        attempt.setId(id);
+        attempt.setUserId(userId);
+        attempt.setQuizId(quizId);
+        attempt.setAnswers(answers.clone());
+        attempt.setSeed(seed);
+        attempt.setQuizVersion(quizVersion);
+        attempt.setStartedAt(Instant.ofEpochMilli(startedAt));
+        attempt.setDeadline(Instant.ofEpochMilli(deadline));
+        attempt.setFinished(finished);
+        attempt.setExpired(expired);
+        attempt.setFinishedAt(finished ? Instant.ofEpochMilli(finishedAt) : null);
+        attempt.setScore(score);
+        return attempt;
+    }
+}
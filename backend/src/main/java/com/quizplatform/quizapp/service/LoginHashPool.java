@@ -0,0 +1,163 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.exception.LoginCapacityException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed pool that runs password hash checks off the servlet threads. The
+ * queue is bounded and callers wait at most a fixed time, so a login burst
+ * turns into fast 503s instead of every request thread spinning on BCrypt.
+ */
+@Service
+public class LoginHashPool {
+
+    private final int threads;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong taskNanos = new AtomicLong();
+
+    public LoginHashPool(@Value("${auth.login.hash-threads:0}") int threads,
+                         @Value("${auth.login.hash-queue:128}") int queueCapacity,
+                         @Value("${auth.login.hash-timeout-ms:3000}") long timeoutMs) {
+        // 0 means one thread per core; hashing is purely CPU bound
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "login-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the task on the pool and waits for its result. Throws
+     * LoginCapacityException if the queue is full or the result does not
+     * arrive within the configured timeout.
+     */
+    public <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    recordTask(start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new LoginCapacityException("Too many logins in progress, please try again shortly");
+        }
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            completedCount.incrementAndGet();
+            return result;
+        } catch (TimeoutException e) {
+            // A cancelled task still in the queue is skipped when it is dequeued
+            future.cancel(true);
+            timedOutCount.incrementAndGet();
+            throw new LoginCapacityException("Login timed out under load, please try again shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Queues background work such as a rehash. Returns false instead of
+     * throwing when the pool is saturated; the work is simply skipped.
+     */
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    recordTask(start);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void recordTask(long start) {
+        taskNanos.addAndGet(System.nanoTime() - start);
+        taskCount.incrementAndGet();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    // Hashing work actually run on the pool (verifications and rehashes), excluding queue wait
+    public long getTaskCount() {
+        return taskCount.get();
+    }
+
+    public long getTaskNanos() {
+        return taskNanos.get();
+    }
+}
@@ -0,0 +1,229 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.config.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound mail pipeline. Callers enqueue and return immediately; a small
+ * pool of workers drains the bounded queue in batches, sending each batch
+ * over a single SMTP connection, and failed messages are retried with
+ * exponential backoff.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    // Workers spend their time blocked on SMTP, which suits virtual threads
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final BlockingQueue<PendingMail> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+
+    public MailDispatcher(@Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity,
+                          @Value("${mail.dispatch.workers:2}") int workers,
+                          @Value("${mail.dispatch.batch-size:20}") int batchSize,
+                          @Value("${mail.dispatch.max-attempts:4}") int maxAttempts,
+                          @Value("${mail.dispatch.initial-backoff-ms:2000}") long initialBackoffMs) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ThreadFactory workerThreads = virtualThreads
+                ? VirtualThreads.factory("mail-dispatch-")
+                : namedThreads("mail-dispatch-");
+        workerPool = Executors.newFixedThreadPool(workers, workerThreads);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("mail-retry-"));
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (workerPool == null) {
+            return;
+        }
+        retryScheduler.shutdownNow();
+        workerPool.shutdownNow();
+        workerPool.awaitTermination(5, TimeUnit.SECONDS);
+        if (!queue.isEmpty()) {
+            log.warn("Mail dispatcher stopped with {} unsent messages", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return mailSender != null;
+    }
+
+    /**
+     * Queues a message for delivery. Throws if the queue is full so that the
+     * caller can report the failure instead of silently losing the mail.
+     */
+    public void enqueue(SimpleMailMessage message) {
+        if (!queue.offer(new PendingMail(message, 1))) {
+            rejectedCount.incrementAndGet();
+            throw new IllegalStateException("Mail queue is full, try again later");
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in mail dispatcher", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void sendBatch(List<PendingMail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = batch.get(i).message;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // One call per batch: JavaMailSenderImpl reuses the SMTP connection for all messages
+            mailSender.send(messages);
+            sentCount.addAndGet(messages.length);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingMail mail : batch) {
+                if (failed.isEmpty() || failed.containsKey(mail.message)) {
+                    retryLater(mail, e);
+                } else {
+                    sentCount.incrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            for (PendingMail mail : batch) {
+                retryLater(mail, e);
+            }
+        } finally {
+            sendNanos.addAndGet(System.nanoTime() - start);
+            batchCount.incrementAndGet();
+        }
+    }
+
+    private void retryLater(PendingMail mail, Exception cause) {
+        if (mail.attempt >= maxAttempts) {
+            failedCount.incrementAndGet();
+            log.error("Giving up on mail to {} after {} attempts: {}",
+                    String.join(",", mail.message.getTo()), mail.attempt, cause.getMessage());
+            return;
+        }
+        retryCount.incrementAndGet();
+        long delay = initialBackoffMs << (mail.attempt - 1);
+        PendingMail next = new PendingMail(mail.message, mail.attempt + 1);
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(next)) {
+                failedCount.incrementAndGet();
+                log.error("Dropping mail retry: queue is full");
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getSendNanos() {
+        return sendNanos.get();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    static final class PendingMail {
+        final SimpleMailMessage message;
+        final int attempt;
+
+        PendingMail(SimpleMailMessage message, int attempt) {
+            this.message = message;
+            this.attempt = attempt;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.quizplatform.quizapp.service;
 
-import com.quizplatform.quizapp.model.Otp;
 import com.quizplatform.quizapp.repository.OtpRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Random;
 
 @Service
 public class OtpService {
@@ -20,27 +19,18 @@ public class OtpService {
     private static final int OTP_LENGTH = 6;
     private static final int OTP_VALIDITY_MINUTES = 10;
 
+    // The OTP is the only secret in a reset, so it must not be predictable
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     public String generateAndSendOtp(String email) {
         try {
             // Generate 6-digit OTP
             String otp = generateOtp();
             
-            // Delete any existing OTP for this email
-            Otp existingOtp = otpRepository.findByEmail(email);
-            if (existingOtp != null) {
-                otpRepository.delete(existingOtp);
-            }
-            
-            // Create new OTP
-            Otp newOtp = new Otp();
-            newOtp.setEmail(email);
-            newOtp.setCode(otp);
-            newOtp.setExpiryTime(LocalDateTime.now().plusMinutes(OTP_VALIDITY_MINUTES));
-            newOtp.setUsed(false);
-            
-            otpRepository.save(newOtp);
+            // Replace any pending OTP for this email in a single upsert
+            otpRepository.upsertOtp(email, otp, LocalDateTime.now().plusMinutes(OTP_VALIDITY_MINUTES));
             
-            // Send OTP via email
+            // Queue the OTP email; delivery happens off the request thread
             emailService.sendOtpEmail(email, otp);
             
             return otp;
@@ -50,39 +40,23 @@ public class OtpService {
     }
 
     public boolean verifyOtp(String email, String code) {
-        Otp otp = otpRepository.findByEmailAndCode(email, code);
-        
-        if (otp == null) {
-            return false;
-        }
-        
-        // Check if OTP is used
-        if (otp.isUsed()) {
-            return false;
-        }
-        
-        // Check if OTP is expired
-        if (LocalDateTime.now().isAfter(otp.getExpiryTime())) {
-            return false;
-        }
-        
-        return true;
+        // Unused and unexpired, checked by the query itself
+        return otpRepository.existsByEmailAndCodeAndUsedFalseAndExpiryTimeAfter(email, code, LocalDateTime.now());
     }
 
-    public void markOtpAsUsed(String email, String code) {
-        Otp otp = otpRepository.findByEmailAndCode(email, code);
-        if (otp != null) {
-            otp.setUsed(true);
-            otpRepository.save(otp);
-        }
+    /**
+     * Verifies and consumes the OTP in one atomic findAndModify. Returns
+     * false if the code is wrong, expired or already used.
+     */
+    public boolean consumeOtp(String email, String code) {
+        return otpRepository.consumeOtp(email, code);
     }
 
     private String generateOtp() {
-        Random random = new Random();
         StringBuilder otp = new StringBuilder();
         
         for (int i = 0; i < OTP_LENGTH; i++) {
-            otp.append(random.nextInt(10));
+            otp.append(RANDOM.nextInt(10));
         }
         
         return otp.toString();
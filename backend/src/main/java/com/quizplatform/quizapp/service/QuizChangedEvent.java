@@ -0,0 +1,18 @@
+package com.quizplatform.quizapp.service;
+
+/**
+ * Published by {@link QuizService} after a quiz is written so that anything
+ * derived from the stored document can be dropped.
+ */
+public class QuizChangedEvent {
+
+    private final String quizId;
+
+    public QuizChangedEvent(String quizId) {
+        this.quizId = quizId;
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+}
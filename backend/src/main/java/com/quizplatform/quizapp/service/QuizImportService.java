@@ -0,0 +1,274 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.ImportReport;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.repository.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk quiz import. The file is parsed as a stream, one quiz at a time;
+ * each quiz is validated as it is read, and valid ones are written in
+ * unordered bulk inserts of {@code quiz.import.batch-size}. Memory is
+ * bounded by one batch, whatever the file size.
+ *
+ * JSON: an array of quiz objects in the same shape POST /api/quizzes takes.
+ * CSV: header "title,durationSeconds,questionText,correctOption,option1,option2,..."
+ * and one row per question; consecutive rows with the same title form one quiz.
+ */
+@Service
+public class QuizImportService {
+
+    static final int MIN_OPTIONS = 2;
+    static final int MAX_OPTIONS = 10;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    private final int batchSize;
+
+    public QuizImportService(@Value("${quiz.import.batch-size:500}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importJson(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                batch.abort("Expected a JSON array of quizzes");
+                return batch.finish();
+            }
+            long record = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    batch.abort("Unexpected end of input after record " + record);
+                    break;
+                }
+                record++;
+                // One quiz as a tree: a bad field fails only this record, not the stream
+                JsonNode node = objectMapper.readTree(parser);
+                Quiz quiz;
+                try {
+                    quiz = objectMapper.treeToValue(node, Quiz.class);
+                } catch (JsonProcessingException e) {
+                    batch.reject(record, node.path("title").asText(null), "Unreadable quiz: " + e.getOriginalMessage());
+                    continue;
+                }
+                batch.add(record, quiz);
+            }
+        } catch (JsonProcessingException e) {
+            String where = e.getLocation() != null ? " at line " + e.getLocation().getLineNr() : "";
+            batch.abort("Malformed JSON" + where + ": " + e.getOriginalMessage());
+        }
+        return batch.finish();
+    }
+
+    public ImportReport importCsv(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        try {
+            List<String> header = reader.next();
+            if (header == null || header.size() < 5 || !"title".equalsIgnoreCase(header.get(0).trim())) {
+                batch.abort("Expected header: title,durationSeconds,questionText,correctOption,option1,option2,...");
+                return batch.finish();
+            }
+
+            long record = 0;
+            Quiz quiz = null;
+            String error = null;
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                String title = field(row, 0);
+                if (quiz == null || !title.equals(quiz.getTitle())) {
+                    if (quiz != null) {
+                        addOrReject(batch, record, quiz, error);
+                    }
+                    record++;
+                    quiz = new Quiz();
+                    quiz.setTitle(title);
+                    quiz.setQuestions(new ArrayList<>());
+                    error = null;
+                    String duration = field(row, 1);
+                    if (!duration.isEmpty()) {
+                        try {
+                            quiz.setDurationSeconds(Integer.parseInt(duration));
+                        } catch (NumberFormatException e) {
+                            error = "Line " + reader.recordLine() + ": durationSeconds is not a number";
+                        }
+                    }
+                }
+
+                Question question = new Question();
+                question.setQuestionText(field(row, 2));
+                List<String> options = new ArrayList<>();
+                for (int i = 4; i < row.size(); i++) {
+                    if (!row.get(i).isEmpty()) {
+                        options.add(row.get(i));
+                    }
+                }
+                question.setOptions(options);
+                try {
+                    question.setCorrectOption(Integer.parseInt(field(row, 3)));
+                } catch (NumberFormatException e) {
+                    if (error == null) {
+                        error = "Line " + reader.recordLine() + ": correctOption is not a number";
+                    }
+                }
+                quiz.getQuestions().add(question);
+            }
+            if (quiz != null) {
+                addOrReject(batch, record, quiz, error);
+            }
+        } catch (IOException e) {
+            batch.abort("Malformed CSV: " + e.getMessage());
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Returns why the quiz cannot be imported, or null if it is valid.
+     */
+    static String validate(Quiz quiz) {
+        if (quiz.getTitle() == null || quiz.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (quiz.getDurationSeconds() != null && quiz.getDurationSeconds() <= 0) {
+            return "durationSeconds must be positive";
+        }
+        List<Question> questions = quiz.getQuestions();
+        if (questions == null || questions.isEmpty()) {
+            return "at least one question is required";
+        }
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            if (question == null || question.getQuestionText() == null || question.getQuestionText().isBlank()) {
+                return "question " + (i + 1) + ": questionText is required";
+            }
+            List<String> options = question.getOptions();
+            if (options == null || options.size() < MIN_OPTIONS || options.size() > MAX_OPTIONS) {
+                return "question " + (i + 1) + ": needs " + MIN_OPTIONS + " to " + MAX_OPTIONS + " options";
+            }
+            for (String option : options) {
+                if (option == null || option.isBlank()) {
+                    return "question " + (i + 1) + ": options must not be blank";
+                }
+            }
+            if (question.getCorrectOption() < 0 || question.getCorrectOption() >= options.size()) {
+                return "question " + (i + 1) + ": correctOption " + question.getCorrectOption() + " is out of range";
+            }
+        }
+        return null;
+    }
+
+    private static void addOrReject(Batch batch, long record, Quiz quiz, String error) {
+        if (error != null) {
+            batch.reject(record, quiz.getTitle(), error);
+        } else {
+            batch.add(record, quiz);
+        }
+    }
+
+    private static String field(List<String> row, int index) {
+        return index < row.size() ? row.get(index).trim() : "";
+    }
+
+    /**
+     * Pending inserts plus the running report for one import.
+     */
+    private final class Batch {
+
+        private final ImportReport report = new ImportReport();
+        private final List<Quiz> quizzes = new ArrayList<>(batchSize);
+        private final List<Long> records = new ArrayList<>(batchSize);
+
+        void add(long record, Quiz quiz) {
+            report.setReceived(report.getReceived() + 1);
+            String error = validate(quiz);
+            if (error != null) {
+                fail(record, quiz.getTitle(), error);
+                return;
+            }
+            // Imports always create new quizzes
+            quiz.setId(null);
+            quizzes.add(quiz);
+            records.add(record);
+            if (quizzes.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long record, String title, String message) {
+            report.setReceived(report.getReceived() + 1);
+            fail(record, title, message);
+        }
+
+        void abort(String message) {
+            report.setAborted(true);
+            addError(0, null, message);
+        }
+
+        ImportReport finish() {
+            flush();
+            return report;
+        }
+
+        private void flush() {
+            if (quizzes.isEmpty()) {
+                return;
+            }
+            Map<Integer, String> failures = quizRepository.insertUnordered(quizzes);
+            report.setImported(report.getImported() + quizzes.size() - failures.size());
+            if (failures.size() < quizzes.size()) {
+                quizService.catalogChanged();
+            }
+            for (Map.Entry<Integer, String> failure : failures.entrySet()) {
+                int index = failure.getKey();
+                fail(records.get(index), quizzes.get(index).getTitle(), failure.getValue());
+            }
+            quizzes.clear();
+            records.clear();
+        }
+
+        private void fail(long record, String title, String message) {
+            report.setFailed(report.getFailed() + 1);
+            addError(record, title, message);
+        }
+
+        private void addError(long record, String title, String message) {
+            if (report.getErrors().size() >= MAX_REPORTED_ERRORS) {
+                report.setErrorsTruncated(true);
+                return;
+            }
+            ImportReport.RecordError error = new ImportReport.RecordError();
+            error.setRecord(record);
+            error.setTitle(title);
+            error.setMessage(message);
+            report.getErrors().add(error);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache in front of {@link QuizRepository}. Quizzes are written
+ * rarely and read by a whole class at once, so full documents are kept in
+ * memory, bounded by an estimate of their retained size.
+ *
+ * Each cached quiz carries its serialized JSON, a gzipped copy and their
+ * ETags (see {@link CachedQuiz}), and the weigher counts those bytes too.
+ * The catalog has a version, shared by all nodes in the "versions"
+ * collection, that every write through this service increments. Each node
+ * polls it in the background, so conditional GETs are answered without a
+ * query and writes on any node change the ETag within one poll interval.
+ */
+@Service
+public class QuizService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizService.class);
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<String, CachedQuiz> cache;
+
+    // Highest shared catalog version this node has seen
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public QuizService(@Value("${quiz.cache.max-bytes:67108864}") long maxBytes,
+                       @Value("${quiz.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String id, CachedQuiz cached) ->
+                        (int) Math.min(Integer.MAX_VALUE, (long) estimateSize(cached.getQuiz()) + cached.payloadSize()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Quiz> findById(String id) {
+        return Optional.ofNullable(findCached(id)).map(CachedQuiz::getQuiz);
+    }
+
+    /**
+     * The quiz with its ETag, loading it on a miss; null if it does not exist.
+     */
+    public CachedQuiz findCached(String id) {
+        // Misses are not cached: the loader returning null leaves no entry behind
+        return cache.get(id, key -> quizRepository.findById(key).map(this::entry).orElse(null));
+    }
+
+    /**
+     * Summaries for a set of quiz ids in one $in query, keyed by id. Unknown
+     * ids are simply absent from the map.
+     */
+    public Map<String, QuizSummary> findSummaries(Collection<String> ids) {
+        Map<String, QuizSummary> summaries = new HashMap<>();
+        if (ids.isEmpty()) {
+            return summaries;
+        }
+        for (QuizSummary summary : quizRepository.findSummariesByIdIn(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Cache lookup only; never goes to the database. Used by the reactive
+     * handlers, which load misses themselves without blocking.
+     */
+    public CachedQuiz getIfCached(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    public CachedQuiz cache(Quiz quiz) {
+        CachedQuiz cached = entry(quiz);
+        cache.put(quiz.getId(), cached);
+        return cached;
+    }
+
+    public Quiz save(Quiz quiz) {
+        Quiz saved = quizRepository.save(quiz);
+        changed(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Drops the cached copy and notifies listeners after a quiz was written.
+     */
+    public void changed(String id) {
+        cache.invalidate(id);
+        catalogChanged();
+        eventPublisher.publishEvent(new QuizChangedEvent(id));
+    }
+
+    /**
+     * Marks the catalog listings changed, e.g. after quizzes were imported.
+     * The write itself has already succeeded, so a failure to record it is
+     * logged rather than thrown; the next write moves the version on.
+     */
+    public void catalogChanged() {
+        try {
+            catalogVersion.accumulateAndGet(quizRepository.incrementCatalogVersion(), Math::max);
+        } catch (RuntimeException e) {
+            log.warn("Could not increment the catalog version", e);
+        }
+    }
+
+    /**
+     * Picks up catalog writes made on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${quiz.catalog.version-poll-ms:1000}")
+    public void refreshCatalogVersion() {
+        try {
+            catalogVersion.accumulateAndGet(quizRepository.findCatalogVersion(), Math::max);
+        } catch (RuntimeException e) {
+            log.warn("Could not read the catalog version", e);
+        }
+    }
+
+    /**
+     * ETag for catalog listings, from the shared catalog version. It names a
+     * version rather than exact bytes, so it is weak, which also leaves the
+     * listings compressible.
+     */
+    public String getCatalogETag() {
+        return "W/\"catalog-" + Long.toHexString(catalogVersion.get()) + "\"";
+    }
+
+    private CachedQuiz entry(Quiz quiz) {
+        return CachedQuiz.of(quiz, objectMapper);
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    public long getCacheSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Rough retained size in bytes: object headers plus two bytes per char.
+     */
+    static int estimateSize(Quiz quiz) {
+        long size = 128 + length(quiz.getTitle());
+        if (quiz.getQuestions() != null) {
+            for (Question question : quiz.getQuestions()) {
+                size += 96 + length(question.getQuestionText());
+                if (question.getOptions() != null) {
+                    for (String option : question.getOptions()) {
+                        size += 56 + length(option);
+                    }
+                }
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
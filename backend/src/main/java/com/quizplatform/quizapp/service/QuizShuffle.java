@@ -0,0 +1,191 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.ShuffledQuestion;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The order one attempt sees a quiz in, derived entirely from the quiz and
+ * a 64-bit seed: which questions were drawn (poolSize of them), in which
+ * order, and each question's option order. Only the seed is stored with the
+ * attempt; scoring re-derives the same permutation to map answers back.
+ *
+ * The generator is SplitMix64, written out here rather than borrowed from
+ * the JDK so a stored seed yields the same permutation on every JVM.
+ * Option orders are keyed by the quiz's question index, so they do not
+ * depend on which other questions were drawn.
+ *
+ * Views share the quiz's strings and lists; nothing is copied per request.
+ */
+public final class QuizShuffle {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final List<Question> questions;
+    private final long seed;
+    private final boolean shuffleOptions;
+    // displayed position -> index in quiz.questions
+    private final int[] order;
+
+    private QuizShuffle(List<Question> questions, long seed, boolean shuffleOptions, int[] order) {
+        this.questions = questions;
+        this.seed = seed;
+        this.shuffleOptions = shuffleOptions;
+        this.order = order;
+    }
+
+    public static QuizShuffle of(Quiz quiz, long seed) {
+        List<Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : Collections.emptyList();
+        int total = questions.size();
+        int drawn = drawnCount(quiz, total);
+
+        int[] order = identity(total);
+        if (quiz.isShuffleQuestions() || drawn < total) {
+            long state = mix(seed);
+            // Partial Fisher-Yates: the first drawn slots are a uniform sample
+            for (int i = 0; i < drawn; i++) {
+                state += GOLDEN_GAMMA;
+                swap(order, i, i + bounded(mix(state), total - i));
+            }
+            order = Arrays.copyOf(order, drawn);
+            if (!quiz.isShuffleQuestions()) {
+                // Sampled but not shuffled: keep the quiz's own order
+                Arrays.sort(order);
+            }
+        }
+        return new QuizShuffle(questions, seed, quiz.isShuffleOptions(), order);
+    }
+
+    /**
+     * True if attempts at the quiz see something other than its stored
+     * order: shuffled questions or options, or a sample of the questions.
+     * Such a quiz can only be answered through an attempt.
+     */
+    public static boolean isShuffled(Quiz quiz) {
+        int total = quiz.getQuestions() != null ? quiz.getQuestions().size() : 0;
+        return quiz.isShuffleQuestions() || quiz.isShuffleOptions() || drawnCount(quiz, total) < total;
+    }
+
+    static int drawnCount(Quiz quiz, int total) {
+        Integer poolSize = quiz.getPoolSize();
+        return poolSize != null && poolSize > 0 && poolSize < total ? poolSize : total;
+    }
+
+    /** Number of questions the attempt is asked. */
+    public int size() {
+        return order.length;
+    }
+
+    /** Index in quiz.questions of the question shown at position. */
+    public int questionAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Option order for the question shown at position: element i is the
+     * quiz's index of the option shown i-th.
+     */
+    public int[] optionOrder(int position) {
+        int question = order[position];
+        int count = optionCount(question);
+        int[] options = identity(count);
+        if (shuffleOptions) {
+            long state = mix(seed + (question + 1) * GOLDEN_GAMMA);
+            for (int i = count - 1; i > 0; i--) {
+                state += GOLDEN_GAMMA;
+                swap(options, i, bounded(mix(state), i + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * The questions as this attempt shows them. Elements are built when read
+     * and wrap the quiz's own text and options.
+     */
+    public List<ShuffledQuestion> questions() {
+        return new AbstractList<>() {
+            @Override
+            public ShuffledQuestion get(int position) {
+                Question question = questions.get(order[position]);
+                List<String> options = question.getOptions() != null ? question.getOptions() : Collections.emptyList();
+                int[] optionOrder = optionOrder(position);
+                return new ShuffledQuestion(question.getQuestionText(), new AbstractList<>() {
+                    @Override
+                    public String get(int i) {
+                        return options.get(optionOrder[i]);
+                    }
+
+                    @Override
+                    public int size() {
+                        return optionOrder.length;
+                    }
+                });
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * Maps answers given in displayed order back to quiz order, the shape
+     * ScoringService and the stored results expect. Questions that were not
+     * drawn come back as -1; options outside the question's range are kept
+     * as they are, so they still score as wrong.
+     *
+     * @throws IllegalArgumentException if answers does not match size()
+     */
+    public int[] toQuizOrder(int[] answers) {
+        if (answers.length != order.length) {
+            throw new IllegalArgumentException("Expected " + order.length + " answers");
+        }
+        int[] mapped = new int[questions.size()];
+        Arrays.fill(mapped, -1);
+        for (int position = 0; position < order.length; position++) {
+            int answer = answers[position];
+            if (answer >= 0 && shuffleOptions && answer < optionCount(order[position])) {
+                answer = optionOrder(position)[answer];
+            }
+            mapped[order[position]] = answer;
+        }
+        return mapped;
+    }
+
+    private int optionCount(int question) {
+        List<String> options = questions.get(question).getOptions();
+        return options != null ? options.size() : 0;
+    }
+
+    private static int[] identity(int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+
+    // Uniform in [0, bound) from the top 32 bits; bound is at most a quiz's size
+    private static int bounded(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
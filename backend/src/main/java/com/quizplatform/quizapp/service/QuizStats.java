@@ -0,0 +1,145 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running aggregates for one quiz. Each submission updates them in O(questions)
+ * with no allocation; mean and variance use Welford's method, so they stay
+ * numerically stable however many submissions accumulate. Two sets of
+ * aggregates combine with {@link #merge}, which is how folded results and
+ * a node's own recent submissions are put together.
+ */
+final class QuizStats {
+
+    static final int MAX_SCORE = 100;
+
+    private final String quizId;
+    private long count;
+    private double mean;
+    private double m2;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private final long[] scoreHistogram = new long[MAX_SCORE + 1];
+    private long[] questionAttempts = new long[0];
+    private long[] questionCorrect = new long[0];
+
+    QuizStats(String quizId) {
+        this.quizId = quizId;
+    }
+
+    static QuizStats restore(QuizStatsSnapshot snapshot) {
+        QuizStats stats = new QuizStats(snapshot.getQuizId());
+        stats.count = snapshot.getCount();
+        stats.mean = snapshot.getMean();
+        stats.m2 = snapshot.getM2();
+        stats.min = snapshot.getCount() > 0 ? snapshot.getMin() : Integer.MAX_VALUE;
+        stats.max = snapshot.getCount() > 0 ? snapshot.getMax() : Integer.MIN_VALUE;
+        if (snapshot.getScoreHistogram() != null) {
+            System.arraycopy(snapshot.getScoreHistogram(), 0, stats.scoreHistogram, 0,
+                    Math.min(snapshot.getScoreHistogram().length, stats.scoreHistogram.length));
+        }
+        if (snapshot.getQuestionAttempts() != null && snapshot.getQuestionCorrect() != null
+                && snapshot.getQuestionAttempts().length == snapshot.getQuestionCorrect().length) {
+            stats.questionAttempts = snapshot.getQuestionAttempts().clone();
+            stats.questionCorrect = snapshot.getQuestionCorrect().clone();
+        }
+        return stats;
+    }
+
+    synchronized void recordScore(int score) {
+        score = Math.max(0, Math.min(MAX_SCORE, score));
+        count++;
+        double delta = score - mean;
+        mean += delta / count;
+        m2 += delta * (score - mean);
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+        scoreHistogram[score]++;
+    }
+
+    /**
+     * Adds one submission's per-question outcome from its packed answers and
+     * correct mask (see Result). Unanswered questions (-1) do not count as
+     * attempts. Results stored without a mask, or with one that does not
+     * match the answers, are left out.
+     */
+    synchronized void recordAnswers(byte[] answers, byte[] correctMask) {
+        if (answers == null || correctMask == null || correctMask.length != AnswerKey.maskLength(answers.length)) {
+            return;
+        }
+        if (questionAttempts.length != answers.length) {
+            // The quiz's questions changed; old per-question counts no longer apply
+            resetQuestions(answers.length);
+        }
+        for (int i = 0; i < answers.length; i++) {
+            if (answers[i] < 0) {
+                continue;
+            }
+            questionAttempts[i]++;
+            if ((correctMask[i >> 3] & (1 << (i & 7))) != 0) {
+                questionCorrect[i]++;
+            }
+        }
+    }
+
+    synchronized void resetQuestions(int questionCount) {
+        questionAttempts = new long[questionCount];
+        questionCorrect = new long[questionCount];
+    }
+
+    /**
+     * Adds {@code other}, which must cover later submissions than this.
+     * Score aggregates combine exactly (Chan et al. for the variance).
+     * Per-question counts add up when both were kept against the same
+     * number of questions; otherwise the later ones replace these.
+     */
+    synchronized void merge(QuizStats other) {
+        synchronized (other) {
+            if (other.count > 0) {
+                long total = count + other.count;
+                double delta = other.mean - mean;
+                mean += delta * other.count / total;
+                m2 += other.m2 + delta * delta * count * other.count / total;
+                count = total;
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+                for (int score = 0; score <= MAX_SCORE; score++) {
+                    scoreHistogram[score] += other.scoreHistogram[score];
+                }
+            }
+            if (other.questionAttempts.length == questionAttempts.length) {
+                for (int i = 0; i < questionAttempts.length; i++) {
+                    questionAttempts[i] += other.questionAttempts[i];
+                    questionCorrect[i] += other.questionCorrect[i];
+                }
+            } else if (other.questionAttempts.length > 0) {
+                questionAttempts = other.questionAttempts.clone();
+                questionCorrect = other.questionCorrect.clone();
+            }
+        }
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Copies the current state.
+     */
+    synchronized QuizStatsSnapshot snapshot() {
+        QuizStatsSnapshot snapshot = new QuizStatsSnapshot();
+        snapshot.setQuizId(quizId);
+        snapshot.setCount(count);
+        snapshot.setMean(mean);
+        snapshot.setM2(m2);
+        snapshot.setMin(count > 0 ? min : 0);
+        snapshot.setMax(count > 0 ? max : 0);
+        snapshot.setScoreHistogram(scoreHistogram.clone());
+        snapshot.setQuestionAttempts(questionAttempts.clone());
+        snapshot.setQuestionCorrect(questionCorrect.clone());
+        snapshot.setUpdatedAt(LocalDateTime.now());
+        return snapshot;
+    }
+}
@@ -0,0 +1,279 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.QuizStatsRepository;
+import com.quizplatform.quizapp.repository.QuizStatsRepositoryCustom.FoldedStats;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-quiz statistics, kept so the admin dashboard never aggregates over the
+ * results collection on request.
+ *
+ * The results collection stays the record. Every snapshot interval, results
+ * older than the fold lag are folded into "quiz_stats": each document holds
+ * its quiz's results below its foldedTo, and is only replaced while it still
+ * has the position it was read at, so with several nodes folding each result
+ * is counted exactly once. After a fold every node reloads the documents and
+ * serves them combined with its own submissions that are not folded yet;
+ * other nodes' submissions show up once folded. Nothing is lost in a crash,
+ * since the next fold counts from the results, and quizzes without statistics
+ * are picked up the same way. A result inserted more than the fold lag after
+ * it was created (a write-behind journal replayed after a long outage) is
+ * missed.
+ */
+@Service
+public class QuizStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizStatsService.class);
+
+    // Fold positions are whole buckets, so unfolded submissions can be dropped a bucket at a time
+    static final int BUCKET_SECONDS = 10;
+
+    private static final ObjectId FIRST_ID = ObjectId.getSmallestWithDate(new Date(0));
+
+    @Autowired
+    private QuizStatsRepository quizStatsRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Value("${quiz.stats.fold-lag-ms:120000}")
+    private long foldLagMillis;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Folded statistics as last read from quiz_stats; replaced whole after each fold
+    private volatile Map<String, QuizStatsSnapshot> folded = Map.of();
+
+    // Lowest fold position stored; a quiz without statistics is folded from here
+    private volatile ObjectId foldedFrom = FIRST_ID;
+
+    // This node's submissions per quiz that may not be folded yet, by bucket start (epoch seconds)
+    private final Map<String, NavigableMap<Integer, QuizStats>> unfolded = new ConcurrentHashMap<>();
+
+    /**
+     * Folds whatever is due, which on a first start (or after statistics
+     * written before folding) means counting every stored result.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        fold();
+        log.info("Loaded statistics for {} quizzes", folded.size());
+    }
+
+    public void record(Result result) {
+        if (result.getQuizId() == null || result.getId() == null || !ObjectId.isValid(result.getId())) {
+            return;
+        }
+        int bucket = bucketStart(new ObjectId(result.getId()).getTimestamp());
+        QuizStats quizStats = unfolded.computeIfAbsent(result.getQuizId(), id -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucket, start -> new QuizStats(result.getQuizId()));
+        quizStats.recordScore(result.getScore());
+        quizStats.recordAnswers(result.getAnswers(), result.getCorrectMask());
+    }
+
+    /**
+     * Current statistics for a quiz, or null if nobody has submitted it.
+     */
+    public QuizStatsSnapshot get(String quizId) {
+        QuizStatsSnapshot stored = folded.get(quizId);
+        QuizStats quizStats = stored != null ? QuizStats.restore(stored) : new QuizStats(quizId);
+        NavigableMap<Integer, QuizStats> own = unfolded.get(quizId);
+        if (own != null) {
+            for (QuizStats recent : own.tailMap(foldPosition(stored).getTimestamp(), true).values()) {
+                quizStats.merge(recent);
+            }
+        }
+        return stored == null && quizStats.getCount() == 0 ? null : quizStats.snapshot();
+    }
+
+    /**
+     * Recounts per-question accuracy for a quiz from the answer vectors stored
+     * with its results. Unlike {@link #get}, this covers every stored result
+     * graded against the quiz's current version (see QuizVersion); results
+     * from before an edit, or stored without a version, are left out.
+     * Returns null if the quiz does not exist.
+     */
+    public AnswerTally tallyAnswers(String quizId) {
+        CachedQuiz cached = quizService.findCached(quizId);
+        if (cached == null) {
+            return null;
+        }
+        AnswerTally tally = new AnswerTally(cached.getAnswerKey().questionCount());
+        resultRepository.scanAnswers(quizId, cached.getVersion(), tally::add);
+        return tally;
+    }
+
+    /**
+     * Counts results stored since each quiz's fold position, up to the
+     * start of the bucket the fold lag reaches back to, into quiz_stats;
+     * then reloads what is stored and drops this node's submissions that
+     * are now folded.
+     */
+    @Scheduled(fixedDelayString = "${quiz.stats.snapshot-interval-ms:60000}")
+    public synchronized void fold() {
+        try {
+            Map<String, QuizStatsSnapshot> stored = byQuiz(quizStatsRepository.findAll());
+            ObjectId fromId = lowestFoldPosition(stored.values());
+            ObjectId toId = ObjectId.getSmallestWithDate(
+                    new Date(bucketStart((clock.millis() - foldLagMillis) / 1000) * 1000L));
+            if (fromId.compareTo(toId) < 0) {
+                List<FoldedStats> writes = foldResults(stored, fromId, toId);
+                quizStatsRepository.saveFold(writes, fromId, toId);
+                stored = byQuiz(quizStatsRepository.findAll());
+            }
+            reload(stored);
+        } catch (RuntimeException e) {
+            // Nothing is lost; the next fold starts from what is stored
+            log.warn("Could not fold quiz statistics", e);
+        }
+    }
+
+    @EventListener
+    public void onQuizChanged(QuizChangedEvent event) {
+        String quizId = event.getQuizId();
+        NavigableMap<Integer, QuizStats> own = unfolded.get(quizId);
+        if (own != null) {
+            // Per-question rates are meaningless across an edit; they restart on the next submission
+            own.values().forEach(recent -> recent.resetQuestions(0));
+        }
+        QuizStatsSnapshot stored = folded.get(quizId);
+        if (stored == null) {
+            return;
+        }
+        ObjectId fromId = ObjectId.getSmallestWithDate(new Date(clock.millis()));
+        try {
+            quizStatsRepository.resetQuestions(quizId, fromId);
+        } catch (RuntimeException e) {
+            log.warn("Could not reset per-question statistics for quiz {}", quizId, e);
+            return;
+        }
+        QuizStatsSnapshot reset = QuizStats.restore(stored).snapshot();
+        reset.setQuestionAttempts(new long[0]);
+        reset.setQuestionCorrect(new long[0]);
+        reset.setFoldedTo(stored.getFoldedTo());
+        reset.setQuestionsFrom(fromId);
+        Map<String, QuizStatsSnapshot> updated = new HashMap<>(folded);
+        updated.put(quizId, reset);
+        folded = updated;
+    }
+
+    private List<FoldedStats> foldResults(Map<String, QuizStatsSnapshot> stored, ObjectId fromId, ObjectId toId) {
+        Map<String, QuizStats> added = new HashMap<>();
+        long count = 0;
+        try (Stream<Result> results = resultRepository.streamForStats(fromId, toId)) {
+            Iterator<Result> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                Result result = iterator.next();
+                if (result.getQuizId() == null) {
+                    continue;
+                }
+                QuizStatsSnapshot current = stored.get(result.getQuizId());
+                ObjectId id = new ObjectId(result.getId());
+                if (current != null && current.getFoldedTo() != null && id.compareTo(current.getFoldedTo()) < 0) {
+                    continue;
+                }
+                QuizStats quizStats = added.computeIfAbsent(result.getQuizId(), QuizStats::new);
+                quizStats.recordScore(result.getScore());
+                if (current == null || current.getQuestionsFrom() == null || id.compareTo(current.getQuestionsFrom()) >= 0) {
+                    quizStats.recordAnswers(result.getAnswers(), result.getCorrectMask());
+                }
+                count++;
+            }
+        }
+
+        List<FoldedStats> writes = new ArrayList<>();
+        for (Map.Entry<String, QuizStats> entry : added.entrySet()) {
+            QuizStatsSnapshot current = stored.get(entry.getKey());
+            writes.add(folded(entry.getKey(), current, entry.getValue(), toId));
+        }
+        for (QuizStatsSnapshot current : stored.values()) {
+            if (current.getFoldedTo() == null && !added.containsKey(current.getQuizId())) {
+                // Written before folding and no results counted; store it as counted
+                writes.add(folded(current.getQuizId(), current, new QuizStats(current.getQuizId()), toId));
+            }
+        }
+        log.debug("Folded {} results into statistics for {} quizzes", count, added.size());
+        return writes;
+    }
+
+    private static FoldedStats folded(String quizId, QuizStatsSnapshot current, QuizStats added, ObjectId toId) {
+        // Statistics written before folding are recounted rather than added to
+        QuizStats quizStats = current != null && current.getFoldedTo() != null
+                ? QuizStats.restore(current) : new QuizStats(quizId);
+        quizStats.merge(added);
+        QuizStatsSnapshot snapshot = quizStats.snapshot();
+        snapshot.setFoldedTo(toId);
+        ObjectId questionsFrom = current != null ? current.getQuestionsFrom() : null;
+        snapshot.setQuestionsFrom(questionsFrom);
+        return new FoldedStats(snapshot, current != null ? current.getFoldedTo() : null, questionsFrom);
+    }
+
+    private void reload(Map<String, QuizStatsSnapshot> stored) {
+        folded = stored;
+        foldedFrom = lowestFoldPosition(stored.values());
+        for (Iterator<Map.Entry<String, NavigableMap<Integer, QuizStats>>> iterator = unfolded.entrySet().iterator();
+             iterator.hasNext(); ) {
+            Map.Entry<String, NavigableMap<Integer, QuizStats>> entry = iterator.next();
+            entry.getValue().headMap(foldPosition(stored.get(entry.getKey())).getTimestamp()).clear();
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private ObjectId foldPosition(QuizStatsSnapshot stored) {
+        return stored != null && stored.getFoldedTo() != null ? stored.getFoldedTo() : foldedFrom;
+    }
+
+    private static ObjectId lowestFoldPosition(Collection<QuizStatsSnapshot> stored) {
+        ObjectId lowest = null;
+        for (QuizStatsSnapshot snapshot : stored) {
+            if (snapshot.getFoldedTo() == null) {
+                return FIRST_ID;
+            }
+            if (lowest == null || snapshot.getFoldedTo().compareTo(lowest) < 0) {
+                lowest = snapshot.getFoldedTo();
+            }
+        }
+        return lowest != null ? lowest : FIRST_ID;
+    }
+
+    private static Map<String, QuizStatsSnapshot> byQuiz(List<QuizStatsSnapshot> snapshots) {
+        Map<String, QuizStatsSnapshot> byQuiz = new HashMap<>();
+        for (QuizStatsSnapshot snapshot : snapshots) {
+            byQuiz.put(snapshot.getQuizId(), snapshot);
+        }
+        return byQuiz;
+    }
+
+    private static int bucketStart(long epochSeconds) {
+        return (int) (epochSeconds - Math.floorMod(epochSeconds, BUCKET_SECONDS));
+    }
+}
@@ -0,0 +1,69 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fingerprint of everything an answer vector depends on: the questions,
+ * their options and correct options, and the shuffle settings that decide
+ * which questions an attempt is asked and in what order. Title and duration
+ * are left out, so renaming a quiz keeps its version.
+ *
+ * Attempts record the version they started on and results the version they
+ * were graded against; answers recorded under another version no longer
+ * line up with the quiz and are not scored or tallied against it.
+ */
+public final class QuizVersion {
+
+    private QuizVersion() {
+    }
+
+    public static long of(Quiz quiz) {
+        MessageDigest digest = sha256();
+        List<Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : Collections.emptyList();
+        update(digest, questions.size());
+        for (Question question : questions) {
+            update(digest, question.getQuestionText());
+            List<String> options = question.getOptions() != null ? question.getOptions() : Collections.emptyList();
+            update(digest, options.size());
+            for (String option : options) {
+                update(digest, option);
+            }
+            update(digest, question.getCorrectOption());
+        }
+        update(digest, quiz.isShuffleQuestions() ? 1 : 0);
+        update(digest, quiz.isShuffleOptions() ? 1 : 0);
+        update(digest, QuizShuffle.drawnCount(quiz, questions.size()));
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static void update(MessageDigest digest, int value) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    // Length-prefixed, so adjacent strings cannot run into each other; null differs from ""
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            update(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
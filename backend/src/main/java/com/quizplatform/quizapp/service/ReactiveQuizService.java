@@ -0,0 +1,57 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.repository.ReactiveQuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking reads and writes for the reactive handlers. Shares the quiz
+ * cache with {@link QuizService}; misses are loaded through the reactive
+ * repository instead of the cache's blocking loader.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveQuizService {
+
+    @Autowired
+    private ReactiveQuizRepository reactiveQuizRepository;
+
+    @Autowired
+    private QuizService quizService;
+
+    public Mono<Quiz> findById(String id) {
+        return findCached(id).map(CachedQuiz::getQuiz);
+    }
+
+    public Mono<CachedQuiz> findCached(String id) {
+        CachedQuiz cached = quizService.getIfCached(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return reactiveQuizRepository.findById(id).map(quizService::cache);
+    }
+
+    public Mono<Map<String, QuizSummary>> findSummaries(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(new HashMap<>());
+        }
+        return reactiveQuizRepository.findSummariesByIdIn(ids)
+                .collectMap(QuizSummary::getId, summary -> summary, HashMap::new);
+    }
+
+    public Mono<Quiz> save(Quiz quiz) {
+        // changed() writes the shared catalog version with the blocking driver
+        return reactiveQuizRepository.save(quiz)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(saved -> quizService.changed(saved.getId()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes results straight from a Mongo cursor to an output stream, one row
+ * at a time. Memory use is one cursor batch plus the writer's buffer no
+ * matter how many results match. A slow client blocks the write, and the
+ * cursor is not advanced until it catches up.
+ */
+@Service
+public class ResultExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Case-insensitive lookup by extension; null if unsupported.
+         */
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final String CSV_HEADER = "id,userId,quizId,score,submittedAt\n";
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Exports matching results and returns the number of rows written. The
+     * time bounds (from inclusive, to exclusive) may be null.
+     */
+    public long export(Format format, String quizId, Instant from, Instant to, OutputStream out) throws IOException {
+        try (Stream<Result> results = resultRepository.streamForExport(quizId, lowerBound(from), lowerBound(to))) {
+            Iterator<Result> iterator = results.iterator();
+            return format == Format.CSV ? writeCsv(iterator, out) : writeNdjson(iterator, out);
+        }
+    }
+
+    private long writeNdjson(Iterator<Result> results, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (results.hasNext()) {
+                Result result = results.next();
+                generator.writeStartObject();
+                generator.writeStringField("id", result.getId());
+                generator.writeStringField("userId", result.getUserId());
+                generator.writeStringField("quizId", result.getQuizId());
+                generator.writeNumberField("score", result.getScore());
+                generator.writeStringField("submittedAt", submittedAt(result));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Result> results, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        while (results.hasNext()) {
+            Result result = results.next();
+            writeCsvField(writer, result.getId());
+            writer.write(',');
+            writeCsvField(writer, result.getUserId());
+            writer.write(',');
+            writeCsvField(writer, result.getQuizId());
+            writer.write(',');
+            writer.write(Integer.toString(result.getScore()));
+            writer.write(',');
+            writeCsvField(writer, submittedAt(result));
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Results carry no timestamp field; the ObjectId records when the row was inserted
+    private static String submittedAt(Result result) {
+        if (result.getId() == null || !ObjectId.isValid(result.getId())) {
+            return null;
+        }
+        return new ObjectId(result.getId()).getDate().toInstant().toString();
+    }
+
+    /**
+     * The smallest ObjectId created at the given second, so that
+     * {@code _id >= lowerBound(t)} means "created at or after t".
+     */
+    static ObjectId lowerBound(Instant instant) {
+        if (instant == null) {
+            return null;
+        }
+        return new ObjectId(String.format("%08x0000000000000000", Math.max(0, instant.getEpochSecond())));
+    }
+}
@@ -0,0 +1,246 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of accepted submissions, split into numbered
+ * segment files. Each record is [length][crc32][json]. A segment is deleted
+ * once every record in it has reached MongoDB; whatever is left on disk at
+ * startup is replayed.
+ *
+ * Appends are group committed: a thread that finds another thread's fsync
+ * already covering its bytes returns without forcing again, so a burst of
+ * concurrent submissions costs a handful of fsyncs rather than one each.
+ */
+class ResultJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultJournal.class);
+
+    private static final String PREFIX = "results-";
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+
+    // Own mapper, so the on-disk format does not follow web JSON settings
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    private final long segmentBytes;
+    private final AtomicLong syncCount = new AtomicLong();
+
+    private Segment current;
+    private long nextSequence = 1;
+
+    ResultJournal(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads the segments a previous run left behind, oldest first, and opens
+     * a fresh segment for new appends. The recovered segments are sealed and
+     * are deleted once their records are released.
+     */
+    synchronized List<Recovered> recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> sequenceOf(path) > 0)
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+
+        List<Recovered> recovered = new ArrayList<>();
+        for (Path file : files) {
+            nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+            List<Result> results = read(file);
+            Segment segment = new Segment(file, null);
+            segment.pending.set(results.size());
+            segment.seal();
+            if (!results.isEmpty()) {
+                recovered.add(new Recovered(segment, results));
+            }
+        }
+        current = newSegment();
+        return recovered;
+    }
+
+    /**
+     * Appends and fsyncs one result. Returns the segment holding it, to be
+     * released once the result is in MongoDB.
+     */
+    Segment append(Result result) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(result);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+        Segment segment;
+        long end;
+        synchronized (this) {
+            if (current.size >= segmentBytes) {
+                current.seal();
+                current = newSegment();
+            }
+            segment = current;
+            end = segment.write(record);
+            segment.pending.incrementAndGet();
+        }
+        try {
+            segment.sync(end);
+        } catch (IOException e) {
+            segment.release(1);
+            throw e;
+        }
+        return segment;
+    }
+
+    /**
+     * Starts a new segment when everything in the current one has been
+     * released, so a drained journal does not keep replayable data around.
+     */
+    synchronized void rollIfDrained() throws IOException {
+        if (current.size > 0 && current.pending.get() == 0) {
+            current.seal();
+            current = newSegment();
+        }
+    }
+
+    long getSyncCount() {
+        return syncCount.get();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private Segment newSegment() throws IOException {
+        Path file = directory.resolve(PREFIX + String.format("%012d", nextSequence++) + SUFFIX);
+        return new Segment(file, FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    private List<Result> read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<Result> results = new ArrayList<>();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            results.add(objectMapper.readValue(payload, Result.class));
+        }
+        if (buffer.hasRemaining()) {
+            // A torn write at the tail: that submission was never acknowledged
+            log.warn("Ignoring {} trailing bytes in {}", buffer.remaining(), file.getFileName());
+        }
+        return results;
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    record Recovered(Segment segment, List<Result> results) {
+    }
+
+    final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Object syncLock = new Object();
+        private volatile long size;
+        private long synced;
+        private boolean sealed;
+        private boolean deleted;
+
+        private Segment(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        // Called with the journal lock held
+        private long write(ByteBuffer record) throws IOException {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            size += record.limit();
+            return size;
+        }
+
+        private void sync(long end) throws IOException {
+            synchronized (syncLock) {
+                if (synced >= end) {
+                    return;
+                }
+                long target = size;
+                channel.force(false);
+                synced = target;
+                syncCount.incrementAndGet();
+            }
+        }
+
+        void release(int count) {
+            pending.addAndGet(-count);
+            deleteIfDone();
+        }
+
+        private synchronized void seal() {
+            sealed = true;
+            deleteIfDone();
+        }
+
+        private synchronized void deleteIfDone() {
+            if (!sealed || deleted || pending.get() > 0) {
+                return;
+            }
+            deleted = true;
+            try {
+                close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+
+        private void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
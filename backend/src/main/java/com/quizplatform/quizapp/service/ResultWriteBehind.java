@@ -0,0 +1,281 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.exception.SubmissionBacklogException;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for result submissions. A submission is acknowledged
+ * once it is fsynced to the local {@link ResultJournal}; a single flusher
+ * thread then coalesces buffered results into unordered insertMany batches,
+ * bounded by size and by how long the oldest result may wait. Journal
+ * segments left over from a crash are replayed at startup.
+ *
+ * Result ids are assigned before journaling, so a replayed result that did
+ * reach MongoDB before the crash is recognised as a duplicate and skipped.
+ *
+ * Results with a submission key bypass the buffer and are inserted before
+ * they are acknowledged: the unique (userId, submissionKey) index is the
+ * only check that holds across nodes and restarts, and it can only reject
+ * a duplicate while the client is still waiting for the answer.
+ */
+@Service
+public class ResultWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultWriteBehind.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final long segmentBytes;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final int capacity;
+
+    private final BlockingQueue<Entry> buffer = new LinkedBlockingQueue<>();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private ResultJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong recordCount = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong lagNanos = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    public ResultWriteBehind(@Value("${results.write-behind.enabled:false}") boolean enabled,
+                             @Value("${results.write-behind.journal-dir:data/result-journal}") String journalDirectory,
+                             @Value("${results.write-behind.segment-bytes:16777216}") long segmentBytes,
+                             @Value("${results.write-behind.batch-size:500}") int batchSize,
+                             @Value("${results.write-behind.max-delay-ms:200}") long maxDelayMs,
+                             @Value("${results.write-behind.capacity:20000}") int capacity) {
+        this.enabled = enabled;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.segmentBytes = segmentBytes;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.capacity = capacity;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new ResultJournal(journalDirectory, segmentBytes);
+        long now = System.nanoTime();
+        for (ResultJournal.Recovered recovered : journal.recover()) {
+            for (Result result : recovered.results()) {
+                buffer.add(new Entry(result, recovered.segment(), now));
+            }
+            backlog.addAndGet(recovered.results().size());
+            replayedCount.addAndGet(recovered.results().size());
+        }
+        if (replayedCount.get() > 0) {
+            log.info("Replaying {} journaled results from {}", replayedCount.get(), journalDirectory);
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "result-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        if (!enabled || flusher == null) {
+            return;
+        }
+        // Drain what we can; anything still buffered stays in the journal for the next start
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a scored result and gives it an id. With write-behind enabled
+     * the result is durable in the journal when this returns and reaches
+     * MongoDB in a later batch; otherwise, or if it has a submission key,
+     * it is inserted directly.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if a result with
+     *         the same user and submission key is already stored
+     * @throws SubmissionBacklogException if the backlog is at capacity
+     */
+    public Result submit(Result result) {
+        if (!enabled || result.getSubmissionKey() != null) {
+            return resultRepository.insert(result);
+        }
+        if (backlog.incrementAndGet() > capacity) {
+            backlog.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            throw new SubmissionBacklogException("Too many submissions pending, try again shortly");
+        }
+
+        result.setId(new ObjectId().toHexString());
+        ResultJournal.Segment segment;
+        try {
+            segment = journal.append(result);
+        } catch (IOException e) {
+            backlog.decrementAndGet();
+            throw new UncheckedIOException("Could not journal result", e);
+        }
+        buffer.add(new Entry(result, segment, System.nanoTime()));
+        return result;
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Wait for the batch to fill, but never hold the oldest result past maxDelay
+                long deadline = first.enqueuedNanos() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | IOException e) {
+                log.error("Result write-behind flusher error", e);
+            }
+        }
+    }
+
+    // Retries until the batch is written; gives up only on shutdown, leaving it to the journal
+    private void flush(List<Entry> batch) throws InterruptedException, IOException {
+        List<Result> results = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            results.add(entry.result());
+        }
+
+        long backoffMs = 100;
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                resultRepository.insertIgnoringDuplicates(results);
+            } catch (DataAccessException e) {
+                failedFlushCount.incrementAndGet();
+                if (!running) {
+                    log.warn("Leaving {} results in the journal after failed flush during shutdown", batch.size());
+                    return;
+                }
+                log.warn("Flushing {} results failed, retrying in {} ms: {}", batch.size(), backoffMs, e.getMessage());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+                continue;
+            }
+
+            long end = System.nanoTime();
+            flushNanos.addAndGet(end - start);
+            batchCount.incrementAndGet();
+            recordCount.addAndGet(batch.size());
+            lastBatchSize = batch.size();
+
+            Map<ResultJournal.Segment, Integer> perSegment = new IdentityHashMap<>();
+            long lag = 0;
+            for (Entry entry : batch) {
+                lag += end - entry.enqueuedNanos();
+                perSegment.merge(entry.segment(), 1, Integer::sum);
+            }
+            lagNanos.addAndGet(lag);
+            perSegment.forEach(ResultJournal.Segment::release);
+            backlog.addAndGet(-batch.size());
+            journal.rollIfDrained();
+            return;
+        }
+    }
+
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    public long getFlushNanos() {
+        return flushNanos.get();
+    }
+
+    public long getLagNanos() {
+        return lagNanos.get();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    public long getJournalSyncCount() {
+        return journal == null ? 0 : journal.getSyncCount();
+    }
+
+    private record Entry(Result result, ResultJournal.Segment segment, long enqueuedNanos) {
+    }
+}
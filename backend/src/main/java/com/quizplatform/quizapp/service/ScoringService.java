@@ -0,0 +1,107 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Grades submissions against answer keys taken from the {@link QuizService}
+ * cache entry of the quiz (see CachedQuiz), so a key lives exactly as long
+ * as the cached quiz: bounded by its size limit, gone after its TTL, and
+ * dropped with it when the quiz is written.
+ */
+@Service
+public class ScoringService {
+
+    @Autowired
+    private QuizService quizService;
+
+    public AnswerKey getAnswerKey(String quizId) {
+        CachedQuiz cached = quizService.findCached(quizId);
+        return cached != null ? cached.getAnswerKey() : null;
+    }
+
+    /**
+     * Grades a raw answer vector. Returns -1 if the quiz does not exist and
+     * throws if the vector does not match the quiz's question count, or if
+     * the quiz may only be taken as an attempt.
+     */
+    public int score(String quizId, int[] answers) {
+        if (quizId == null) {
+            throw new IllegalArgumentException("quizId is required");
+        }
+        CachedQuiz cached = quizService.findCached(quizId);
+        if (cached == null) {
+            return -1;
+        }
+        requireUnshuffled(cached.getQuiz());
+        return score(cached.getAnswerKey(), answers);
+    }
+
+    /**
+     * Grades against a quiz the caller has already loaded, so a missing
+     * answer key never triggers a blocking lookup.
+     */
+    public int score(Quiz quiz, int[] answers) {
+        requireUnshuffled(quiz);
+        return score(answerKey(quiz), answers);
+    }
+
+    /**
+     * Grades an attempt that was asked only some of the quiz's questions.
+     * answers is in quiz order with -1 for questions not asked, and the
+     * score is out of asked.
+     */
+    public int score(Quiz quiz, int[] answers, int asked) {
+        AnswerKey key = answerKey(quiz);
+        validate(key, answers);
+        return key.score(answers, asked);
+    }
+
+    // The cached key when the caller holds the cached quiz, which it normally does
+    private AnswerKey answerKey(Quiz quiz) {
+        CachedQuiz cached = quizService.getIfCached(quiz.getId());
+        return cached != null && cached.getQuiz() == quiz ? cached.getAnswerKey() : AnswerKey.of(quiz);
+    }
+
+    // Answers in the stored order would let a client skip the sample and the shuffle
+    private static void requireUnshuffled(Quiz quiz) {
+        if (QuizShuffle.isShuffled(quiz)) {
+            throw new IllegalArgumentException("This quiz can only be taken as a timed attempt");
+        }
+    }
+
+    private static int score(AnswerKey key, int[] answers) {
+        validate(key, answers);
+        return key.score(answers);
+    }
+
+    private static void validate(AnswerKey key, int[] answers) {
+        if (answers == null || answers.length != key.questionCount()) {
+            throw new IllegalArgumentException("Expected " + key.questionCount() + " answers");
+        }
+        // Answers are stored a byte each, like the key
+        for (int answer : answers) {
+            if (answer < -1 || answer > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid option: " + answer);
+            }
+        }
+    }
+
+    /**
+     * Stores already scored answers on the result in packed form, with the
+     * quiz version the correct mask was taken from. Only the cached key is
+     * consulted, so this never blocks; if the quiz changed in between, the
+     * result keeps its answers without a correctMask or version.
+     */
+    public void attachAnswers(Result result, int[] answers) {
+        result.setAnswers(AnswerKey.pack(answers));
+        CachedQuiz cached = quizService.getIfCached(result.getQuizId());
+        AnswerKey key = cached != null ? cached.getAnswerKey() : null;
+        if (key != null && key.questionCount() == answers.length) {
+            result.setCorrectMask(key.correctMask(answers));
+            result.setQuizVersion(cached.getVersion());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.quizplatform.quizapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recently seen submission idempotency keys with the score they were given,
+ * so a retried submission is answered from memory without scoring or writing
+ * again. Bounded and best effort: the unique index on results (userId,
+ * submissionKey) is what guarantees one result per key across restarts and
+ * nodes.
+ */
+@Service
+public class SubmissionKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final Cache<String, Integer> recent;
+    private final AtomicLong duplicateCount = new AtomicLong();
+
+    public SubmissionKeys(@Value("${results.idempotency.max-keys:100000}") long maxKeys,
+                          @Value("${results.idempotency.ttl-hours:24}") long ttlHours) {
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+    }
+
+    public static boolean isValid(String key) {
+        return !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * Claims a key for a user's submission. Returns null if the key is new,
+     * otherwise the score recorded for the earlier submission with that key.
+     */
+    public Integer claim(String userId, String key, int score) {
+        Integer previous = recent.asMap().putIfAbsent(cacheKey(userId, key), score);
+        if (previous != null) {
+            duplicateCount.incrementAndGet();
+        }
+        return previous;
+    }
+
+    /**
+     * Forgets a claim whose write failed, so the client's retry is accepted.
+     */
+    public void release(String userId, String key) {
+        recent.invalidate(cacheKey(userId, key));
+    }
+
+    /**
+     * Records the score stored for a key this node had not seen, so further
+     * retries are answered from memory.
+     */
+    public void remember(String userId, String key, int score) {
+        recent.put(cacheKey(userId, key), score);
+    }
+
+    public void countDuplicate() {
+        duplicateCount.incrementAndGet();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    public long getSize() {
+        return recent.estimatedSize();
+    }
+
+    private static String cacheKey(String userId, String key) {
+        return userId + '\u0000' + key;
+    }
+}
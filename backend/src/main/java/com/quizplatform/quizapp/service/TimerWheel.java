@@ -0,0 +1,77 @@
+package com.quizplatform.quizapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: deadlines are rounded up to a tick and dropped into
+ * slot (tick % slots), so scheduling is O(1) and each tick only looks at one
+ * slot. Entries further out than one revolution share a slot with nearer
+ * ones and simply stay there until their own tick comes round.
+ *
+ * There is no cancel; callers check on expiry whether the item still
+ * matters, which keeps the wheel free of per-item bookkeeping.
+ */
+final class TimerWheel<T> {
+
+    private record Entry<T>(T item, long tick) {
+    }
+
+    private final long tickMillis;
+    private final List<Entry<T>>[] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("tickMillis and slotCount must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules item to come out of {@link #advance} once the clock reaches
+     * deadlineMillis. Deadlines already passed fire on the next tick.
+     */
+    synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        slots[(int) (tick % slots.length)].add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to nowMillis and returns every item whose
+     * deadline has been reached, in no particular order.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        // After a long pause one full revolution visits every slot
+        long from = Math.max(currentTick + 1, target - slots.length + 1);
+        for (long tick = from; tick <= target; tick++) {
+            List<Entry<T>> slot = slots[(int) (tick % slots.length)];
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                Entry<T> entry = slot.get(i);
+                if (entry.tick() <= target) {
+                    expired.add(entry.item());
+                    // Order within a slot does not matter, so swap-remove
+                    slot.set(i, slot.get(slot.size() - 1));
+                    slot.remove(slot.size() - 1);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, target);
+        size -= expired.size();
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
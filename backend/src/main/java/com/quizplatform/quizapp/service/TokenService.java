@@ -0,0 +1,131 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed tokens of the form
+ * base64url(claims).base64url(signature). Verification needs only the shared
+ * secret, so any node behind a load balancer can authenticate a request
+ * without a session store or a database lookup.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    // Mac instances are not thread-safe; keep one per request thread
+    private final ThreadLocal<Mac> mac;
+
+    public TokenService(@Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl-minutes:480}") long ttlMinutes) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("auth.token.secret is not set; using a random per-process key. "
+                    + "Tokens will not survive a restart or be accepted by other nodes.");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(AuthPrincipal principal) {
+        Claims claims = new Claims();
+        claims.setSub(principal.getId());
+        claims.setUsr(principal.getUsername());
+        claims.setRol(principal.getRole());
+        claims.setEml(principal.getEmail());
+        claims.setExp(Instant.now().plus(ttl).getEpochSecond());
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + ENCODER.encodeToString(sign(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to issue token", e);
+        }
+    }
+
+    /**
+     * Returns the principal carried by a valid, unexpired token, or null.
+     */
+    public AuthPrincipal verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            Claims claims = objectMapper.readValue(DECODER.decode(payload), Claims.class);
+            if (claims.getExp() < Instant.now().getEpochSecond()) {
+                return null;
+            }
+            AuthPrincipal principal = new AuthPrincipal();
+            principal.setId(claims.getSub());
+            principal.setUsername(claims.getUsr());
+            principal.setRole(claims.getRol());
+            principal.setEmail(claims.getEml());
+            return principal;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    // Short claim names keep the token small enough for a header on every request
+    @Data
+    static class Claims {
+        private String sub;
+        private String usr;
+        private String rol;
+        private String eml;
+        private long exp;
+    }
+}
@@ -2,18 +2,25 @@ package com.quizplatform.quizapp.service;
 
 import com.quizplatform.quizapp.model.User;
 import com.quizplatform.quizapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginHashPool loginHashPool;
 
     public String registerUser(User user) {
         if (userRepository.findByUsername(user.getUsername()) != null) {
@@ -36,12 +43,33 @@ public class UserService {
         return "User registered successfully";
     }
 
+    /**
+     * Verifies the password on the login hash pool, which may throw
+     * LoginCapacityException under load. A hash stored with an outdated
+     * encoder or cost is rehashed in the background after a successful login.
+     */
     public User loginUser(String username, String password) {
         User existing = userRepository.findByUsername(username);
-        if (existing != null && passwordEncoder.matches(password, existing.getPassword())) {
-            return existing;
+        if (existing == null) {
+            return null;
+        }
+        String storedHash = existing.getPassword();
+        if (!loginHashPool.call(() -> passwordEncoder.matches(password, storedHash))) {
+            return null;
+        }
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            // Best effort: if the pool is busy the upgrade waits for the next login
+            loginHashPool.tryExecute(() -> rehash(existing.getId(), storedHash, password));
+        }
+        return existing;
+    }
+
+    private void rehash(String userId, String storedHash, String password) {
+        try {
+            userRepository.replacePasswordHash(userId, storedHash, passwordEncoder.encode(password));
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade password hash for user {}", userId, e);
         }
-        return null;
     }
 
     public User findByUsername(String username) {
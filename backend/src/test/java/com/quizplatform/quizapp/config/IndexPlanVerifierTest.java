@@ -0,0 +1,117 @@
+package com.quizplatform.quizapp.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexPlanVerifierTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private IndexPlanVerifier indexPlanVerifier;
+
+    private static Document explainWith(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private static Document indexedPlan() {
+        return new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN").append("indexName", "userId_id"));
+    }
+
+    private static Document collscanWithSort() {
+        return new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN"));
+    }
+
+    private boolean isResultsQuery(Document command) {
+        return "results".equals(((Document) command.get("explain")).get("find"));
+    }
+
+    @Test
+    void testVerify_AllIndexed() {
+        // Given
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(explainWith(indexedPlan()));
+
+        // When
+        List<String> problems = indexPlanVerifier.verify();
+
+        // Then
+        assertTrue(problems.isEmpty());
+        verify(mongoTemplate, times(IndexPlanVerifier.SHAPES.size())).executeCommand(any(Document.class));
+    }
+
+    @Test
+    void testVerify_ReportsCollscanAndSort() {
+        // Given
+        when(mongoTemplate.executeCommand(any(Document.class))).thenAnswer(invocation ->
+                isResultsQuery(invocation.getArgument(0)) ? explainWith(collscanWithSort()) : explainWith(indexedPlan()));
+
+        // When
+        List<String> problems = indexPlanVerifier.verify();
+
+        // Then
+        assertFalse(problems.isEmpty());
+        assertTrue(problems.stream().allMatch(p -> p.contains("on results uses [COLLSCAN, SORT]")));
+    }
+
+    @Test
+    void testVerify_FindsStagesInNestedPlans() {
+        // Given: sharded plans nest the per-shard plan under "shards"
+        Document sharded = new Document("stage", "SINGLE_SHARD")
+                .append("shards", List.of(new Document("winningPlan", new Document("stage", "COLLSCAN"))));
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(explainWith(sharded));
+
+        // When
+        List<String> problems = indexPlanVerifier.verify();
+
+        // Then
+        assertEquals(IndexPlanVerifier.SHAPES.size(), problems.size());
+    }
+
+    @Test
+    void testRun_FailModeStopsStartup() {
+        // Given
+        ReflectionTestUtils.setField(indexPlanVerifier, "mode", "fail");
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(explainWith(collscanWithSort()));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> indexPlanVerifier.run());
+    }
+
+    @Test
+    void testRun_WarnModeContinues() {
+        // Given
+        ReflectionTestUtils.setField(indexPlanVerifier, "mode", "warn");
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(explainWith(collscanWithSort()));
+
+        // When / Then
+        assertDoesNotThrow(() -> indexPlanVerifier.run());
+    }
+
+    @Test
+    void testRun_OffSkipsExplain() {
+        // Given
+        ReflectionTestUtils.setField(indexPlanVerifier, "mode", "off");
+
+        // When
+        indexPlanVerifier.run();
+
+        // Then
+        verify(mongoTemplate, never()).executeCommand(any(Document.class));
+    }
+}
@@ -0,0 +1,56 @@
+package com.quizplatform.quizapp.config;
+
+import com.quizplatform.quizapp.service.LoginHashPool;
+import com.quizplatform.quizapp.service.MailDispatcher;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private MailDispatcher mailDispatcher;
+
+    @Mock
+    private LoginHashPool loginHashPool;
+
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+
+    @Test
+    void testMailDispatchMetrics_ReadOnScrape() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricsConfig.mailDispatchMetrics(mailDispatcher).bindTo(registry);
+        when(mailDispatcher.getQueueDepth()).thenReturn(7);
+        when(mailDispatcher.getRejectedCount()).thenReturn(2L);
+
+        // When / Then
+        assertEquals(7.0, registry.get("mail.dispatch.queue.depth").gauge().value());
+        assertEquals(2.0, registry.get("mail.dispatch.rejected").functionCounter().count());
+    }
+
+    @Test
+    void testLoginHashMetrics_TimerFromPoolCounters() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metricsConfig.loginHashMetrics(loginHashPool).bindTo(registry);
+        when(loginHashPool.getTaskCount()).thenReturn(4L);
+        when(loginHashPool.getTaskNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(400));
+
+        // When
+        FunctionTimer timer = registry.get("auth.login.hash").functionTimer();
+
+        // Then
+        assertEquals(4.0, timer.count());
+        assertEquals(100.0, timer.mean(TimeUnit.MILLISECONDS), 1e-9);
+    }
+}
@@ -0,0 +1,103 @@
+package com.quizplatform.quizapp.config;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.quizplatform.quizapp.model.Otp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OtpIndexMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> otps;
+
+    @Mock
+    private ListIndexesIterable<Document> indexes;
+
+    @Mock
+    private AggregateIterable<Document> duplicates;
+
+    @InjectMocks
+    private OtpIndexMigration otpIndexMigration;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Otp.class)).thenReturn("otps");
+        when(mongoTemplate.getCollection("otps")).thenReturn(otps);
+        when(otps.listIndexes()).thenReturn(indexes);
+        when(otps.aggregate(anyList())).thenReturn(duplicates);
+    }
+
+    private static void returnInto(MongoIterable<Document> iterable, List<Document> docs) {
+        when(iterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(docs);
+            return target;
+        });
+    }
+
+    @Test
+    void testMigrate_DropsLegacyIndexDedupesAndCreatesUnique() {
+        // Given
+        returnInto(indexes, List.of(
+                new Document("name", "_id_").append("key", new Document("_id", 1)),
+                new Document("name", "email").append("key", new Document("email", 1))));
+        returnInto(duplicates, List.of(
+                new Document("_id", "a@example.com").append("ids", List.of("newest", "older", "oldest")).append("count", 3)));
+        when(otps.deleteMany(any(Bson.class))).thenReturn(DeleteResult.acknowledged(2));
+
+        // When
+        otpIndexMigration.migrate();
+
+        // Then
+        verify(otps).dropIndex("email");
+        verify(otps, never()).dropIndex("_id_");
+        verify(otps).deleteMany(any(Bson.class));
+        ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(otps).createIndex(any(Bson.class), options.capture());
+        assertEquals(OtpIndexMigration.EMAIL_INDEX, options.getValue().getName());
+        assertTrue(options.getValue().isUnique());
+    }
+
+    @Test
+    void testMigrate_AlreadyMigrated() {
+        // Given
+        returnInto(indexes, List.of(
+                new Document("name", OtpIndexMigration.EMAIL_INDEX)
+                        .append("key", new Document("email", 1)).append("unique", true)));
+        returnInto(duplicates, List.of());
+
+        // When
+        otpIndexMigration.migrate();
+
+        // Then
+        verify(otps, never()).dropIndex(anyString());
+        verify(otps, never()).deleteMany(any(Bson.class));
+        verify(otps).createIndex(any(Bson.class), any(IndexOptions.class));
+    }
+}
@@ -0,0 +1,51 @@
+package com.quizplatform.quizapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Test
+    void testFactory_CreatesNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        // When
+        Thread thread = VirtualThreads.factory("test-vt-").newThread(() -> { });
+
+        // Then
+        assertTrue(isVirtual(thread));
+        assertEquals("test-vt-0", thread.getName());
+    }
+
+    @Test
+    void testThreadPerTaskExecutor_RunsOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        // Given
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-vt-");
+
+        // When
+        boolean virtual = executor.submit(() -> isVirtual(Thread.currentThread())).get(2, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertTrue(virtual);
+    }
+
+    @Test
+    void testFactory_FailsFastOnOlderRuntime() {
+        assumeTrue(!VirtualThreads.isSupported());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.factory("test-vt-"));
+    }
+}
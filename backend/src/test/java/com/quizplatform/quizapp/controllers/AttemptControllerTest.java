@@ -0,0 +1,134 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.Attempt;
+import com.quizplatform.quizapp.model.AttemptAnswer;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.service.AttemptService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptControllerTest {
+
+    @Mock
+    private AttemptService attemptService;
+
+    @InjectMocks
+    private AttemptController attemptController;
+
+    private AuthPrincipal studentUser;
+
+    @BeforeEach
+    void setUp() {
+        studentUser = new AuthPrincipal();
+        studentUser.setId("2");
+        studentUser.setUsername("student");
+        studentUser.setRole("STUDENT");
+    }
+
+    private Attempt attempt(boolean finished) {
+        Attempt attempt = new Attempt();
+        attempt.setId("a1");
+        attempt.setUserId("2");
+        attempt.setQuizId("quiz1");
+        attempt.setAnswers(new byte[] {1, -1});
+        attempt.setStartedAt(Instant.now());
+        attempt.setDeadline(Instant.now().plusSeconds(90));
+        attempt.setFinished(finished);
+        attempt.setScore(finished ? 50 : null);
+        return attempt;
+    }
+
+    @Test
+    void testStartAttempt_ReturnsServerCountdown() {
+        // Given
+        when(attemptService.start("2", "quiz1")).thenReturn(attempt(false));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.startAttempt(Map.of("quizId", "quiz1"), studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("a1", response.getBody().get("id"));
+        assertArrayEquals(new int[] {1, -1}, (int[]) response.getBody().get("answers"));
+        long remaining = (Long) response.getBody().get("remainingSeconds");
+        assertTrue(remaining > 85 && remaining <= 90);
+    }
+
+    @Test
+    void testStartAttempt_RequiresLogin() {
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.startAttempt(Map.of("quizId", "quiz1"), null);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(attemptService);
+    }
+
+    @Test
+    void testSaveAnswer_ClosedAttemptConflict() {
+        // Given
+        AttemptAnswer answer = new AttemptAnswer();
+        answer.setQuestion(0);
+        answer.setAnswer(1);
+        when(attemptService.answer("2", "a1", 0, 1)).thenReturn(AttemptService.AnswerOutcome.CLOSED);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.saveAnswer("a1", answer, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void testSaveAnswer_InvalidQuestion() {
+        // Given
+        AttemptAnswer answer = new AttemptAnswer();
+        answer.setQuestion(9);
+        when(attemptService.answer("2", "a1", 9, 0)).thenThrow(new IllegalArgumentException("Question must be between 0 and 1"));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.saveAnswer("a1", answer, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testFinishAttempt_ReturnsScore() {
+        // Given
+        when(attemptService.finish("2", "a1", null)).thenReturn(attempt(true));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.finishAttempt("a1", null, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(50, response.getBody().get("score"));
+        assertEquals(0L, response.getBody().get("remainingSeconds"));
+    }
+
+    @Test
+    void testFinishAttempt_NotFound() {
+        // Given
+        when(attemptService.finish("2", "a1", null)).thenReturn(null);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = attemptController.finishAttempt("a1", null, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
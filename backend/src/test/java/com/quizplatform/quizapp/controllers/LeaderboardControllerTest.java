@@ -0,0 +1,126 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.LeaderboardEntry;
+import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.repository.UserRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardControllerTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private LeaderboardController leaderboardController;
+
+    private AuthPrincipal studentUser;
+
+    @BeforeEach
+    void setUp() {
+        studentUser = new AuthPrincipal();
+        studentUser.setId("2");
+        studentUser.setUsername("student");
+        studentUser.setRole("STUDENT");
+    }
+
+    private LeaderboardEntry entry(int rank, String userId, int score) {
+        LeaderboardEntry entry = new LeaderboardEntry();
+        entry.setRank(rank);
+        entry.setUserId(userId);
+        entry.setScore(score);
+        return entry;
+    }
+
+    @Test
+    void testGetTop_FillsUsernames() {
+        // Given
+        when(leaderboardService.top("quiz1", 10)).thenReturn(List.of(entry(1, "1", 90), entry(2, "2", 80)));
+        when(leaderboardService.participants("quiz1")).thenReturn(2);
+        User alice = new User();
+        alice.setId("1");
+        alice.setUsername("alice");
+        User student = new User();
+        student.setId("2");
+        student.setUsername("student");
+        when(userRepository.findUsernamesByIdIn(List.of("1", "2"))).thenReturn(List.of(alice, student));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = leaderboardController.getTop("quiz1", 10, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        List<LeaderboardEntry> entries = (List<LeaderboardEntry>) response.getBody().get("entries");
+        assertEquals("alice", entries.get(0).getUsername());
+        assertEquals("student", entries.get(1).getUsername());
+        assertEquals(2, response.getBody().get("participants"));
+    }
+
+    @Test
+    void testGetTop_InvalidLimit() {
+        // When
+        ResponseEntity<Map<String, Object>> response = leaderboardController.getTop("quiz1", 500, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(leaderboardService, never()).top(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetTop_NotLoggedIn() {
+        // When
+        ResponseEntity<Map<String, Object>> response = leaderboardController.getTop("quiz1", 10, null);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    @Test
+    void testGetMyRank_Success() {
+        // Given
+        when(leaderboardService.rankOf("quiz1", "2")).thenReturn(entry(3, "2", 75));
+        when(leaderboardService.participants("quiz1")).thenReturn(12);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = leaderboardController.getMyRank("quiz1", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().get("rank"));
+        assertEquals(75, response.getBody().get("score"));
+        assertEquals(12, response.getBody().get("participants"));
+    }
+
+    @Test
+    void testGetMyRank_NoResult() {
+        // Given
+        when(leaderboardService.rankOf("quiz1", "2")).thenReturn(null);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = leaderboardController.getMyRank("quiz1", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
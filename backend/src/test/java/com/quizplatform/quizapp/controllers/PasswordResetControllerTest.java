@@ -10,12 +10,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +31,7 @@ class PasswordResetControllerTest {
     private OtpService otpService;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @InjectMocks
     private PasswordResetController passwordResetController;
@@ -135,17 +138,18 @@ class PasswordResetControllerTest {
         request.put("otp", "123456");
         request.put("newPassword", "newPassword123");
 
-        when(otpService.verifyOtp("test@example.com", "123456")).thenReturn(true);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(testUser);
+        when(otpService.consumeOtp("test@example.com", "123456")).thenReturn(true);
         when(passwordEncoder.encode("newPassword123")).thenReturn("new_encoded_password");
+        when(userRepository.updatePasswordByEmail("test@example.com", "new_encoded_password")).thenReturn(1L);
 
         // When
         var response = passwordResetController.resetPassword(request);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(userRepository, times(1)).save(any(User.class));
-        verify(otpService, times(1)).markOtpAsUsed("test@example.com", "123456");
+        verify(userRepository, times(1)).updatePasswordByEmail("test@example.com", "new_encoded_password");
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(otpService, never()).verifyOtp(anyString(), anyString());
     }
 
     @Test
@@ -156,14 +160,35 @@ class PasswordResetControllerTest {
         request.put("otp", "wrong");
         request.put("newPassword", "newPassword123");
         
-        when(otpService.verifyOtp("test@example.com", "wrong")).thenReturn(false);
+        when(otpService.consumeOtp("test@example.com", "wrong")).thenReturn(false);
 
         // When
         var response = passwordResetController.resetPassword(request);
 
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).updatePasswordByEmail(anyString(), any());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testResetPassword_MissingPasswordKeepsOtp() {
+        // Given
+        Map<String, String> request = new HashMap<>();
+        request.put("email", "test@example.com");
+        request.put("otp", "123456");
+        request.put("newPassword", " ");
+
+        // When
+        var response = passwordResetController.resetPassword(request);
+        request.remove("newPassword");
+        var missing = passwordResetController.resetPassword(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, missing.getStatusCode());
+        verify(otpService, never()).consumeOtp(anyString(), anyString());
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
     @Test
@@ -174,8 +199,8 @@ class PasswordResetControllerTest {
         request.put("otp", "123456");
         request.put("newPassword", "newPassword123");
         
-        when(otpService.verifyOtp("notfound@example.com", "123456")).thenReturn(true);
-        when(userRepository.findByEmail("notfound@example.com")).thenReturn(null);
+        when(otpService.consumeOtp("notfound@example.com", "123456")).thenReturn(true);
+        when(userRepository.updatePasswordByEmail(eq("notfound@example.com"), any())).thenReturn(0L);
 
         // When
         var response = passwordResetController.resetPassword(request);
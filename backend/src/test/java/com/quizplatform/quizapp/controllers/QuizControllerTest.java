@@ -1,8 +1,19 @@
 package com.quizplatform.quizapp.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.ImportReport;
+import com.quizplatform.quizapp.model.Question;
 import com.quizplatform.quizapp.model.Quiz;
-import com.quizplatform.quizapp.model.User;
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import com.quizplatform.quizapp.model.QuizSummary;
 import com.quizplatform.quizapp.repository.QuizRepository;
+import com.quizplatform.quizapp.service.AnswerTally;
+import com.quizplatform.quizapp.service.CachedQuiz;
+import com.quizplatform.quizapp.service.QuizImportService;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,17 +21,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,24 +47,31 @@ class QuizControllerTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private QuizService quizService;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    @Mock
+    private QuizImportService quizImportService;
+
     @InjectMocks
     private QuizController quizController;
 
-    private MockHttpSession session;
-    private User adminUser;
-    private User studentUser;
+    private AuthPrincipal adminUser;
+    private AuthPrincipal studentUser;
     private Quiz testQuiz;
+    private QuizSummary testSummary;
 
     @BeforeEach
     void setUp() {
-        session = new MockHttpSession();
-        
-        adminUser = new User();
+        adminUser = new AuthPrincipal();
         adminUser.setId("1");
         adminUser.setUsername("admin");
         adminUser.setRole("ADMIN");
 
-        studentUser = new User();
+        studentUser = new AuthPrincipal();
         studentUser.setId("2");
         studentUser.setUsername("student");
         studentUser.setRole("STUDENT");
@@ -54,19 +79,34 @@ class QuizControllerTest {
         testQuiz = new Quiz();
         testQuiz.setId("quiz1");
         testQuiz.setTitle("Test Quiz");
+
+        testSummary = new QuizSummary();
+        testSummary.setId("quiz1");
+        testSummary.setTitle("Test Quiz");
+        testSummary.setQuestionCount(3);
+
+        lenient().when(quizService.getCatalogETag()).thenReturn("W/\"catalog-1\"");
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 
     @Test
     void testGetQuizzes_ReturnsPaginatedResults() {
         // Given
-        List<Quiz> quizzes = Arrays.asList(testQuiz);
-        Page<Quiz> page = new PageImpl<>(quizzes, PageRequest.of(0, 10), 1);
+        List<QuizSummary> quizzes = Arrays.asList(testSummary);
+        Page<QuizSummary> page = new PageImpl<>(quizzes, PageRequest.of(0, 10), 1);
         
-        when(quizRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(quizRepository.findSummaries(any(Pageable.class))).thenReturn(page);
 
         // When
         ResponseEntity<Map<String, Object>> response = 
-            (ResponseEntity<Map<String, Object>>) quizController.getQuizzes(0, 10, "title");
+            (ResponseEntity<Map<String, Object>>) quizController.getQuizzes(0, 10, "title", null, webRequest(null));
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -77,70 +117,122 @@ class QuizControllerTest {
         assertTrue(body.containsKey("quizzes"));
         assertTrue(body.containsKey("currentPage"));
         assertTrue(body.containsKey("totalPages"));
+        assertEquals(quizzes, body.get("quizzes"));
+        verify(quizRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void testCreateQuiz_Authorized() {
         // Given
-        session.setAttribute("user", adminUser);
-        when(quizRepository.save(any(Quiz.class))).thenReturn(testQuiz);
+        when(quizService.save(any(Quiz.class))).thenReturn(testQuiz);
 
         // When
-        ResponseEntity<String> response = quizController.createQuiz(testQuiz, session);
+        ResponseEntity<String> response = quizController.createQuiz(testQuiz, adminUser);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Quiz created successfully", response.getBody());
-        verify(quizRepository, times(1)).save(any(Quiz.class));
+        verify(quizService, times(1)).save(any(Quiz.class));
     }
 
     @Test
     void testCreateQuiz_Unauthorized_NotLoggedIn() {
-        // Given
-        session.removeAttribute("user");
-
         // When
-        ResponseEntity<String> response = quizController.createQuiz(testQuiz, session);
+        ResponseEntity<String> response = quizController.createQuiz(testQuiz, null);
 
         // Then
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
-        verify(quizRepository, never()).save(any(Quiz.class));
+        verify(quizService, never()).save(any(Quiz.class));
     }
 
     @Test
     void testCreateQuiz_Unauthorized_NotAdmin() {
-        // Given
-        session.setAttribute("user", studentUser);
-
         // When
-        ResponseEntity<String> response = quizController.createQuiz(testQuiz, session);
+        ResponseEntity<String> response = quizController.createQuiz(testQuiz, studentUser);
 
         // Then
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
-        verify(quizRepository, never()).save(any(Quiz.class));
+        verify(quizService, never()).save(any(Quiz.class));
     }
 
     @Test
-    void testGetQuizById_Found() {
+    void testGetQuizById_Found() throws Exception {
         // Given
-        when(quizRepository.findById("quiz1")).thenReturn(Optional.of(testQuiz));
+        CachedQuiz cached = CachedQuiz.of(testQuiz, new ObjectMapper());
+        when(quizService.findCached("quiz1")).thenReturn(cached);
 
         // When
-        ResponseEntity<Quiz> response = quizController.getQuizById("quiz1");
+        ResponseEntity<byte[]> response = quizController.getQuizById("quiz1", null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals("quiz1", response.getBody().getId());
+        assertEquals("quiz1", new ObjectMapper().readValue(response.getBody(), Quiz.class).getId());
+        assertEquals(cached.getETag(), response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testGetQuizById_PreGzippedForClientsThatAcceptIt() throws Exception {
+        // Given: enough questions for gzip to pay off
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Question question = new Question();
+            question.setQuestionText("Which of these is option " + i + "?");
+            question.setOptions(List.of("First answer", "Second answer", "Third answer", "Fourth answer"));
+            questions.add(question);
+        }
+        testQuiz.setQuestions(questions);
+        CachedQuiz cached = CachedQuiz.of(testQuiz, new ObjectMapper());
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When
+        ResponseEntity<byte[]> response = quizController.getQuizById("quiz1", "gzip, deflate, br");
+
+        // Then: the stored bytes, tagged as their own representation
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(cached.getGzipETag(), response.getHeaders().getETag());
+        assertNotEquals(cached.getETag(), cached.getGzipETag());
+        assertSame(cached.getGzip(), response.getBody());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertArrayEquals(cached.getJson(), in.readAllBytes());
+        }
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(QuizController.acceptsGzip("gzip"));
+        assertTrue(QuizController.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(QuizController.acceptsGzip("*"));
+        assertFalse(QuizController.acceptsGzip(null));
+        assertFalse(QuizController.acceptsGzip("br, deflate"));
+        assertFalse(QuizController.acceptsGzip("gzip;q=0"));
+        assertFalse(QuizController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(QuizController.acceptsGzip("identity, *;q=0"));
+    }
+
+    @Test
+    void testGetQuizzes_NotModifiedSkipsQuery() {
+        // When
+        ResponseEntity<Map<String, Object>> response =
+            quizController.getQuizzes(0, 10, "title", null, webRequest("W/\"catalog-1\""));
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("W/\"catalog-1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(quizRepository);
     }
 
     @Test
     void testGetQuizById_NotFound() {
         // Given
-        when(quizRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(quizService.findCached("nonexistent")).thenReturn(null);
 
         // When
-        ResponseEntity<Quiz> response = quizController.getQuizById("nonexistent");
+        ResponseEntity<byte[]> response = quizController.getQuizById("nonexistent", "gzip");
 
         // Then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -149,14 +241,14 @@ class QuizControllerTest {
     @Test
     void testGetQuizzes_WithPagination() {
         // Given
-        List<Quiz> quizzes = Arrays.asList(testQuiz);
-        Page<Quiz> page = new PageImpl<>(quizzes, PageRequest.of(1, 10), 20);
+        List<QuizSummary> quizzes = Arrays.asList(testSummary);
+        Page<QuizSummary> page = new PageImpl<>(quizzes, PageRequest.of(1, 10), 20);
         
-        when(quizRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(quizRepository.findSummaries(any(Pageable.class))).thenReturn(page);
 
         // When
         ResponseEntity<Map<String, Object>> response = 
-            (ResponseEntity<Map<String, Object>>) quizController.getQuizzes(1, 10, "title");
+            (ResponseEntity<Map<String, Object>>) quizController.getQuizzes(1, 10, "title", null, webRequest(null));
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -164,7 +256,185 @@ class QuizControllerTest {
         @SuppressWarnings("unchecked")
         Map<String, Object> body = (Map<String, Object>) response.getBody();
         assertEquals(1, body.get("currentPage"));
-        assertEquals(20, body.get("totalItems"));
+        assertEquals(20L, body.get("totalItems"));
     }
-}
 
+    @Test
+    void testGetQuizzes_UnindexedSortRejected() {
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getQuizzes(0, 10, "questions", null, webRequest(null));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(quizRepository, never()).findSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void testGetQuizSummaries_DeduplicatesIds() {
+        // Given
+        when(quizService.findSummaries(any())).thenReturn(Map.of("quiz1", testSummary));
+
+        // When
+        ResponseEntity<Map<String, QuizSummary>> response =
+            quizController.getQuizSummaries(Arrays.asList("quiz1", "quiz1"));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Test Quiz", response.getBody().get("quiz1").getTitle());
+        verify(quizService, times(1)).findSummaries(Set.of("quiz1"));
+    }
+
+    @Test
+    void testGetQuizzes_CursorMode() {
+        // Given
+        Slice<QuizSummary> slice = new SliceImpl<>(Arrays.asList(testSummary), PageRequest.of(0, 1), true);
+        when(quizRepository.findSummariesAfter(eq(new ObjectId("650000000000000000000000")), any(Pageable.class))).thenReturn(slice);
+
+        // When
+        ResponseEntity<Map<String, Object>> response =
+            quizController.getQuizzes(0, 1, null, "650000000000000000000000", webRequest(null));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(true, response.getBody().get("hasNext"));
+        assertEquals("quiz1", response.getBody().get("nextCursor"));
+        verify(quizRepository, never()).findSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void testGetQuizzes_CursorModeRejectsSortBy() {
+        // When
+        ResponseEntity<Map<String, Object>> response =
+            quizController.getQuizzes(0, 10, "title", "", webRequest(null));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(quizRepository);
+    }
+
+    @Test
+    void testGetQuizzes_PageSizeClamped() {
+        // Given
+        when(quizRepository.findSummarySlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(testSummary), PageRequest.of(0, 100), false));
+
+        // When
+        quizController.getQuizzes(0, 100000, null, "", webRequest(null));
+
+        // Then
+        verify(quizRepository).findSummarySlice(argThat(pageable -> pageable.getPageSize() == QuizController.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void testGetQuizStats_AsAdmin() {
+        // Given
+        QuizStatsSnapshot stats = new QuizStatsSnapshot();
+        stats.setQuizId("quiz1");
+        stats.setCount(4);
+        stats.setMean(50.0);
+        long[] histogram = new long[101];
+        histogram[20] = 1;
+        histogram[40] = 1;
+        histogram[60] = 1;
+        histogram[80] = 1;
+        stats.setScoreHistogram(histogram);
+        stats.setQuestionAttempts(new long[]{4, 0});
+        stats.setQuestionCorrect(new long[]{3, 0});
+        when(quizStatsService.get("quiz1")).thenReturn(stats);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getQuizStats("quiz1", adminUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4L, response.getBody().get("count"));
+        assertEquals(40, response.getBody().get("median"));
+        assertEquals(80, response.getBody().get("p90"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> questions = (List<Map<String, Object>>) response.getBody().get("questions");
+        assertEquals(0.75, questions.get(0).get("correctRate"));
+        assertNull(questions.get(1).get("correctRate"));
+    }
+
+    @Test
+    void testGetQuizStats_AsStudent() {
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getQuizStats("quiz1", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(quizStatsService, never()).get(anyString());
+    }
+
+    @Test
+    void testGetQuizStats_NoSubmissions() {
+        // Given
+        when(quizStatsService.get("quiz1")).thenReturn(null);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getQuizStats("quiz1", adminUser);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetAnswerStats_AsAdmin() {
+        // Given
+        AnswerTally tally = new AnswerTally(2);
+        tally.add(new byte[] {1, -1}, new byte[] {0b01});
+        tally.add(new byte[] {0, -1}, new byte[] {0b00});
+        tally.add(null, null);
+        when(quizStatsService.tallyAnswers("quiz1")).thenReturn(tally);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getAnswerStats("quiz1", adminUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2L, response.getBody().get("results"));
+        assertEquals(1L, response.getBody().get("skipped"));
+        List<Map<String, Object>> questions = (List<Map<String, Object>>) response.getBody().get("questions");
+        assertEquals(0.5, questions.get(0).get("correctRate"));
+        assertNull(questions.get(1).get("correctRate"));
+    }
+
+    @Test
+    void testGetAnswerStats_AsStudent() {
+        // When
+        ResponseEntity<Map<String, Object>> response = quizController.getAnswerStats("quiz1", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(quizStatsService);
+    }
+
+    @Test
+    void testImportQuizzes_Csv() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("title,durationSeconds,questionText,correctOption,option1,option2\n".getBytes());
+        ImportReport report = new ImportReport();
+        report.setImported(3);
+        when(quizImportService.importCsv(any())).thenReturn(report);
+
+        // When
+        ResponseEntity<ImportReport> response = quizController.importQuizzes("csv", request, adminUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getImported());
+        verify(quizImportService, never()).importJson(any());
+    }
+
+    @Test
+    void testImportQuizzes_Rejected() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // When / Then
+        assertEquals(HttpStatus.UNAUTHORIZED, quizController.importQuizzes("json", request, studentUser).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, quizController.importQuizzes("xlsx", request, adminUser).getStatusCode());
+        verifyNoInteractions(quizImportService);
+    }
+}
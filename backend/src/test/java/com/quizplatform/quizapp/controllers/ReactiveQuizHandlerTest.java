@@ -0,0 +1,243 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.config.ReactiveWebConfig;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.repository.ReactiveQuizRepository;
+import com.quizplatform.quizapp.service.CachedQuiz;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ReactiveQuizService;
+import com.quizplatform.quizapp.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveQuizHandlerTest {
+
+    @Mock
+    private ReactiveQuizRepository reactiveQuizRepository;
+
+    @Mock
+    private ReactiveQuizService reactiveQuizService;
+
+    @Mock
+    private QuizService quizService;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private ReactiveResultHandler resultHandler;
+
+    @InjectMocks
+    private ReactiveQuizHandler quizHandler;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(new ReactiveWebConfig().apiRoutes(quizHandler, resultHandler)).build();
+        lenient().when(quizService.getCatalogETag()).thenReturn("W/\"catalog-1\"");
+    }
+
+    private QuizSummary summary(String id, String title) {
+        QuizSummary summary = new QuizSummary();
+        summary.setId(id);
+        summary.setTitle(title);
+        summary.setQuestionCount(5);
+        return summary;
+    }
+
+    private AuthPrincipal principal(String role) {
+        AuthPrincipal principal = new AuthPrincipal();
+        principal.setId("1");
+        principal.setRole(role);
+        return principal;
+    }
+
+    @Test
+    void testGetQuizzes_PageMode() {
+        // Given
+        when(reactiveQuizRepository.findSummariesBy(any(Pageable.class)))
+                .thenReturn(Flux.just(summary("1", "Java"), summary("2", "Mongo")));
+        when(reactiveQuizRepository.count()).thenReturn(Mono.just(12L));
+
+        // When / Then
+        client.get().uri("/api/quizzes?page=0&size=2").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quizzes.length()").isEqualTo(2)
+                .jsonPath("$.quizzes[0].title").isEqualTo("Java")
+                .jsonPath("$.currentPage").isEqualTo(0)
+                .jsonPath("$.totalItems").isEqualTo(12)
+                .jsonPath("$.totalPages").isEqualTo(6)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.hasPrevious").isEqualTo(false);
+    }
+
+    @Test
+    void testGetQuizzes_CursorModeFetchesOneExtraRow() {
+        // Given
+        when(reactiveQuizRepository.findSummariesBy(any(Pageable.class)))
+                .thenReturn(Flux.just(summary("1", "A"), summary("2", "B"), summary("3", "C")));
+
+        // When / Then
+        client.get().uri("/api/quizzes?after=&size=2").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quizzes.length()").isEqualTo(2)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isEqualTo("2");
+        verify(reactiveQuizRepository).findSummariesBy(argThat(pageable -> pageable.getPageSize() == 3));
+    }
+
+    @Test
+    void testGetQuizzes_RejectsBadInput() {
+        client.get().uri("/api/quizzes?sortBy=questions").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/quizzes?after=not-an-id").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/quizzes?size=ten").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/quizzes?after=&sortBy=title").exchange().expectStatus().isBadRequest();
+        verifyNoInteractions(reactiveQuizRepository);
+    }
+
+    @Test
+    void testGetQuizSummaries_SplitsCommaSeparatedIds() {
+        // Given
+        Map<String, QuizSummary> summaries = new HashMap<>();
+        summaries.put("1", summary("1", "Java"));
+        when(reactiveQuizService.findSummaries(Set.of("1", "2"))).thenReturn(Mono.just(summaries));
+
+        // When / Then
+        client.get().uri("/api/quizzes/summaries?ids=1,2,1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.1.title").isEqualTo("Java");
+    }
+
+    @Test
+    void testGetQuizById_NotFound() {
+        // Given
+        when(reactiveQuizService.findCached("missing")).thenReturn(Mono.empty());
+
+        // When / Then
+        client.get().uri("/api/quizzes/missing").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetQuizById_Found() {
+        // Given
+        Quiz quiz = new Quiz();
+        quiz.setId("1");
+        quiz.setTitle("Java");
+        CachedQuiz cached = CachedQuiz.of(quiz, new ObjectMapper());
+        when(reactiveQuizService.findCached("1")).thenReturn(Mono.just(cached));
+
+        // When / Then
+        client.get().uri("/api/quizzes/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", cached.getETag())
+                .expectBody().jsonPath("$.title").isEqualTo("Java");
+        client.get().uri("/api/quizzes/1").header("If-None-Match", cached.getETag()).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testGetQuizById_GzipFromStoredBytes() {
+        // Given
+        Quiz quiz = new Quiz();
+        quiz.setId("1");
+        quiz.setTitle("Java ".repeat(200));
+        CachedQuiz cached = CachedQuiz.of(quiz, new ObjectMapper());
+        when(reactiveQuizService.findCached("1")).thenReturn(Mono.just(cached));
+
+        // When / Then
+        client.get().uri("/api/quizzes/1").header("Accept-Encoding", "gzip").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Encoding", "gzip")
+                .expectHeader().valueEquals("ETag", cached.getGzipETag())
+                .expectBody(byte[].class).isEqualTo(cached.getGzip());
+    }
+
+    @Test
+    void testGetQuizzes_NotModifiedSkipsQuery() {
+        // When / Then
+        client.get().uri("/api/quizzes?page=0&size=2").header("If-None-Match", "W/\"catalog-1\"").exchange()
+                .expectStatus().isNotModified();
+        verifyNoInteractions(reactiveQuizRepository);
+    }
+
+    @Test
+    void testCreateQuiz_RequiresAdmin() {
+        // Given
+        when(tokenService.verify("student")).thenReturn(principal("STUDENT"));
+
+        // When / Then
+        client.post().uri("/api/quizzes").header("Authorization", "Bearer student")
+                .bodyValue(new Quiz()).exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody(String.class).isEqualTo("Unauthorized: Only admin can create quiz");
+        verifyNoInteractions(reactiveQuizService);
+    }
+
+    @Test
+    void testCreateQuiz_Admin() {
+        // Given
+        when(tokenService.verify("admin")).thenReturn(principal("ADMIN"));
+        when(reactiveQuizService.save(any(Quiz.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When / Then
+        client.post().uri("/api/quizzes").header("Authorization", "Bearer admin")
+                .bodyValue(new Quiz()).exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Quiz created successfully");
+        verify(reactiveQuizService).save(any(Quiz.class));
+    }
+
+    @Test
+    void testCreateQuiz_EmptyBody() {
+        // Given
+        when(tokenService.verify("admin")).thenReturn(principal("ADMIN"));
+
+        // When / Then
+        client.post().uri("/api/quizzes").header("Authorization", "Bearer admin")
+                .header("Content-Type", "application/json").exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(reactiveQuizService);
+    }
+
+    @Test
+    void testGetQuizStats_RoutedBeforeQuizById() {
+        // Given
+        when(tokenService.verify("admin")).thenReturn(principal("ADMIN"));
+        when(quizStatsService.get("1")).thenReturn(null);
+
+        // When / Then
+        client.get().uri("/api/quizzes/1/stats").header("Authorization", "Bearer admin").exchange()
+                .expectStatus().isNotFound();
+        verify(reactiveQuizService, never()).findById(eq("1"));
+    }
+}
@@ -0,0 +1,278 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.config.ReactiveWebConfig;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.model.Submission;
+import com.quizplatform.quizapp.repository.ReactiveResultRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ReactiveQuizService;
+import com.quizplatform.quizapp.service.ScoringService;
+import com.quizplatform.quizapp.service.SubmissionKeys;
+import com.quizplatform.quizapp.service.TokenService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveResultHandlerTest {
+
+    @Mock
+    private ReactiveResultRepository reactiveResultRepository;
+
+    @Mock
+    private ReactiveQuizService reactiveQuizService;
+
+    @Mock
+    private ScoringService scoringService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private SubmissionKeys submissionKeys;
+
+    @Mock
+    private ReactiveQuizHandler quizHandler;
+
+    @InjectMocks
+    private ReactiveResultHandler resultHandler;
+
+    private WebTestClient client;
+    private AuthPrincipal studentUser;
+    private Submission submission;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(new ReactiveWebConfig().apiRoutes(quizHandler, resultHandler)).build();
+
+        studentUser = new AuthPrincipal();
+        studentUser.setId("2");
+        studentUser.setRole("STUDENT");
+
+        submission = new Submission();
+        submission.setQuizId("quiz1");
+        submission.setAnswers(new int[] {0, 1, -1});
+    }
+
+    private Result result(String id, String quizId) {
+        Result result = new Result();
+        result.setId(id);
+        result.setUserId("2");
+        result.setQuizId(quizId);
+        result.setScore(50);
+        return result;
+    }
+
+    @Test
+    void testSubmitResult_LoginRequired() {
+        client.post().uri("/api/results/submit").bodyValue(submission).exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").isEqualTo("Login required");
+    }
+
+    @Test
+    void testSubmitResult_ScoredAndSaved() {
+        // Given
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveQuizService.findById("quiz1")).thenReturn(Mono.just(quiz));
+        when(scoringService.score(eq(quiz), any(int[].class))).thenReturn(33);
+        when(reactiveResultRepository.save(any(Result.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When / Then
+        client.post().uri("/api/results/submit").header("Authorization", "Bearer token")
+                .bodyValue(submission).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Result submitted successfully")
+                .jsonPath("$.score").isEqualTo(33);
+        verify(reactiveResultRepository).save(argThat(result ->
+                "2".equals(result.getUserId()) && "quiz1".equals(result.getQuizId()) && result.getScore() == 33));
+        verify(leaderboardService).record(any(Result.class));
+        verify(quizStatsService).record(argThat(result -> "quiz1".equals(result.getQuizId()) && result.getScore() == 33));
+    }
+
+    @Test
+    void testSubmitResult_EmptyBody() {
+        // Given
+        when(tokenService.verify("token")).thenReturn(studentUser);
+
+        // When / Then
+        client.post().uri("/api/results/submit").header("Authorization", "Bearer token")
+                .header("Content-Type", "application/json").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Request body is required");
+        verifyNoInteractions(reactiveQuizService, reactiveResultRepository);
+    }
+
+    @Test
+    void testSubmitResult_QuizNotFound() {
+        // Given
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveQuizService.findById("quiz1")).thenReturn(Mono.empty());
+
+        // When / Then
+        client.post().uri("/api/results/submit").header("Authorization", "Bearer token")
+                .bodyValue(submission).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Quiz not found");
+        verifyNoInteractions(reactiveResultRepository);
+    }
+
+    @Test
+    void testSubmitResult_WrongAnswerCount() {
+        // Given
+        Quiz quiz = new Quiz();
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveQuizService.findById("quiz1")).thenReturn(Mono.just(quiz));
+        when(scoringService.score(eq(quiz), any(int[].class))).thenThrow(new IllegalArgumentException("Expected 5 answers"));
+
+        // When / Then
+        client.post().uri("/api/results/submit").header("Authorization", "Bearer token")
+                .bodyValue(submission).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Expected 5 answers");
+        verifyNoInteractions(reactiveResultRepository);
+    }
+
+    @Test
+    void testSubmitResult_RetryWithSameKeyNotWrittenTwice() {
+        // Given
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveQuizService.findById("quiz1")).thenReturn(Mono.just(quiz));
+        when(scoringService.score(eq(quiz), any(int[].class))).thenReturn(33);
+        when(submissionKeys.claim("2", "attempt-1", 33)).thenReturn(33);
+
+        // When / Then
+        client.post().uri("/api/results/submit")
+                .header("Authorization", "Bearer token")
+                .header(SubmissionKeys.HEADER, "attempt-1")
+                .bodyValue(submission).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Result already submitted")
+                .jsonPath("$.score").isEqualTo(33);
+        verifyNoInteractions(reactiveResultRepository);
+    }
+
+    @Test
+    void testSubmitResult_DuplicateAnsweredWithStoredScore() {
+        // Given: the key is unknown to this node but already stored
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        Result stored = new Result();
+        stored.setScore(67);
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveQuizService.findById("quiz1")).thenReturn(Mono.just(quiz));
+        when(scoringService.score(eq(quiz), any(int[].class))).thenReturn(33);
+        when(submissionKeys.claim("2", "attempt-1", 33)).thenReturn(null);
+        when(reactiveResultRepository.save(any(Result.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000")));
+        when(reactiveResultRepository.findByUserIdAndSubmissionKey("2", "attempt-1")).thenReturn(Mono.just(stored));
+
+        // When / Then
+        client.post().uri("/api/results/submit")
+                .header("Authorization", "Bearer token")
+                .header(SubmissionKeys.HEADER, "attempt-1")
+                .bodyValue(submission).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Result already submitted")
+                .jsonPath("$.score").isEqualTo(67);
+        verify(submissionKeys).remember("2", "attempt-1", 67);
+        verifyNoInteractions(leaderboardService, quizStatsService);
+    }
+
+    @Test
+    void testGetMyResults_PageModeWithTitles() {
+        // Given
+        QuizSummary summary = new QuizSummary();
+        summary.setId("quiz1");
+        summary.setTitle("Java");
+        Map<String, QuizSummary> summaries = new HashMap<>();
+        summaries.put("quiz1", summary);
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveResultRepository.findByUserId(eq("2"), any(Pageable.class)))
+                .thenReturn(Flux.just(result("r1", "quiz1")));
+        when(reactiveResultRepository.countByUserId("2")).thenReturn(Mono.just(1L));
+        when(reactiveQuizService.findSummaries(Set.of("quiz1"))).thenReturn(Mono.just(summaries));
+
+        // When / Then
+        client.get().uri("/api/results/my-results").header("Authorization", "Bearer token").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].id").isEqualTo("r1")
+                .jsonPath("$.quizTitles.quiz1").isEqualTo("Java")
+                .jsonPath("$.totalItems").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    void testGetMyResults_CursorMode() {
+        // Given
+        String cursor = new ObjectId().toHexString();
+        when(tokenService.verify("token")).thenReturn(studentUser);
+        when(reactiveResultRepository.findByUserIdAndIdLessThan(eq("2"), eq(new ObjectId(cursor)), any(Pageable.class)))
+                .thenReturn(Flux.just(result("r2", null), result("r1", null)));
+        when(reactiveQuizService.findSummaries(Set.of())).thenReturn(Mono.just(new HashMap<>()));
+
+        // When / Then
+        client.get().uri("/api/results/my-results?size=1&after=" + cursor).header("Authorization", "Bearer token").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isEqualTo("r2");
+    }
+
+    @Test
+    void testGetMyResults_SizeBelowOne() {
+        // Given
+        when(tokenService.verify("token")).thenReturn(studentUser);
+
+        // When / Then
+        client.get().uri("/api/results/my-results?size=0").header("Authorization", "Bearer token").exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(reactiveResultRepository);
+    }
+
+    @Test
+    void testGetAllResults_RequiresAdmin() {
+        // Given
+        when(tokenService.verify("token")).thenReturn(studentUser);
+
+        // When / Then
+        client.get().uri("/api/results/all").header("Authorization", "Bearer token").exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(reactiveResultRepository);
+    }
+}
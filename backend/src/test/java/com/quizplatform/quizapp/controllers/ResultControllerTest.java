@@ -0,0 +1,345 @@
+package com.quizplatform.quizapp.controllers;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.model.Submission;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import com.quizplatform.quizapp.service.LeaderboardService;
+import com.quizplatform.quizapp.service.QuizService;
+import com.quizplatform.quizapp.service.QuizStatsService;
+import com.quizplatform.quizapp.service.ResultExportService;
+import com.quizplatform.quizapp.service.ResultWriteBehind;
+import com.quizplatform.quizapp.service.ScoringService;
+import com.quizplatform.quizapp.service.SubmissionKeys;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultControllerTest {
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @Mock
+    private ScoringService scoringService;
+
+    @Mock
+    private QuizService quizService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    @Mock
+    private ResultExportService resultExportService;
+
+    @Mock
+    private ResultWriteBehind resultWriteBehind;
+
+    @Mock
+    private SubmissionKeys submissionKeys;
+
+    @InjectMocks
+    private ResultController resultController;
+
+    private AuthPrincipal studentUser;
+    private Submission submission;
+
+    @BeforeEach
+    void setUp() {
+        studentUser = new AuthPrincipal();
+        studentUser.setId("2");
+        studentUser.setUsername("student");
+        studentUser.setRole("STUDENT");
+
+        submission = new Submission();
+        submission.setQuizId("quiz1");
+        submission.setAnswers(new int[] {0, 1, -1});
+    }
+
+    @Test
+    void testSubmitResult_ScoredOnServer() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(67);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(67, response.getBody().get("score"));
+        ArgumentCaptor<Result> saved = ArgumentCaptor.forClass(Result.class);
+        verify(resultWriteBehind, times(1)).submit(saved.capture());
+        assertEquals("2", saved.getValue().getUserId());
+        assertEquals("quiz1", saved.getValue().getQuizId());
+        assertEquals(67, saved.getValue().getScore());
+        verify(leaderboardService, times(1)).record(saved.getValue());
+        verify(quizStatsService, times(1)).record(saved.getValue());
+    }
+
+    @Test
+    void testSubmitResult_NotLoggedIn() {
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, null, null);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(resultWriteBehind, never()).submit(any(Result.class));
+        verify(leaderboardService, never()).record(any(Result.class));
+    }
+
+    @Test
+    void testSubmitResult_WrongAnswerCount() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers()))
+                .thenThrow(new IllegalArgumentException("Expected 4 answers"));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(resultWriteBehind, never()).submit(any(Result.class));
+    }
+
+    @Test
+    void testSubmitResult_QuizNotFound() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(-1);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, null);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(resultWriteBehind, never()).submit(any(Result.class));
+    }
+
+    @Test
+    void testSubmitResult_RetryWithSameKeyNotWrittenTwice() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(67);
+        when(submissionKeys.claim("2", "attempt-1", 67)).thenReturn(67);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, "attempt-1");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Result already submitted", response.getBody().get("message"));
+        assertEquals(67, response.getBody().get("score"));
+        verify(resultWriteBehind, never()).submit(any(Result.class));
+        verify(quizStatsService, never()).record(any(Result.class));
+    }
+
+    @Test
+    void testSubmitResult_KeyStoredOnResult() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(67);
+        when(submissionKeys.claim("2", "attempt-1", 67)).thenReturn(null);
+
+        // When
+        resultController.submitResult(submission, studentUser, "attempt-1");
+
+        // Then
+        ArgumentCaptor<Result> saved = ArgumentCaptor.forClass(Result.class);
+        verify(resultWriteBehind).submit(saved.capture());
+        assertEquals("attempt-1", saved.getValue().getSubmissionKey());
+    }
+
+    @Test
+    void testSubmitResult_DuplicateCaughtByUniqueIndex() {
+        // Given: the key is unknown to this node but already stored
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(67);
+        when(submissionKeys.claim("2", "attempt-1", 67)).thenReturn(null);
+        when(resultWriteBehind.submit(any(Result.class))).thenThrow(new DuplicateKeyException("E11000"));
+        Result stored = new Result();
+        stored.setScore(33);
+        when(resultRepository.findByUserIdAndSubmissionKey("2", "attempt-1")).thenReturn(java.util.Optional.of(stored));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, "attempt-1");
+
+        // Then: the stored result's score, not this retry's
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Result already submitted", response.getBody().get("message"));
+        assertEquals(33, response.getBody().get("score"));
+        verify(submissionKeys).remember("2", "attempt-1", 33);
+        verify(leaderboardService, never()).record(any(Result.class));
+        verify(quizStatsService, never()).record(any(Result.class));
+    }
+
+    @Test
+    void testSubmitResult_FailedWriteReleasesKey() {
+        // Given
+        when(scoringService.score("quiz1", submission.getAnswers())).thenReturn(67);
+        when(submissionKeys.claim("2", "attempt-1", 67)).thenReturn(null);
+        when(resultWriteBehind.submit(any(Result.class))).thenThrow(new IllegalStateException("disk full"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class,
+                () -> resultController.submitResult(submission, studentUser, "attempt-1"));
+        verify(submissionKeys).release("2", "attempt-1");
+    }
+
+    @Test
+    void testSubmitResult_InvalidKey() {
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.submitResult(submission, studentUser, " ");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(scoringService);
+    }
+
+    @Test
+    void testGetMyResults_IncludesQuizTitles() {
+        // Given
+        Result first = new Result();
+        first.setQuizId("quiz1");
+        Result second = new Result();
+        second.setQuizId("quiz1");
+        Page<Result> page = new PageImpl<>(List.of(first, second), PageRequest.of(0, 10), 2);
+        when(resultRepository.findByUserId(eq("2"), any(Pageable.class))).thenReturn(page);
+
+        QuizSummary summary = new QuizSummary();
+        summary.setId("quiz1");
+        summary.setTitle("Test Quiz");
+        when(quizService.findSummaries(Set.of("quiz1"))).thenReturn(Map.of("quiz1", summary));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.getMyResults(0, 10, null, studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("quiz1", "Test Quiz"), response.getBody().get("quizTitles"));
+        verify(quizService, times(1)).findSummaries(Set.of("quiz1"));
+    }
+
+    @Test
+    void testGetAllResults_CursorModeSkipsCount() {
+        // Given
+        AuthPrincipal adminUser = new AuthPrincipal();
+        adminUser.setId("1");
+        adminUser.setRole("ADMIN");
+
+        Result result = new Result();
+        result.setId("650000000000000000000002");
+        result.setQuizId("quiz1");
+        when(resultRepository.findByIdLessThan(eq(new ObjectId("650000000000000000000009")), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(result), PageRequest.of(0, 1), true));
+
+        // When
+        ResponseEntity<Map<String, Object>> response =
+                resultController.getAllResults(0, 1, "650000000000000000000009", adminUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(true, response.getBody().get("hasNext"));
+        assertEquals("650000000000000000000002", response.getBody().get("nextCursor"));
+        assertFalse(response.getBody().containsKey("totalItems"));
+        verify(resultRepository, never()).findPageBy(any(Pageable.class));
+        verify(resultRepository, never()).count();
+    }
+
+    @Test
+    void testGetMyResults_CursorModeFirstPage() {
+        // Given
+        when(resultRepository.findSliceByUserId(eq("2"), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.getMyResults(0, 10, "", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(false, response.getBody().get("hasNext"));
+        assertNull(response.getBody().get("nextCursor"));
+    }
+
+    @Test
+    void testGetMyResults_InvalidCursor() {
+        // When
+        ResponseEntity<Map<String, Object>> response = resultController.getMyResults(0, 10, "not-an-id", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testGetMyResults_PageSizeBounds() {
+        // Given
+        when(resultRepository.findSliceByUserId(eq("2"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        // When
+        ResponseEntity<Map<String, Object>> empty = resultController.getMyResults(0, 0, null, studentUser);
+        ResponseEntity<Map<String, Object>> huge = resultController.getMyResults(0, 100000, "", studentUser);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, empty.getStatusCode());
+        assertEquals(HttpStatus.OK, huge.getStatusCode());
+        verify(resultRepository).findSliceByUserId(eq("2"), argThat(pageable -> pageable.getPageSize() == QuizController.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void testExportResults_StreamsCsv() throws Exception {
+        // Given
+        AuthPrincipal adminUser = new AuthPrincipal();
+        adminUser.setId("1");
+        adminUser.setRole("ADMIN");
+
+        // When
+        ResponseEntity<StreamingResponseBody> response =
+                resultController.exportResults("csv", "quiz1", "2024-01-01", "2024-02-01T00:00:00Z", adminUser);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        verify(resultExportService).export(eq(ResultExportService.Format.CSV), eq("quiz1"),
+                eq(Instant.parse("2024-01-01T00:00:00Z")), eq(Instant.parse("2024-02-01T00:00:00Z")), any());
+    }
+
+    @Test
+    void testExportResults_RejectsBadInput() throws Exception {
+        // Given
+        AuthPrincipal adminUser = new AuthPrincipal();
+        adminUser.setRole("ADMIN");
+
+        // When / Then
+        assertEquals(HttpStatus.BAD_REQUEST, resultController.exportResults("xml", null, null, null, adminUser).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, resultController.exportResults("csv", null, "yesterday", null, adminUser).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, resultController.exportResults("csv", null, null, null, studentUser).getStatusCode());
+        verify(resultExportService, never()).export(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.quizplatform.quizapp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultRepositoryImplTest {
+
+    private static List<byte[]> read(BsonDocument document) {
+        List<byte[]> read = new ArrayList<>();
+        ResultRepositoryImpl.readPackedAnswers(new RawBsonDocument(document, new BsonDocumentCodec()), (answers, mask) -> {
+            read.add(answers);
+            read.add(mask);
+        });
+        return read;
+    }
+
+    @Test
+    void testIsIdConflict_OnlyReplayedIds() {
+        // Given
+        BulkWriteError replayed = new BulkWriteError(11000,
+                "E11000 duplicate key error collection: quiz.results index: _id_ dup key: { _id: ObjectId('650000000000000000000001') }",
+                new BsonDocument(), 0);
+        BulkWriteError resubmitted = new BulkWriteError(11000,
+                "E11000 duplicate key error collection: quiz.results index: userId_submissionKey dup key: { userId: \"u1\", submissionKey: \"k\" }",
+                new BsonDocument(), 1);
+
+        // When / Then
+        assertTrue(ResultRepositoryImpl.isIdConflict(replayed));
+        assertFalse(ResultRepositoryImpl.isIdConflict(resubmitted));
+    }
+
+    @Test
+    void testReadPackedAnswers_ProjectedDocument() {
+        // Given
+        BsonDocument document = new BsonDocument("answers", new BsonBinary(new byte[] {0, -1, 2}))
+                .append("correctMask", new BsonBinary(new byte[] {0b101}));
+
+        // When
+        List<byte[]> read = read(document);
+
+        // Then
+        assertArrayEquals(new byte[] {0, -1, 2}, read.get(0));
+        assertArrayEquals(new byte[] {0b101}, read.get(1));
+    }
+
+    @Test
+    void testReadPackedAnswers_MissingFields() {
+        // When
+        List<byte[]> read = read(new BsonDocument());
+
+        // Then: a result stored before answers were kept
+        assertNull(read.get(0));
+        assertNull(read.get(1));
+    }
+
+    @Test
+    void testReadPackedAnswers_NonBinaryValuesReadAsMissing() {
+        // Given
+        BsonDocument document = new BsonDocument("answers", new BsonString("0,1,2"))
+                .append("correctMask", new BsonInt32(5));
+
+        // When
+        List<byte[]> read = read(document);
+
+        // Then
+        assertNull(read.get(0));
+        assertNull(read.get(1));
+    }
+
+    @Test
+    void testReadPackedAnswers_OldBinarySubtype() {
+        // Given: subtype 2 carries its own length prefix inside the data
+        BsonDocument document = new BsonDocument("answers", new BsonBinary((byte) 2, new byte[] {0, -1, 2}))
+                .append("correctMask", new BsonBinary(new byte[] {0b101}));
+
+        // When
+        List<byte[]> read = read(document);
+
+        // Then
+        assertArrayEquals(new byte[] {0, -1, 2}, read.get(0));
+        assertArrayEquals(new byte[] {0b101}, read.get(1));
+    }
+
+    @Test
+    void testReadPackedAnswers_OtherFieldsSkipped() {
+        // Given
+        BsonDocument document = new BsonDocument("quizId", new BsonString("quiz1"))
+                .append("answers", new BsonBinary(new byte[] {1}))
+                .append("score", new BsonInt32(100))
+                .append("correctMask", new BsonBinary(new byte[] {1}));
+
+        // When
+        List<byte[]> read = read(document);
+
+        // Then
+        assertArrayEquals(new byte[] {1}, read.get(0));
+        assertArrayEquals(new byte[] {1}, read.get(1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerTallyTest {
+
+    private static AnswerKey key(int questionCount) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setCorrectOption(i % 4);
+            questions.add(question);
+        }
+        Quiz quiz = new Quiz();
+        quiz.setQuestions(questions);
+        return AnswerKey.of(quiz);
+    }
+
+    @Test
+    void testAdd_CountsAnsweredAndCorrectAcrossMaskBytes() {
+        // Given: 10 questions, so the mask spans two bytes
+        AnswerKey key = key(10);
+        int[] allCorrect = {0, 1, 2, 3, 0, 1, 2, 3, 0, 1};
+        int[] someWrong = {0, 0, -1, 3, -1, -1, -1, -1, -1, 2};
+        AnswerTally tally = new AnswerTally(10);
+
+        // When
+        tally.add(AnswerKey.pack(allCorrect), key.correctMask(allCorrect));
+        tally.add(AnswerKey.pack(someWrong), key.correctMask(someWrong));
+
+        // Then
+        assertEquals(2, tally.getResults());
+        assertEquals(2, tally.getAnswered(0));
+        assertEquals(2, tally.getCorrect(0));
+        assertEquals(2, tally.getAnswered(1));
+        assertEquals(1, tally.getCorrect(1));
+        assertEquals(1, tally.getAnswered(2));
+        assertEquals(2, tally.getAnswered(9));
+        assertEquals(1, tally.getCorrect(9));
+    }
+
+    @Test
+    void testAdd_SkipsResultsFromOtherQuizVersions() {
+        // Given
+        AnswerKey oldKey = key(3);
+        int[] answers = {0, 1, 2};
+        AnswerTally tally = new AnswerTally(4);
+
+        // When
+        tally.add(AnswerKey.pack(answers), oldKey.correctMask(answers));
+        tally.add(null, null);
+
+        // Then
+        assertEquals(0, tally.getResults());
+        assertEquals(2, tally.getSkipped());
+    }
+}
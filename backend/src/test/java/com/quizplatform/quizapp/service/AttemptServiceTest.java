@@ -0,0 +1,531 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Attempt;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.AttemptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptServiceTest {
+
+    @Mock
+    private AttemptRepository attemptRepository;
+
+    @Mock
+    private QuizService quizService;
+
+    @Mock
+    private ScoringService scoringService;
+
+    @Mock
+    private ResultWriteBehind resultWriteBehind;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    private AttemptService attemptService;
+    private Instant start;
+
+    @BeforeEach
+    void setUp() {
+        attemptService = new AttemptService(1000, 5, 30, "node1");
+        ReflectionTestUtils.setField(attemptService, "attemptRepository", attemptRepository);
+        ReflectionTestUtils.setField(attemptService, "quizService", quizService);
+        ReflectionTestUtils.setField(attemptService, "scoringService", scoringService);
+        ReflectionTestUtils.setField(attemptService, "resultWriteBehind", resultWriteBehind);
+        ReflectionTestUtils.setField(attemptService, "leaderboardService", leaderboardService);
+        ReflectionTestUtils.setField(attemptService, "quizStatsService", quizStatsService);
+        ReflectionTestUtils.setField(attemptService, "expiryExecutor", (Executor) Runnable::run);
+        start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        setClock(start);
+
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        quiz.setQuestions(List.of(new Question(), new Question(), new Question()));
+        quiz.setDurationSeconds(60);
+        lenient().when(quizService.findById("quiz1")).thenReturn(Optional.of(quiz));
+        lenient().when(quizService.findCached("quiz1")).thenReturn(CachedQuiz.of(quiz, new ObjectMapper()));
+        lenient().when(attemptRepository.claimFinish(any(Attempt.class))).thenReturn(true);
+    }
+
+    private void setClock(Instant now) {
+        ReflectionTestUtils.setField(attemptService, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testStart_ResumesOpenAttempt() {
+        // When
+        Attempt first = attemptService.start("u1", "quiz1");
+        Attempt second = attemptService.start("u1", "quiz1");
+
+        // Then
+        assertEquals(first.getId(), second.getId());
+        assertArrayEquals(new byte[] {-1, -1, -1}, first.getAnswers());
+        assertEquals(start.plusSeconds(60).toEpochMilli(), first.getDeadline().toEpochMilli());
+        assertEquals(1, attemptService.getStartedCount());
+    }
+
+    @Test
+    void testStart_StoredBeforeReturning() {
+        // When
+        Attempt attempt = attemptService.start("u1", "quiz1");
+
+        // Then: inserted through the open_user_quiz index, not left for the flush
+        ArgumentCaptor<Attempt> inserted = ArgumentCaptor.forClass(Attempt.class);
+        verify(attemptRepository).insert(inserted.capture());
+        assertEquals(attempt.getId(), inserted.getValue().getId());
+        assertEquals("node1", inserted.getValue().getOwner());
+        attemptService.flush();
+        verify(attemptRepository, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void testStart_OpenAttemptOnAnotherNodeReturned() {
+        // Given
+        Attempt stored = new Attempt();
+        stored.setId("650000000000000000000001");
+        stored.setUserId("u1");
+        stored.setQuizId("quiz1");
+        stored.setOwner("node2");
+        when(attemptRepository.insert(any(Attempt.class))).thenThrow(new DuplicateKeyException("open_user_quiz"));
+        when(attemptRepository.findByUserIdAndQuizIdAndFinishedFalse("u1", "quiz1")).thenReturn(Optional.of(stored));
+
+        // When
+        Attempt attempt = attemptService.start("u1", "quiz1");
+
+        // Then
+        assertSame(stored, attempt);
+        assertEquals(0, attemptService.getLiveCount());
+        assertEquals(0, attemptService.getOpenCount());
+        assertEquals(0, attemptService.getStartedCount());
+    }
+
+    @Test
+    void testStart_UnknownQuiz() {
+        // Given
+        when(quizService.findCached("missing")).thenReturn(null);
+
+        // When / Then
+        assertNull(attemptService.start("u1", "missing"));
+    }
+
+    @Test
+    void testAnswer_KeptInMemoryUntilFlush() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            attemptService.answer("u1", attempt.getId(), 0, i % 3);
+        }
+        attemptService.answer("u1", attempt.getId(), 2, 1);
+
+        // Then: eleven clicks, no writes after the insert, then one bulk write with the latest state
+        verify(attemptRepository).insert(any(Attempt.class));
+        verifyNoMoreInteractions(attemptRepository);
+        attemptService.flush();
+        ArgumentCaptor<List<Attempt>> written = ArgumentCaptor.forClass(List.class);
+        verify(attemptRepository).upsertAll(written.capture());
+        assertEquals(1, written.getValue().size());
+        assertArrayEquals(new byte[] {0, -1, 1}, written.getValue().get(0).getAnswers());
+        assertEquals("node1", written.getValue().get(0).getOwner());
+        assertEquals(start.plusSeconds(30), written.getValue().get(0).getLeaseUntil());
+
+        attemptService.flush();
+        verifyNoMoreInteractions(attemptRepository);
+    }
+
+    @Test
+    void testFlush_FailedWriteIsRetried() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        when(attemptRepository.upsertAll(anyList())).thenThrow(new RuntimeException("Mongo down")).thenReturn(Set.of());
+
+        // When
+        attemptService.flush();
+        attemptService.flush();
+
+        // Then
+        verify(attemptRepository, times(2)).upsertAll(anyList());
+        assertEquals(1, attemptService.getFailedFlushCount());
+        assertEquals(1, attemptService.getFlushedCount());
+    }
+
+    @Test
+    void testAnswer_OtherUsersAttemptNotFound() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(attemptRepository.findById(attempt.getId())).thenReturn(Optional.empty());
+
+        // When / Then
+        assertEquals(AttemptService.AnswerOutcome.NOT_FOUND, attemptService.answer("u2", attempt.getId(), 0, 1));
+    }
+
+    @Test
+    void testAnswer_OutOfRangeRejected() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> attemptService.answer("u1", attempt.getId(), 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> attemptService.answer("u1", attempt.getId(), 0, -2));
+    }
+
+    @Test
+    void testFinish_ScoresOnceAndRecordsResult() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 1, 2);
+        when(scoringService.score(any(Quiz.class), eq(new int[] {-1, 2, -1}), eq(3))).thenReturn(33);
+
+        // When
+        Attempt finished = attemptService.finish("u1", attempt.getId(), null);
+        Attempt again = attemptService.finish("u1", attempt.getId(), null);
+
+        // Then
+        assertTrue(finished.isFinished());
+        assertFalse(finished.isExpired());
+        assertEquals(33, finished.getScore());
+        assertEquals(33, again.getScore());
+        ArgumentCaptor<Result> result = ArgumentCaptor.forClass(Result.class);
+        verify(resultWriteBehind).submit(result.capture());
+        assertEquals("attempt:" + attempt.getId(), result.getValue().getSubmissionKey());
+        verify(leaderboardService).record(result.getValue());
+        verify(scoringService).attachAnswers(result.getValue(), new int[] {-1, 2, -1});
+        verify(quizStatsService).record(result.getValue());
+        ArgumentCaptor<Attempt> claimed = ArgumentCaptor.forClass(Attempt.class);
+        verify(attemptRepository).claimFinish(claimed.capture());
+        assertTrue(claimed.getValue().isFinished());
+        assertEquals(33, claimed.getValue().getScore());
+        assertEquals("node1", claimed.getValue().getOwner());
+        assertEquals(AttemptService.AnswerOutcome.CLOSED, attemptService.answer("u1", attempt.getId(), 0, 0));
+    }
+
+    @Test
+    void testFinish_ClaimedByOtherNode() {
+        // Given: another node took the attempt over and finished it first
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        when(attemptRepository.claimFinish(any(Attempt.class))).thenReturn(false);
+        Attempt stored = new Attempt();
+        stored.setId(attempt.getId());
+        stored.setUserId("u1");
+        stored.setFinished(true);
+        stored.setScore(67);
+        when(attemptRepository.findById(attempt.getId())).thenReturn(Optional.of(stored));
+
+        // When
+        Attempt finished = attemptService.finish("u1", attempt.getId(), null);
+
+        // Then: its outcome stands and no second result is recorded
+        assertSame(stored, finished);
+        verifyNoInteractions(resultWriteBehind, leaderboardService, quizStatsService);
+        assertEquals(0, attemptService.getLiveCount());
+        assertEquals(0, attemptService.getOpenCount());
+        assertEquals(0, attemptService.getFinishedCount());
+    }
+
+    @Test
+    void testFinish_FinalAnswersIgnoredAfterDeadline() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        when(scoringService.score(any(Quiz.class), eq(new int[] {1, -1, -1}), eq(3))).thenReturn(33);
+
+        // When: past the deadline and its grace period
+        setClock(start.plus(Duration.ofSeconds(70)));
+        Attempt finished = attemptService.finish("u1", attempt.getId(), new int[] {1, 1, 1});
+
+        // Then
+        assertArrayEquals(new byte[] {1, -1, -1}, finished.getAnswers());
+        assertTrue(finished.isExpired());
+        assertEquals(33, finished.getScore());
+    }
+
+    @Test
+    void testFinish_BacklogFullKeepsAttemptOpen() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        when(resultWriteBehind.submit(any(Result.class)))
+                .thenThrow(new com.quizplatform.quizapp.exception.SubmissionBacklogException("full"));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> attemptService.finish("u1", attempt.getId(), null));
+        verify(attemptRepository).releaseFinish(attempt.getId(), "node1");
+        assertEquals(AttemptService.AnswerOutcome.SAVED, attemptService.answer("u1", attempt.getId(), 0, 1));
+        assertEquals(1, attemptService.getOpenCount());
+    }
+
+    @Test
+    void testExpire_FinalizesAfterDeadlineAndGrace() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        when(scoringService.score(any(Quiz.class), eq(new int[] {1, 0, -1}), eq(3))).thenReturn(67);
+
+        // When: just past the deadline the grace period still accepts answers in flight
+        setClock(start.plus(Duration.ofSeconds(61)));
+        attemptService.expire();
+        assertEquals(AttemptService.AnswerOutcome.SAVED, attemptService.answer("u1", attempt.getId(), 1, 0));
+        setClock(start.plus(Duration.ofSeconds(66)));
+        attemptService.expire();
+
+        // Then
+        Attempt expired = attemptService.get("u1", attempt.getId());
+        assertTrue(expired.isFinished());
+        assertTrue(expired.isExpired());
+        assertEquals(67, expired.getScore());
+        assertEquals(1, attemptService.getExpiredCount());
+        assertEquals(0, attemptService.getOpenCount());
+        verify(resultWriteBehind).submit(any(Result.class));
+        verify(attemptRepository).claimFinishAll(anyList());
+        verify(attemptRepository, never()).claimFinish(any(Attempt.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testExpire_ClaimsDueAttemptsInOneBatch() {
+        // Given: two attempts, one of which another node already finished
+        Attempt first = attemptService.start("u1", "quiz1");
+        Attempt second = attemptService.start("u2", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        when(attemptRepository.claimFinishAll(anyList())).thenReturn(Set.of(second.getId()));
+
+        // When
+        setClock(start.plus(Duration.ofSeconds(66)));
+        attemptService.expire();
+
+        // Then
+        ArgumentCaptor<List<Attempt>> claimed = ArgumentCaptor.forClass(List.class);
+        verify(attemptRepository).claimFinishAll(claimed.capture());
+        assertEquals(2, claimed.getValue().size());
+        verify(resultWriteBehind, times(1)).submit(any(Result.class));
+        assertTrue(attemptService.get("u1", first.getId()).isFinished());
+        assertEquals(1, attemptService.getExpiredCount());
+        assertEquals(1, attemptService.getLiveCount());
+    }
+
+    @Test
+    void testExpire_FailedClaimReopensForRetry() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        when(attemptRepository.claimFinishAll(anyList())).thenThrow(new RuntimeException("Mongo down")).thenReturn(Set.of());
+
+        // When: the retry is due five seconds later
+        setClock(start.plus(Duration.ofSeconds(66)));
+        attemptService.expire();
+        assertFalse(attemptService.get("u1", attempt.getId()).isFinished());
+        setClock(start.plus(Duration.ofSeconds(72)));
+        attemptService.expire();
+
+        // Then
+        assertTrue(attemptService.get("u1", attempt.getId()).isFinished());
+        verify(resultWriteBehind, times(1)).submit(any(Result.class));
+    }
+
+    @Test
+    void testExpire_HandedOffTheSchedulerThread() {
+        // Given: an expiry thread that has not run yet
+        List<Runnable> handedOff = new java.util.ArrayList<>();
+        ReflectionTestUtils.setField(attemptService, "expiryExecutor", (Executor) handedOff::add);
+        attemptService.start("u1", "quiz1");
+        clearInvocations(attemptRepository);
+
+        // When
+        setClock(start.plus(Duration.ofSeconds(66)));
+        attemptService.expire();
+
+        // Then
+        assertEquals(1, handedOff.size());
+        verifyNoInteractions(attemptRepository, resultWriteBehind);
+    }
+
+    @Test
+    void testFinish_ClaimRunsWithoutAttemptLock() {
+        // Given: reading the attempt from another thread while the claim is in flight
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        when(attemptRepository.claimFinish(any(Attempt.class))).thenAnswer(invocation -> {
+            CompletableFuture<Attempt> read = CompletableFuture.supplyAsync(() -> attemptService.get("u1", attempt.getId()));
+            assertFalse(read.get(2, TimeUnit.SECONDS).isFinished());
+            assertEquals(AttemptService.AnswerOutcome.CLOSED, attemptService.answer("u1", attempt.getId(), 0, 1));
+            return true;
+        });
+
+        // When
+        Attempt finished = attemptService.finish("u1", attempt.getId(), null);
+
+        // Then
+        assertTrue(finished.isFinished());
+        assertArrayEquals(new byte[] {-1, -1, -1}, finished.getAnswers());
+    }
+
+    @Test
+    void testFinish_QuizEditedDuringAttemptNotScored() {
+        // Given: same question count, but the options of the first question changed
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        Quiz edited = new Quiz();
+        edited.setId("quiz1");
+        Question changed = new Question();
+        changed.setOptions(List.of("x", "y"));
+        edited.setQuestions(List.of(changed, new Question(), new Question()));
+        edited.setDurationSeconds(60);
+        when(quizService.findCached("quiz1")).thenReturn(CachedQuiz.of(edited, new ObjectMapper()));
+
+        // When
+        Attempt finished = attemptService.finish("u1", attempt.getId(), null);
+
+        // Then
+        assertTrue(finished.isFinished());
+        assertNull(finished.getScore());
+        verify(scoringService, never()).score(any(Quiz.class), any(int[].class), anyInt());
+        verifyNoInteractions(resultWriteBehind);
+    }
+
+    @Test
+    void testFlush_ForgetsFinishedAttempts() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        when(scoringService.score(any(Quiz.class), any(int[].class), anyInt())).thenReturn(0);
+        attemptService.finish("u1", attempt.getId(), null);
+
+        // When
+        attemptService.flush();
+
+        // Then: served from MongoDB from now on
+        assertEquals(0, attemptService.getLiveCount());
+        Attempt stored = new Attempt();
+        stored.setId(attempt.getId());
+        stored.setUserId("u1");
+        stored.setFinished(true);
+        when(attemptRepository.findById(attempt.getId())).thenReturn(Optional.of(stored));
+        assertSame(stored, attemptService.finish("u1", attempt.getId(), null));
+    }
+
+    @Test
+    void testFlush_DropsAttemptTakenOver() {
+        // Given: this node stalled past its lease and another node adopted the attempt
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        when(attemptRepository.upsertAll(anyList())).thenReturn(Set.of(attempt.getId()));
+
+        // When
+        attemptService.flush();
+
+        // Then
+        assertEquals(0, attemptService.getLiveCount());
+        assertEquals(0, attemptService.getOpenCount());
+        assertEquals(0, attemptService.getFlushedCount());
+    }
+
+    @Test
+    void testFlush_RenewsLeasesOfUnchangedAttempts() {
+        // Given
+        Attempt attempt = attemptService.start("u1", "quiz1");
+        attemptService.answer("u1", attempt.getId(), 0, 1);
+        attemptService.flush();
+
+        // When: nothing changed, but a third of the lease has passed
+        setClock(start.plusSeconds(5));
+        attemptService.flush();
+        setClock(start.plusSeconds(10));
+        attemptService.flush();
+
+        // Then
+        verify(attemptRepository).renewLeases(List.of(attempt.getId()), "node1", start.plusSeconds(40));
+        verify(attemptRepository, times(1)).renewLeases(anyList(), any(), any());
+    }
+
+    @Test
+    void testLoad_ResumesOpenAttempts() {
+        // Given
+        Attempt stored = new Attempt();
+        stored.setId("650000000000000000000001");
+        stored.setUserId("u1");
+        stored.setQuizId("quiz1");
+        stored.setAnswers(new byte[] {2, -1, -1});
+        stored.setStartedAt(start.minusSeconds(30));
+        stored.setDeadline(start.plusSeconds(30));
+        when(attemptRepository.claimOpen("node1", start, start.plusSeconds(30))).thenReturn(List.of(stored));
+
+        // When
+        attemptService.load();
+
+        // Then
+        Attempt resumed = attemptService.start("u1", "quiz1");
+        assertEquals("650000000000000000000001", resumed.getId());
+        assertArrayEquals(new byte[] {2, -1, -1}, resumed.getAnswers());
+    }
+
+    @Test
+    void testFinish_PooledAttemptScoredInQuizOrder() {
+        // Given: two of four questions, shuffled, with shuffled options
+        Quiz pooled = new Quiz();
+        pooled.setId("quiz2");
+        List<Question> questions = new java.util.ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Question question = new Question();
+            question.setOptions(List.of("a", "b", "c"));
+            questions.add(question);
+        }
+        pooled.setQuestions(questions);
+        pooled.setShuffleQuestions(true);
+        pooled.setShuffleOptions(true);
+        pooled.setPoolSize(2);
+        when(quizService.findById("quiz2")).thenReturn(Optional.of(pooled));
+        when(quizService.findCached("quiz2")).thenReturn(CachedQuiz.of(pooled, new ObjectMapper()));
+        Attempt attempt = attemptService.start("u1", "quiz2");
+        QuizShuffle shuffle = QuizShuffle.of(pooled, attempt.getSeed());
+        when(scoringService.score(eq(pooled), any(int[].class), eq(2))).thenReturn(50);
+
+        // When: the first displayed option of the first displayed question
+        assertEquals(2, attempt.getAnswers().length);
+        assertEquals(2, attemptService.questions(attempt).size());
+        attemptService.answer("u1", attempt.getId(), 0, 0);
+        Attempt finished = attemptService.finish("u1", attempt.getId(), null);
+
+        // Then
+        assertEquals(50, finished.getScore());
+        int[] expected = {-1, -1, -1, -1};
+        expected[shuffle.questionAt(0)] = shuffle.optionOrder(0)[0];
+        ArgumentCaptor<Result> result = ArgumentCaptor.forClass(Result.class);
+        verify(scoringService).attachAnswers(result.capture(), eq(expected));
+        assertEquals("quiz2", result.getValue().getQuizId());
+        assertEquals(50, result.getValue().getScore());
+        verify(quizStatsService).record(result.getValue());
+    }
+}
@@ -0,0 +1,125 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.LeaderboardEntry;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private Result result(String quizId, String userId, int score) {
+        Result result = new Result();
+        result.setQuizId(quizId);
+        result.setUserId(userId);
+        result.setScore(score);
+        return result;
+    }
+
+    @Test
+    void testTop_OrderedByScoreWithSharedRanks() {
+        // Given
+        leaderboardService.record(result("quiz1", "alice", 80));
+        leaderboardService.record(result("quiz1", "bob", 95));
+        leaderboardService.record(result("quiz1", "carol", 80));
+        leaderboardService.record(result("quiz1", "dave", 40));
+
+        // When
+        List<LeaderboardEntry> top = leaderboardService.top("quiz1", 10);
+
+        // Then
+        assertEquals(List.of("bob", "alice", "carol", "dave"), top.stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(List.of(1, 2, 2, 4), top.stream().map(LeaderboardEntry::getRank).toList());
+        assertEquals(4, leaderboardService.participants("quiz1"));
+    }
+
+    @Test
+    void testTop_RespectsLimit() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            leaderboardService.record(result("quiz1", "user" + i, i * 5));
+        }
+
+        // When
+        List<LeaderboardEntry> top = leaderboardService.top("quiz1", 3);
+
+        // Then
+        assertEquals(3, top.size());
+        assertEquals(95, top.get(0).getScore());
+        assertEquals(85, top.get(2).getScore());
+    }
+
+    @Test
+    void testRecord_KeepsBestScorePerUser() {
+        // Given
+        leaderboardService.record(result("quiz1", "alice", 60));
+        leaderboardService.record(result("quiz1", "bob", 70));
+
+        // When
+        leaderboardService.record(result("quiz1", "alice", 90));
+        leaderboardService.record(result("quiz1", "alice", 50));
+
+        // Then
+        LeaderboardEntry alice = leaderboardService.rankOf("quiz1", "alice");
+        assertEquals(90, alice.getScore());
+        assertEquals(1, alice.getRank());
+        assertEquals(2, leaderboardService.rankOf("quiz1", "bob").getRank());
+        assertEquals(2, leaderboardService.participants("quiz1"));
+    }
+
+    @Test
+    void testRankOf_UnknownUserOrQuiz() {
+        // Given
+        leaderboardService.record(result("quiz1", "alice", 60));
+
+        // When / Then
+        assertNull(leaderboardService.rankOf("quiz1", "bob"));
+        assertNull(leaderboardService.rankOf("quiz2", "alice"));
+        assertTrue(leaderboardService.top("quiz2", 10).isEmpty());
+    }
+
+    @Test
+    void testRankOf_ExtremeScores() {
+        // Given
+        leaderboardService.record(result("quiz1", "perfect", 100));
+        leaderboardService.record(result("quiz1", "zero", 0));
+
+        // When / Then
+        assertEquals(1, leaderboardService.rankOf("quiz1", "perfect").getRank());
+        assertEquals(2, leaderboardService.rankOf("quiz1", "zero").getRank());
+    }
+
+    @Test
+    void testRebuild_LoadsAllResults() {
+        // Given
+        when(resultRepository.streamAllScores()).thenReturn(Stream.of(
+                result("quiz1", "alice", 70),
+                result("quiz1", "bob", 90),
+                result("quiz2", "alice", 30),
+                result(null, "ghost", 50)));
+
+        // When
+        leaderboardService.rebuild();
+
+        // Then
+        assertEquals(2, leaderboardService.rankOf("quiz1", "alice").getRank());
+        assertEquals(1, leaderboardService.rankOf("quiz2", "alice").getRank());
+        assertEquals(2, leaderboardService.participants("quiz1"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.exception.LoginCapacityException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginHashPoolTest {
+
+    private LoginHashPool loginHashPool;
+
+    @AfterEach
+    void tearDown() {
+        loginHashPool.shutdown();
+    }
+
+    @Test
+    void testCall_ReturnsResultFromPoolThread() {
+        // Given
+        loginHashPool = new LoginHashPool(1, 1, 2000);
+        loginHashPool.start();
+
+        // When
+        String threadName = loginHashPool.call(() -> Thread.currentThread().getName());
+
+        // Then
+        assertTrue(threadName.startsWith("login-hash-"));
+        assertEquals(1, loginHashPool.getCompletedCount());
+    }
+
+    @Test
+    void testCall_ShedsWhenQueueFull() throws InterruptedException {
+        // Given: one thread busy and the single queue slot taken
+        loginHashPool = new LoginHashPool(1, 1, 2000);
+        loginHashPool.start();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        assertTrue(loginHashPool.tryExecute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        assertTrue(loginHashPool.tryExecute(() -> { }));
+
+        // When / Then
+        assertThrows(LoginCapacityException.class, () -> loginHashPool.call(() -> true));
+        assertFalse(loginHashPool.tryExecute(() -> { }));
+        assertEquals(1, loginHashPool.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    void testCall_TimesOutWhenWorkTooSlow() {
+        // Given
+        loginHashPool = new LoginHashPool(1, 4, 50);
+        loginHashPool.start();
+        CountDownLatch release = new CountDownLatch(1);
+        loginHashPool.tryExecute(() -> awaitQuietly(release));
+
+        // When / Then
+        assertThrows(LoginCapacityException.class, () -> loginHashPool.call(() -> true));
+        assertEquals(1, loginHashPool.getTimedOutCount());
+        release.countDown();
+    }
+
+    @Test
+    void testCall_PropagatesTaskException() {
+        // Given
+        loginHashPool = new LoginHashPool(1, 1, 2000);
+        loginHashPool.start();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> loginHashPool.call(() -> {
+            throw new IllegalArgumentException("bad hash");
+        }));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
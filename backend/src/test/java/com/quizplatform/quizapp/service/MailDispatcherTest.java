@@ -0,0 +1,98 @@
+package com.quizplatform.quizapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailDispatcher = new MailDispatcher(2, 1, 10, 3, 10);
+        ReflectionTestUtils.setField(mailDispatcher, "mailSender", mailSender);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailDispatcher.shutdown();
+    }
+
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setText("OTP");
+        return message;
+    }
+
+    @Test
+    void testEnqueue_SentByWorker() {
+        // Given
+        mailDispatcher.start();
+
+        // When
+        mailDispatcher.enqueue(message("test@example.com"));
+
+        // Then
+        verify(mailSender, timeout(2000)).send(any(SimpleMailMessage[].class));
+        assertTrue(mailDispatcher.isEnabled());
+    }
+
+    @Test
+    void testEnqueue_RetriedAfterFailure() {
+        // Given
+        doThrow(new MailSendException("SMTP down"))
+                .doNothing()
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+        mailDispatcher.start();
+
+        // When
+        mailDispatcher.enqueue(message("test@example.com"));
+
+        // Then
+        verify(mailSender, timeout(2000).times(2)).send(any(SimpleMailMessage[].class));
+        assertEquals(1, mailDispatcher.getRetryCount());
+    }
+
+    @Test
+    void testEnqueue_GivesUpAfterMaxAttempts() {
+        // Given
+        doThrow(new MailSendException("SMTP down")).when(mailSender).send(any(SimpleMailMessage[].class));
+        mailDispatcher.start();
+
+        // When
+        mailDispatcher.enqueue(message("test@example.com"));
+
+        // Then
+        verify(mailSender, timeout(2000).times(3)).send(any(SimpleMailMessage[].class));
+        verify(mailSender, after(100).times(3)).send(any(SimpleMailMessage[].class));
+        assertEquals(1, mailDispatcher.getFailedCount());
+    }
+
+    @Test
+    void testEnqueue_RejectedWhenQueueFull() {
+        // Given: workers not started, so nothing drains the queue
+        mailDispatcher.enqueue(message("a@example.com"));
+        mailDispatcher.enqueue(message("b@example.com"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> mailDispatcher.enqueue(message("c@example.com")));
+        assertEquals(1, mailDispatcher.getRejectedCount());
+    }
+}
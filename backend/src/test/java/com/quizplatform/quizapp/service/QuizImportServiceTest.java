@@ -0,0 +1,204 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.ImportReport;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizImportServiceTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizService quizService;
+
+    private QuizImportService quizImportService;
+
+    // Copies of every batch, since the service reuses its list
+    private final List<List<Quiz>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        quizImportService = new QuizImportService(2);
+        ReflectionTestUtils.setField(quizImportService, "quizRepository", quizRepository);
+        ReflectionTestUtils.setField(quizImportService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(quizImportService, "quizService", quizService);
+        lenient().when(quizRepository.insertUnordered(anyList())).thenAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.<List<Quiz>>getArgument(0)));
+            return Map.of();
+        });
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quizJson(String title, int correctOption) {
+        return "{\"title\":\"" + title + "\",\"questions\":[{\"questionText\":\"Q\",\"options\":[\"a\",\"b\",\"c\"],\"correctOption\":"
+                + correctOption + "}]}";
+    }
+
+    @Test
+    void testImportJson_BatchesValidQuizzes() throws Exception {
+        // When
+        ImportReport report = quizImportService.importJson(body(
+                "[" + quizJson("One", 0) + "," + quizJson("Two", 1) + "," + quizJson("Three", 2) + "]"));
+
+        // Then
+        assertEquals(3, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals("Three", batches.get(1).get(0).getTitle());
+        assertEquals(2, batches.get(1).get(0).getQuestions().get(0).getCorrectOption());
+    }
+
+    @Test
+    void testImportJson_ReportsInvalidRecordsAndContinues() throws Exception {
+        // When
+        ImportReport report = quizImportService.importJson(body(
+                "[" + quizJson("Bad", 3) + ", 42, " + quizJson("Good", 0) + "]"));
+
+        // Then
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertFalse(report.isAborted());
+        assertEquals(1, report.getErrors().get(0).getRecord());
+        assertTrue(report.getErrors().get(0).getMessage().contains("correctOption 3 is out of range"));
+        assertEquals(2, report.getErrors().get(1).getRecord());
+    }
+
+    @Test
+    void testImportJson_MalformedAbortsButKeepsEarlierRecords() throws Exception {
+        // When
+        ImportReport report = quizImportService.importJson(body("[" + quizJson("One", 0) + ", {\"title\": }"));
+
+        // Then
+        assertTrue(report.isAborted());
+        assertEquals(1, report.getImported());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testImportJson_NotAnArray() throws Exception {
+        // When
+        ImportReport report = quizImportService.importJson(body(quizJson("One", 0)));
+
+        // Then
+        assertTrue(report.isAborted());
+        verify(quizRepository, never()).insertUnordered(anyList());
+    }
+
+    @Test
+    void testImportJson_DatabaseFailuresMappedToRecords() throws Exception {
+        // Given
+        when(quizRepository.insertUnordered(anyList())).thenReturn(Map.of(1, "E11000 duplicate key"));
+
+        // When
+        ImportReport report = quizImportService.importJson(body("[" + quizJson("One", 0) + "," + quizJson("Two", 0) + "]"));
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getRecord());
+        assertEquals("Two", report.getErrors().get(0).getTitle());
+    }
+
+    @Test
+    void testImportCsv_GroupsRowsByTitle() throws Exception {
+        // Given
+        String csv = "title,durationSeconds,questionText,correctOption,option1,option2,option3\r\n"
+                + "Algebra,600,\"What is 1+1, really?\",1,1,2,3\r\n"
+                + "Algebra,600,\"Say \"\"x\"\"\",0,x,y,\r\n"
+                + "\r\n"
+                + "Geometry,,\"Sides of a\ntriangle\",2,2,4,3\r\n";
+
+        // When
+        ImportReport report = quizImportService.importCsv(body(csv));
+
+        // Then
+        assertEquals(2, report.getImported());
+        assertEquals(1, batches.size());
+        Quiz algebra = batches.get(0).get(0);
+        assertEquals("Algebra", algebra.getTitle());
+        assertEquals(600, algebra.getDurationSeconds());
+        assertEquals(2, algebra.getQuestions().size());
+        assertEquals("What is 1+1, really?", algebra.getQuestions().get(0).getQuestionText());
+        assertEquals("Say \"x\"", algebra.getQuestions().get(1).getQuestionText());
+        assertEquals(List.of("x", "y"), algebra.getQuestions().get(1).getOptions());
+        Quiz geometry = batches.get(0).get(1);
+        assertNull(geometry.getDurationSeconds());
+        assertEquals("Sides of a\ntriangle", geometry.getQuestions().get(0).getQuestionText());
+    }
+
+    @Test
+    void testImportCsv_RejectsQuizWithBadRow() throws Exception {
+        // Given
+        String csv = "title,durationSeconds,questionText,correctOption,option1,option2\n"
+                + "Broken,60,Q1,zero,a,b\n"
+                + "Broken,60,Q2,0,a,b\n"
+                + "Fine,60,Q1,1,a,b\n";
+
+        // When
+        ImportReport report = quizImportService.importCsv(body(csv));
+
+        // Then
+        assertEquals(2, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals("Broken", report.getErrors().get(0).getTitle());
+        assertTrue(report.getErrors().get(0).getMessage().contains("Line 2"));
+    }
+
+    @Test
+    void testImportCsv_MissingHeader() throws Exception {
+        // When
+        ImportReport report = quizImportService.importCsv(body("Algebra,600,Q,1,a,b\n"));
+
+        // Then
+        assertTrue(report.isAborted());
+        assertEquals(0, report.getReceived());
+    }
+
+    @Test
+    void testValidate_Rules() {
+        Quiz quiz = new Quiz();
+        assertEquals("title is required", QuizImportService.validate(quiz));
+        quiz.setTitle("T");
+        assertEquals("at least one question is required", QuizImportService.validate(quiz));
+
+        Question question = new Question();
+        question.setQuestionText("Q");
+        question.setOptions(List.of("only"));
+        quiz.setQuestions(List.of(question));
+        assertTrue(QuizImportService.validate(quiz).contains("options"));
+
+        question.setOptions(List.of("a", "b"));
+        question.setCorrectOption(-1);
+        assertTrue(QuizImportService.validate(quiz).contains("out of range"));
+
+        question.setCorrectOption(1);
+        assertNull(QuizImportService.validate(quiz));
+    }
+}
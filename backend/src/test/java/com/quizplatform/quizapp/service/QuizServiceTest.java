@@ -0,0 +1,182 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizServiceTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private QuizService quizService;
+
+    private Quiz testQuiz;
+
+    @BeforeEach
+    void setUp() {
+        quizService = new QuizService(1_000_000, 600);
+        ReflectionTestUtils.setField(quizService, "quizRepository", quizRepository);
+        ReflectionTestUtils.setField(quizService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(quizService, "objectMapper", new ObjectMapper());
+
+        Question question = new Question();
+        question.setQuestionText("What is 2 + 2?");
+        question.setOptions(List.of("3", "4"));
+        question.setCorrectOption(1);
+
+        testQuiz = new Quiz();
+        testQuiz.setId("quiz1");
+        testQuiz.setTitle("Test Quiz");
+        testQuiz.setQuestions(List.of(question));
+    }
+
+    @Test
+    void testFindById_ServedFromCacheAfterFirstLoad() {
+        // Given
+        when(quizRepository.findById("quiz1")).thenReturn(Optional.of(testQuiz));
+
+        // When
+        quizService.findById("quiz1");
+        Optional<Quiz> result = quizService.findById("quiz1");
+
+        // Then
+        assertTrue(result.isPresent());
+        verify(quizRepository, times(1)).findById("quiz1");
+        assertEquals(1, quizService.getCacheStats().hitCount());
+        assertEquals(1, quizService.getCacheStats().missCount());
+    }
+
+    @Test
+    void testFindById_MissIsNotCached() {
+        // Given
+        when(quizRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When
+        quizService.findById("missing");
+        Optional<Quiz> result = quizService.findById("missing");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(quizRepository, times(2)).findById("missing");
+    }
+
+    @Test
+    void testSave_InvalidatesAndPublishesEvent() {
+        // Given
+        when(quizRepository.findById("quiz1")).thenReturn(Optional.of(testQuiz));
+        when(quizRepository.save(any(Quiz.class))).thenReturn(testQuiz);
+        quizService.findById("quiz1");
+
+        // When
+        quizService.save(testQuiz);
+        quizService.findById("quiz1");
+
+        // Then
+        verify(quizRepository, times(2)).findById("quiz1");
+        ArgumentCaptor<QuizChangedEvent> event = ArgumentCaptor.forClass(QuizChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("quiz1", event.getValue().getQuizId());
+    }
+
+    @Test
+    void testFindCached_ETagFollowsContent() {
+        // Given
+        Quiz copy = new Quiz();
+        copy.setId("quiz1");
+        copy.setTitle("Test Quiz");
+        copy.setQuestions(testQuiz.getQuestions());
+        when(quizRepository.findById("quiz1")).thenReturn(Optional.of(testQuiz), Optional.of(copy));
+        when(quizRepository.save(any(Quiz.class))).thenReturn(testQuiz);
+
+        // When
+        String first = quizService.findCached("quiz1").getETag();
+        quizService.save(testQuiz);
+        String unchanged = quizService.findCached("quiz1").getETag();
+        copy.setTitle("Renamed");
+        quizService.save(copy);
+        String renamed = quizService.findCached("quiz1").getETag();
+
+        // Then: equal content gives an equal tag, whichever object it was loaded into
+        assertEquals(first, unchanged);
+        assertNotEquals(first, renamed);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+
+    @Test
+    void testCatalogETag_ChangesOnWrite() {
+        // Given
+        when(quizRepository.save(any(Quiz.class))).thenReturn(testQuiz);
+        when(quizRepository.incrementCatalogVersion()).thenReturn(1L, 2L);
+        String before = quizService.getCatalogETag();
+
+        // When
+        quizService.save(testQuiz);
+
+        // Then
+        assertNotEquals(before, quizService.getCatalogETag());
+        String saved = quizService.getCatalogETag();
+        quizService.catalogChanged();
+        assertNotEquals(saved, quizService.getCatalogETag());
+    }
+
+    @Test
+    void testCatalogETag_FollowsWritesOnOtherNodes() {
+        // Given
+        when(quizRepository.findCatalogVersion()).thenReturn(7L, 3L);
+        String before = quizService.getCatalogETag();
+
+        // When
+        quizService.refreshCatalogVersion();
+        String refreshed = quizService.getCatalogETag();
+        quizService.refreshCatalogVersion();
+
+        // Then: a stale read never moves the tag back
+        assertNotEquals(before, refreshed);
+        assertEquals("W/\"catalog-7\"", refreshed);
+        assertEquals(refreshed, quizService.getCatalogETag());
+    }
+
+    @Test
+    void testSave_SucceedsWhenCatalogVersionFails() {
+        // Given
+        when(quizRepository.save(any(Quiz.class))).thenReturn(testQuiz);
+        when(quizRepository.incrementCatalogVersion()).thenThrow(new RuntimeException("Mongo down"));
+
+        // When
+        Quiz saved = quizService.save(testQuiz);
+
+        // Then
+        assertSame(testQuiz, saved);
+    }
+
+    @Test
+    void testEstimateSize_GrowsWithQuestions() {
+        // Given
+        Quiz empty = new Quiz();
+        empty.setTitle("Test Quiz");
+
+        // Then
+        assertTrue(QuizService.estimateSize(testQuiz) > QuizService.estimateSize(empty));
+    }
+}
@@ -0,0 +1,135 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.ShuffledQuestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizShuffleTest {
+
+    private static Quiz quiz(int questionCount, boolean shuffleQuestions, boolean shuffleOptions, Integer poolSize) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setQuestionText("Q" + i);
+            question.setOptions(List.of("A" + i, "B" + i, "C" + i, "D" + i));
+            question.setCorrectOption(i % 4);
+            questions.add(question);
+        }
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        quiz.setQuestions(questions);
+        quiz.setShuffleQuestions(shuffleQuestions);
+        quiz.setShuffleOptions(shuffleOptions);
+        quiz.setPoolSize(poolSize);
+        return quiz;
+    }
+
+    private static int[] order(QuizShuffle shuffle) {
+        int[] order = new int[shuffle.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = shuffle.questionAt(i);
+        }
+        return order;
+    }
+
+    @Test
+    void testOf_SameSeedSamePermutation() {
+        // Given
+        Quiz quiz = quiz(30, true, true, null);
+
+        // When
+        QuizShuffle first = QuizShuffle.of(quiz, 42L);
+        QuizShuffle second = QuizShuffle.of(quiz, 42L);
+        QuizShuffle other = QuizShuffle.of(quiz, 43L);
+
+        // Then
+        assertArrayEquals(order(first), order(second));
+        assertArrayEquals(first.optionOrder(5), second.optionOrder(5));
+        assertFalse(Arrays.equals(order(first), order(other)));
+        int[] sorted = order(first).clone();
+        Arrays.sort(sorted);
+        assertEquals(0, sorted[0]);
+        assertEquals(29, sorted[29]);
+    }
+
+    @Test
+    void testOf_PoolDrawsDistinctQuestionsInQuizOrder() {
+        // Given: sampled but not shuffled
+        Quiz quiz = quiz(20, false, false, 5);
+
+        // When
+        int[] order = order(QuizShuffle.of(quiz, 7L));
+
+        // Then
+        assertEquals(5, order.length);
+        for (int i = 1; i < order.length; i++) {
+            assertTrue(order[i - 1] < order[i]);
+        }
+    }
+
+    @Test
+    void testOf_NoShuffleIsIdentity() {
+        // Given
+        Quiz quiz = quiz(3, false, false, 10);
+
+        // When
+        QuizShuffle shuffle = QuizShuffle.of(quiz, 99L);
+
+        // Then: a pool larger than the quiz asks everything
+        assertArrayEquals(new int[] {0, 1, 2}, order(shuffle));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, shuffle.optionOrder(1));
+        assertArrayEquals(new int[] {2, -1, 0}, shuffle.toQuizOrder(new int[] {2, -1, 0}));
+    }
+
+    @Test
+    void testQuestions_ViewSharesQuizStrings() {
+        // Given
+        Quiz quiz = quiz(10, true, true, 4);
+        QuizShuffle shuffle = QuizShuffle.of(quiz, 5L);
+
+        // When
+        List<ShuffledQuestion> questions = shuffle.questions();
+
+        // Then
+        assertEquals(4, questions.size());
+        for (int position = 0; position < questions.size(); position++) {
+            Question original = quiz.getQuestions().get(shuffle.questionAt(position));
+            ShuffledQuestion shown = questions.get(position);
+            assertSame(original.getQuestionText(), shown.questionText());
+            int[] optionOrder = shuffle.optionOrder(position);
+            for (int i = 0; i < optionOrder.length; i++) {
+                assertSame(original.getOptions().get(optionOrder[i]), shown.options().get(i));
+            }
+        }
+    }
+
+    @Test
+    void testToQuizOrder_CorrectDisplayedAnswersScoreFull() {
+        // Given: a student picks the right option as displayed
+        Quiz quiz = quiz(12, true, true, 6);
+        QuizShuffle shuffle = QuizShuffle.of(quiz, 123L);
+        List<ShuffledQuestion> questions = shuffle.questions();
+        int[] displayed = new int[shuffle.size()];
+        for (int position = 0; position < displayed.length; position++) {
+            Question original = quiz.getQuestions().get(shuffle.questionAt(position));
+            String correct = original.getOptions().get(original.getCorrectOption());
+            displayed[position] = questions.get(position).options().indexOf(correct);
+        }
+
+        // When
+        int[] mapped = shuffle.toQuizOrder(displayed);
+
+        // Then: scored out of the six questions asked; the rest are unanswered
+        assertEquals(12, mapped.length);
+        assertEquals(6, Arrays.stream(mapped).filter(answer -> answer == -1).count());
+        assertEquals(100, AnswerKey.of(quiz).score(mapped, shuffle.size()));
+        assertThrows(IllegalArgumentException.class, () -> shuffle.toQuizOrder(new int[12]));
+    }
+}
@@ -0,0 +1,286 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizStatsSnapshot;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.QuizStatsRepository;
+import com.quizplatform.quizapp.repository.QuizStatsRepositoryCustom.FoldedStats;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizStatsServiceTest {
+
+    // Fold lag of 120 s: results before NOW - 120 s are due
+    private static final long NOW = 1_700_000_000L;
+    private static final ObjectId FOLD_TO = ObjectId.getSmallestWithDate(new Date((NOW - 120) * 1000));
+
+    @Mock
+    private QuizStatsRepository quizStatsRepository;
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @Mock
+    private QuizService quizService;
+
+    @InjectMocks
+    private QuizStatsService quizStatsService;
+
+    private AnswerKey answerKey;
+
+    @BeforeEach
+    void setUp() {
+        Quiz quiz = new Quiz();
+        Question first = new Question();
+        first.setCorrectOption(1);
+        Question second = new Question();
+        second.setCorrectOption(2);
+        quiz.setQuestions(List.of(first, second));
+        answerKey = AnswerKey.of(quiz);
+        ReflectionTestUtils.setField(quizStatsService, "foldLagMillis", 120_000L);
+        ReflectionTestUtils.setField(quizStatsService, "clock", Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+    }
+
+    private Result result(long epochSeconds, String quizId, int score, int... answers) {
+        Result result = new Result();
+        result.setId(new ObjectId(new Date(epochSeconds * 1000)).toHexString());
+        result.setQuizId(quizId);
+        result.setScore(score);
+        result.setAnswers(AnswerKey.pack(answers));
+        result.setCorrectMask(answerKey.correctMask(answers));
+        return result;
+    }
+
+    private static QuizStatsSnapshot stored(String quizId, ObjectId foldedTo, int... scores) {
+        QuizStats quizStats = new QuizStats(quizId);
+        for (int score : scores) {
+            quizStats.recordScore(score);
+        }
+        QuizStatsSnapshot snapshot = quizStats.snapshot();
+        snapshot.setFoldedTo(foldedTo);
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FoldedStats> savedFold() {
+        ArgumentCaptor<List<FoldedStats>> saved = ArgumentCaptor.forClass(List.class);
+        verify(quizStatsRepository).saveFold(saved.capture(), any(), eq(FOLD_TO));
+        return saved.getValue();
+    }
+
+    @Test
+    void testRecord_RunningAggregates() {
+        // When
+        quizStatsService.record(result(NOW, "quiz1", 100, 1, 2));
+        quizStatsService.record(result(NOW, "quiz1", 50, 1, 0));
+        quizStatsService.record(result(NOW - 30, "quiz1", 0, 0, -1));
+
+        // Then
+        QuizStatsSnapshot stats = quizStatsService.get("quiz1");
+        assertEquals(3, stats.getCount());
+        assertEquals(50.0, stats.getMean(), 1e-9);
+        assertEquals(2500.0, stats.variance(), 1e-9);
+        assertEquals(0, stats.getMin());
+        assertEquals(100, stats.getMax());
+        assertEquals(50, stats.scoreAtPercentile(50));
+        assertEquals(100, stats.scoreAtPercentile(90));
+        assertArrayEquals(new long[]{3, 2}, stats.getQuestionAttempts());
+        assertArrayEquals(new long[]{2, 1}, stats.getQuestionCorrect());
+    }
+
+    @Test
+    void testTallyAnswers_OnlyCurrentVersion() {
+        // Given
+        Quiz quiz = new Quiz();
+        quiz.setId("quiz1");
+        quiz.setQuestions(List.of(new Question(), new Question()));
+        CachedQuiz cached = CachedQuiz.of(quiz, new ObjectMapper());
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When
+        AnswerTally tally = quizStatsService.tallyAnswers("quiz1");
+
+        // Then: results graded against an earlier version of the questions are left out
+        assertEquals(2, tally.getQuestionCount());
+        verify(resultRepository).scanAnswers(eq("quiz1"), eq(cached.getVersion()), any());
+    }
+
+    @Test
+    void testGet_UnknownQuiz() {
+        assertNull(quizStatsService.get("missing"));
+    }
+
+    @Test
+    void testOnQuizChanged_ResetsPerQuestionCounts() {
+        // Given
+        quizStatsService.record(result(NOW, "quiz1", 100, 1, 2));
+
+        // When
+        quizStatsService.onQuizChanged(new QuizChangedEvent("quiz1"));
+        quizStatsService.record(result(NOW, "quiz1", 0, 0, 0));
+
+        // Then
+        QuizStatsSnapshot stats = quizStatsService.get("quiz1");
+        assertEquals(2, stats.getCount());
+        assertArrayEquals(new long[]{1, 1}, stats.getQuestionAttempts());
+        assertArrayEquals(new long[]{0, 0}, stats.getQuestionCorrect());
+    }
+
+    @Test
+    void testOnQuizChanged_ResetsStoredQuestionCounts() {
+        // Given
+        QuizStatsSnapshot snapshot = stored("quiz1", FOLD_TO, 80);
+        snapshot.setQuestionAttempts(new long[]{1, 1});
+        snapshot.setQuestionCorrect(new long[]{1, 0});
+        when(quizStatsRepository.findAll()).thenReturn(List.of(snapshot));
+        quizStatsService.fold();
+
+        // When
+        quizStatsService.onQuizChanged(new QuizChangedEvent("quiz1"));
+
+        // Then
+        verify(quizStatsRepository).resetQuestions("quiz1", ObjectId.getSmallestWithDate(new Date(NOW * 1000)));
+        QuizStatsSnapshot stats = quizStatsService.get("quiz1");
+        assertEquals(1, stats.getCount());
+        assertEquals(0, stats.getQuestionAttempts().length);
+    }
+
+    @Test
+    void testFold_FirstFoldCountsEveryResult() {
+        // Given
+        Result first = result(NOW - 600, "quiz1", 40, 1, 2);
+        Result second = result(NOW - 300, "quiz1", 60, 0, 2);
+        Result other = result(NOW - 300, "quiz2", 100, 1, 2);
+        when(quizStatsRepository.findAll()).thenReturn(List.of());
+        when(resultRepository.streamForStats(any(), eq(FOLD_TO))).thenReturn(Stream.of(first, second, other));
+
+        // When
+        quizStatsService.load();
+
+        // Then
+        List<FoldedStats> folded = savedFold();
+        assertEquals(2, folded.size());
+        FoldedStats quiz1 = folded.stream().filter(f -> f.stats().getQuizId().equals("quiz1")).findFirst().orElseThrow();
+        assertEquals(2, quiz1.stats().getCount());
+        assertEquals(50.0, quiz1.stats().getMean(), 1e-9);
+        assertArrayEquals(new long[]{2, 2}, quiz1.stats().getQuestionAttempts());
+        assertArrayEquals(new long[]{1, 2}, quiz1.stats().getQuestionCorrect());
+        assertEquals(FOLD_TO, quiz1.stats().getFoldedTo());
+        assertNull(quiz1.expectedFoldedTo());
+    }
+
+    @Test
+    void testFold_SkipsResultsBelowEachQuizPosition() {
+        // Given: quiz1 is folded further than quiz2, so the scan starts at quiz2's position
+        ObjectId quiz2At = ObjectId.getSmallestWithDate(new Date((NOW - 900) * 1000));
+        ObjectId quiz1At = ObjectId.getSmallestWithDate(new Date((NOW - 600) * 1000));
+        when(quizStatsRepository.findAll()).thenReturn(List.of(stored("quiz1", quiz1At, 80), stored("quiz2", quiz2At, 20)));
+        when(resultRepository.streamForStats(quiz2At, FOLD_TO)).thenReturn(Stream.of(
+                result(NOW - 700, "quiz1", 80, 1, 2),
+                result(NOW - 500, "quiz1", 40, 1, 2),
+                result(NOW - 700, "quiz2", 60, 1, 2)));
+
+        // When
+        quizStatsService.fold();
+
+        // Then
+        List<FoldedStats> folded = savedFold();
+        for (FoldedStats entry : folded) {
+            assertEquals(2, entry.stats().getCount());
+            assertEquals(FOLD_TO, entry.stats().getFoldedTo());
+        }
+        FoldedStats quiz1 = folded.stream().filter(f -> f.stats().getQuizId().equals("quiz1")).findFirst().orElseThrow();
+        assertEquals(60.0, quiz1.stats().getMean(), 1e-9);
+        assertEquals(quiz1At, quiz1.expectedFoldedTo());
+        verify(quizStatsRepository).saveFold(anyList(), eq(quiz2At), eq(FOLD_TO));
+    }
+
+    @Test
+    void testFold_RecountsStatsWrittenBeforeFolding() {
+        // Given: last-writer-wins statistics from before folding, missing a submission
+        when(quizStatsRepository.findAll()).thenReturn(List.of(stored("quiz1", null, 40)));
+        when(resultRepository.streamForStats(any(), eq(FOLD_TO))).thenReturn(Stream.of(
+                result(NOW - 600, "quiz1", 40, 1, 2),
+                result(NOW - 500, "quiz1", 60, 1, 2)));
+
+        // When
+        quizStatsService.fold();
+
+        // Then
+        List<FoldedStats> folded = savedFold();
+        assertEquals(1, folded.size());
+        assertEquals(2, folded.get(0).stats().getCount());
+        assertEquals(50.0, folded.get(0).stats().getMean(), 1e-9);
+    }
+
+    @Test
+    void testFold_NothingDue() {
+        // Given
+        when(quizStatsRepository.findAll()).thenReturn(List.of(stored("quiz1", FOLD_TO, 80)));
+
+        // When
+        quizStatsService.fold();
+
+        // Then
+        verify(resultRepository, never()).streamForStats(any(), any());
+        verify(quizStatsRepository, never()).saveFold(anyList(), any(), any());
+        assertEquals(1, quizStatsService.get("quiz1").getCount());
+    }
+
+    @Test
+    void testFold_DropsOwnSubmissionsOnceFolded() {
+        // Given: one submission due for folding, one too recent
+        Result folded = result(NOW - 300, "quiz1", 40, 1, 2);
+        quizStatsService.record(folded);
+        quizStatsService.record(result(NOW - 60, "quiz1", 100, 1, 2));
+        when(quizStatsRepository.findAll())
+                .thenReturn(List.of())
+                .thenReturn(List.of(stored("quiz1", FOLD_TO, 40, 90)));
+        when(resultRepository.streamForStats(any(), eq(FOLD_TO))).thenReturn(Stream.of(folded));
+
+        // When
+        quizStatsService.fold();
+
+        // Then: stored (including another node's 90) plus the unfolded 100
+        QuizStatsSnapshot stats = quizStatsService.get("quiz1");
+        assertEquals(3, stats.getCount());
+        assertEquals(40, stats.getMin());
+        assertEquals(100, stats.getMax());
+    }
+
+    @Test
+    void testFold_FailureKeepsOwnSubmissions() {
+        // Given
+        quizStatsService.record(result(NOW - 300, "quiz1", 40, 1, 2));
+        when(quizStatsRepository.findAll()).thenThrow(new RuntimeException("down"));
+
+        // When
+        quizStatsService.fold();
+
+        // Then
+        assertEquals(1, quizStatsService.get("quiz1").getCount());
+    }
+}
@@ -0,0 +1,115 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultExportServiceTest {
+
+    private static final String ID_1 = "65000000aaaaaaaaaaaaaaa1";
+    private static final String ID_2 = "65000001aaaaaaaaaaaaaaa2";
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ResultExportService resultExportService;
+
+    private Result result(String id, String userId, String quizId, int score) {
+        Result result = new Result();
+        result.setId(id);
+        result.setUserId(userId);
+        result.setQuizId(quizId);
+        result.setScore(score);
+        return result;
+    }
+
+    @Test
+    void testExport_Ndjson() throws Exception {
+        // Given
+        when(resultRepository.streamForExport(isNull(), isNull(), isNull()))
+                .thenReturn(Stream.of(result(ID_1, "u1", "quiz1", 80), result(ID_2, "u2", "quiz1", 55)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = resultExportService.export(ResultExportService.Format.NDJSON, null, null, null, out);
+
+        // Then
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        var first = objectMapper.readTree(lines[0]);
+        assertEquals(ID_1, first.get("id").asText());
+        assertEquals(80, first.get("score").asInt());
+        assertEquals(new ObjectId(ID_1).getDate().toInstant().toString(), first.get("submittedAt").asText());
+    }
+
+    @Test
+    void testExport_CsvQuotesSpecialCharacters() throws Exception {
+        // Given
+        when(resultRepository.streamForExport(eq("quiz,1"), isNull(), isNull()))
+                .thenReturn(Stream.of(result(ID_1, "u1", "quiz,1", 80)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = resultExportService.export(ResultExportService.Format.CSV, "quiz,1", null, null, out);
+
+        // Then
+        assertEquals(1, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,userId,quizId,score,submittedAt", lines[0]);
+        assertTrue(lines[1].startsWith(ID_1 + ",u1,\"quiz,1\",80,"));
+    }
+
+    @Test
+    void testExport_DateRangeBecomesIdRange() throws Exception {
+        // Given
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        when(resultRepository.streamForExport(any(), any(), any())).thenReturn(Stream.empty());
+
+        // When
+        resultExportService.export(ResultExportService.Format.NDJSON, null, from, to, new ByteArrayOutputStream());
+
+        // Then
+        verify(resultRepository).streamForExport(null,
+                new ObjectId(String.format("%08x0000000000000000", from.getEpochSecond())),
+                new ObjectId(String.format("%08x0000000000000000", to.getEpochSecond())));
+        assertEquals(from, ResultExportService.lowerBound(from).getDate().toInstant());
+    }
+
+    @Test
+    void testExport_ClosesCursor() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(resultRepository.streamForExport(isNull(), isNull(), isNull()))
+                .thenReturn(Stream.of(result(ID_1, "u1", "quiz1", 80)).onClose(() -> closed.set(true)));
+
+        // When
+        resultExportService.export(ResultExportService.Format.CSV, null, null, null, new ByteArrayOutputStream());
+
+        // Then
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,180 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.exception.SubmissionBacklogException;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultWriteBehindTest {
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @TempDir
+    Path journalDir;
+
+    private ResultWriteBehind writeBehind;
+
+    private ResultWriteBehind create(ResultRepository repository, int batchSize, long maxDelayMs, int capacity) throws Exception {
+        ResultWriteBehind instance = new ResultWriteBehind(true, journalDir.toString(), 1 << 20, batchSize, maxDelayMs, capacity);
+        ReflectionTestUtils.setField(instance, "resultRepository", repository);
+        instance.start();
+        return instance;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    private Result result(String userId, int score) {
+        Result result = new Result();
+        result.setUserId(userId);
+        result.setQuizId("quiz1");
+        result.setScore(score);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testSubmit_CoalescedIntoOneBatch() throws Exception {
+        // Given
+        writeBehind = create(resultRepository, 3, 5000, 100);
+
+        // When
+        Result first = writeBehind.submit(result("u1", 10));
+        writeBehind.submit(result("u2", 20));
+        writeBehind.submit(result("u3", 30));
+
+        // Then: a full batch goes out without waiting for max delay
+        ArgumentCaptor<List<Result>> batch = ArgumentCaptor.forClass(List.class);
+        verify(resultRepository, timeout(2000)).insertIgnoringDuplicates(batch.capture());
+        assertEquals(3, batch.getValue().size());
+        assertNotNull(first.getId());
+        verify(resultRepository, never()).insert(any(Result.class));
+    }
+
+    @Test
+    void testSubmit_PartialBatchFlushedAfterMaxDelay() throws Exception {
+        // Given
+        writeBehind = create(resultRepository, 100, 50, 100);
+
+        // When
+        writeBehind.submit(result("u1", 10));
+
+        // Then
+        verify(resultRepository, timeout(2000)).insertIgnoringDuplicates(anyList());
+        assertEquals(1, writeBehind.getRecordCount());
+        assertEquals(0, writeBehind.getBacklog());
+        assertTrue(writeBehind.getJournalSyncCount() >= 1);
+    }
+
+    @Test
+    void testJournal_DeletedOnceFlushed() throws Exception {
+        // Given
+        writeBehind = create(resultRepository, 1, 10, 100);
+
+        // When
+        writeBehind.submit(result("u1", 10));
+        verify(resultRepository, timeout(2000)).insertIgnoringDuplicates(anyList());
+
+        // Then: only an empty segment for new appends remains
+        writeBehind.shutdown();
+        writeBehind = null;
+        for (File file : journalDir.toFile().listFiles()) {
+            assertEquals(0, file.length(), file.getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testStart_ReplaysUnflushedResults() throws Exception {
+        // Given: MongoDB is down, so the first instance never gets its batch out
+        ResultRepository unavailable = mock(ResultRepository.class);
+        when(unavailable.insertIgnoringDuplicates(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        ResultWriteBehind crashed = create(unavailable, 10, 10, 100);
+        Result a = crashed.submit(result("u1", 10));
+        Result b = crashed.submit(result("u2", 20));
+        verify(unavailable, timeout(2000)).insertIgnoringDuplicates(anyList());
+        crashed.shutdown();
+
+        // When
+        writeBehind = create(resultRepository, 10, 10, 100);
+
+        // Then: the same ids are inserted, so anything already written is skipped
+        ArgumentCaptor<List<Result>> batch = ArgumentCaptor.forClass(List.class);
+        verify(resultRepository, timeout(2000)).insertIgnoringDuplicates(batch.capture());
+        assertEquals(List.of(a.getId(), b.getId()), batch.getValue().stream().map(Result::getId).toList());
+        assertEquals(2, writeBehind.getReplayedCount());
+    }
+
+    @Test
+    void testSubmit_RejectedWhenBacklogFull() throws Exception {
+        // Given: the first flush blocks, so its result stays in the backlog
+        CountDownLatch release = new CountDownLatch(1);
+        when(resultRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        writeBehind = create(resultRepository, 1, 10, 1);
+        writeBehind.submit(result("u1", 10));
+
+        // When / Then
+        assertThrows(SubmissionBacklogException.class, () -> writeBehind.submit(result("u2", 20)));
+        assertEquals(1, writeBehind.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    void testSubmit_DisabledSavesDirectly() throws Exception {
+        // Given
+        writeBehind = new ResultWriteBehind(false, journalDir.toString(), 1 << 20, 10, 10, 10);
+        ReflectionTestUtils.setField(writeBehind, "resultRepository", resultRepository);
+        writeBehind.start();
+        Result result = result("u1", 10);
+
+        // When
+        writeBehind.submit(result);
+
+        // Then
+        verify(resultRepository).insert(result);
+        verify(resultRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void testSubmit_KeyedResultInsertedBeforeAcknowledging() throws Exception {
+        // Given
+        writeBehind = create(resultRepository, 10, 10, 100);
+        Result result = result("u1", 10);
+        result.setSubmissionKey("attempt-1");
+        when(resultRepository.insert(result)).thenThrow(new DuplicateKeyException("E11000"));
+
+        // When / Then: the unique index answers before the client does
+        assertThrows(DuplicateKeyException.class, () -> writeBehind.submit(result));
+        assertEquals(0, writeBehind.getBacklog());
+        verify(resultRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+}
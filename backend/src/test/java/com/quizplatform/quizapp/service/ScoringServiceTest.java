@@ -0,0 +1,184 @@
+package com.quizplatform.quizapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScoringServiceTest {
+
+    @Mock
+    private QuizService quizService;
+
+    @InjectMocks
+    private ScoringService scoringService;
+
+    private Quiz testQuiz;
+    private CachedQuiz cached;
+
+    @BeforeEach
+    void setUp() {
+        testQuiz = new Quiz();
+        testQuiz.setId("quiz1");
+        testQuiz.setTitle("Test Quiz");
+        testQuiz.setQuestions(Arrays.asList(question(0), question(2), question(1)));
+        cached = CachedQuiz.of(testQuiz, new ObjectMapper());
+    }
+
+    private Question question(int correctOption) {
+        Question question = new Question();
+        question.setQuestionText("Question");
+        question.setOptions(List.of("A", "B", "C"));
+        question.setCorrectOption(correctOption);
+        return question;
+    }
+
+    @Test
+    void testScore_AllCorrect() {
+        // Given
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When
+        int score = scoringService.score("quiz1", new int[] {0, 2, 1});
+
+        // Then
+        assertEquals(100, score);
+    }
+
+    @Test
+    void testScore_ShuffledQuizOnlyThroughAttempts() {
+        // Given
+        testQuiz.setPoolSize(2);
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When / Then: answers in stored order would skip the sample
+        assertThrows(IllegalArgumentException.class, () -> scoringService.score("quiz1", new int[] {0, 2, 1}));
+        testQuiz.setPoolSize(null);
+        testQuiz.setShuffleOptions(true);
+        assertThrows(IllegalArgumentException.class, () -> scoringService.score(testQuiz, new int[] {0, 2, 1}));
+    }
+
+    @Test
+    void testScore_PartialAndUnanswered() {
+        // Given
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When
+        int score = scoringService.score("quiz1", new int[] {0, -1, 2});
+
+        // Then
+        assertEquals(33, score);
+    }
+
+    @Test
+    void testScore_AnswerKeyKeptWithCachedQuiz() {
+        // Given
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When
+        AnswerKey first = scoringService.getAnswerKey("quiz1");
+        AnswerKey second = scoringService.getAnswerKey("quiz1");
+
+        // Then
+        assertSame(first, second);
+        assertSame(cached.getAnswerKey(), first);
+    }
+
+    @Test
+    void testScore_ReloadedQuizGradedWithNewKey() {
+        // Given: the cache entry was dropped and reloaded after an edit
+        Quiz edited = new Quiz();
+        edited.setId("quiz1");
+        edited.setQuestions(Arrays.asList(question(1), question(2), question(1)));
+        when(quizService.findCached("quiz1")).thenReturn(cached, CachedQuiz.of(edited, new ObjectMapper()));
+
+        // When
+        int before = scoringService.score("quiz1", new int[] {0, 2, 1});
+        int after = scoringService.score("quiz1", new int[] {0, 2, 1});
+
+        // Then
+        assertEquals(100, before);
+        assertEquals(67, after);
+    }
+
+    @Test
+    void testScore_WrongAnswerCount() {
+        // Given
+        when(quizService.findCached("quiz1")).thenReturn(cached);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> scoringService.score("quiz1", new int[] {0, 2}));
+    }
+
+    @Test
+    void testScore_QuizNotFound() {
+        // Given
+        when(quizService.findCached("missing")).thenReturn(null);
+
+        // When
+        int score = scoringService.score("missing", new int[] {0});
+
+        // Then
+        assertEquals(-1, score);
+    }
+
+    @Test
+    void testScore_LoadedQuizNeverLooksUp() {
+        // Given
+        when(quizService.getIfCached("quiz1")).thenReturn(cached);
+
+        // When
+        int score = scoringService.score(testQuiz, new int[] {0, 2, 1});
+
+        // Then: the cached quiz's key, without a blocking load
+        assertEquals(100, score);
+        verify(quizService, never()).findCached(anyString());
+    }
+
+    @Test
+    void testScore_UncachedQuizBuildsKey() {
+        // When
+        int score = scoringService.score(testQuiz, new int[] {0, -1, -1});
+
+        // Then
+        assertEquals(33, score);
+        verify(quizService, never()).findCached(anyString());
+    }
+
+    @Test
+    void testScore_OptionOutOfByteRange() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> scoringService.score(testQuiz, new int[] {0, 200, 1}));
+        assertThrows(IllegalArgumentException.class, () -> scoringService.score(testQuiz, new int[] {0, -2, 1}));
+    }
+
+    @Test
+    void testAttachAnswers_PacksAnswersAndCorrectMask() {
+        // Given: key is {0, 2, 1}
+        when(quizService.getIfCached("quiz1")).thenReturn(cached);
+        Result result = new Result();
+        result.setQuizId("quiz1");
+
+        // When
+        scoringService.attachAnswers(result, new int[] {0, -1, 1});
+
+        // Then
+        assertArrayEquals(new byte[] {0, -1, 1}, result.getAnswers());
+        assertArrayEquals(new byte[] {0b101}, result.getCorrectMask());
+        assertEquals(cached.getVersion(), result.getQuizVersion());
+    }
+}
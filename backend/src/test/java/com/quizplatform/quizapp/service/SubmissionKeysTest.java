@@ -0,0 +1,50 @@
+package com.quizplatform.quizapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionKeysTest {
+
+    private final SubmissionKeys submissionKeys = new SubmissionKeys(100, 1);
+
+    @Test
+    void testClaim_SecondClaimReturnsFirstScore() {
+        // When
+        Integer first = submissionKeys.claim("u1", "attempt-1", 80);
+        Integer second = submissionKeys.claim("u1", "attempt-1", 40);
+
+        // Then
+        assertNull(first);
+        assertEquals(80, second);
+        assertEquals(1, submissionKeys.getDuplicateCount());
+    }
+
+    @Test
+    void testClaim_KeysAreScopedPerUser() {
+        // When
+        submissionKeys.claim("u1", "attempt-1", 80);
+
+        // Then
+        assertNull(submissionKeys.claim("u2", "attempt-1", 50));
+    }
+
+    @Test
+    void testRelease_AllowsRetry() {
+        // Given
+        submissionKeys.claim("u1", "attempt-1", 80);
+
+        // When
+        submissionKeys.release("u1", "attempt-1");
+
+        // Then
+        assertNull(submissionKeys.claim("u1", "attempt-1", 80));
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(SubmissionKeys.isValid("0b7e1c2a-5f0e-4a8e-9d1c-1f2e3d4c5b6a"));
+        assertFalse(SubmissionKeys.isValid(" "));
+        assertFalse(SubmissionKeys.isValid("x".repeat(129)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.quizplatform.quizapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void testAdvance_FiresOnlyReachedDeadlines() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 500);
+
+        // When
+        List<String> early = wheel.advance(200);
+        List<String> first = wheel.advance(300);
+        List<String> second = wheel.advance(500);
+
+        // Then
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("a"), first);
+        assertEquals(List.of("b"), second);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_DeadlineBeyondOneRevolutionWaitsItsTurn() {
+        // Given: 8 slots of 100ms, so 1300ms shares a slot with 500ms
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        wheel.schedule("far", 1300);
+
+        // When
+        List<String> firstLap = wheel.advance(800);
+        List<String> secondLap = wheel.advance(1300);
+
+        // Then
+        assertTrue(firstLap.isEmpty());
+        assertEquals(List.of("far"), secondLap);
+    }
+
+    @Test
+    void testAdvance_CatchesUpAfterLongPause() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+        wheel.schedule("a", 300);
+        wheel.schedule("b", 2500);
+
+        // When: one call covers several revolutions
+        List<String> expired = wheel.advance(10_000);
+
+        // Then
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("a", "b")));
+    }
+
+    @Test
+    void testSchedule_PastDeadlineFiresOnNextTick() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, 1000);
+
+        // When
+        wheel.schedule("late", 0);
+
+        // Then
+        assertEquals(List.of("late"), wheel.advance(1100));
+    }
+}
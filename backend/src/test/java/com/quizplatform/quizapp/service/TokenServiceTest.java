@@ -0,0 +1,96 @@
+package com.quizplatform.quizapp.service;
+
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+
+    private AuthPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService("test-secret", 60);
+
+        principal = new AuthPrincipal();
+        principal.setId("1");
+        principal.setUsername("student");
+        principal.setRole("STUDENT");
+        principal.setEmail("student@example.com");
+    }
+
+    @Test
+    void testVerify_RoundTrip() {
+        // When
+        AuthPrincipal verified = tokenService.verify(tokenService.issue(principal));
+
+        // Then
+        assertEquals(principal, verified);
+    }
+
+    @Test
+    void testVerify_TamperedPayloadRejected() {
+        // Given
+        String token = tokenService.issue(principal);
+        AuthPrincipal admin = new AuthPrincipal();
+        admin.setId("1");
+        admin.setUsername("student");
+        admin.setRole("ADMIN");
+        String forgedPayload = tokenService.issue(admin).split("\\.")[0];
+
+        // When
+        AuthPrincipal verified = tokenService.verify(forgedPayload + "." + token.split("\\.")[1]);
+
+        // Then
+        assertNull(verified);
+    }
+
+    @Test
+    void testVerify_OtherSecretRejected() {
+        // Given
+        TokenService otherNode = new TokenService("another-secret", 60);
+
+        // When
+        AuthPrincipal verified = otherNode.verify(tokenService.issue(principal));
+
+        // Then
+        assertNull(verified);
+    }
+
+    @Test
+    void testVerify_SharedSecretAcceptedByOtherNode() {
+        // Given
+        TokenService otherNode = new TokenService("test-secret", 60);
+
+        // When
+        AuthPrincipal verified = otherNode.verify(tokenService.issue(principal));
+
+        // Then
+        assertEquals("student", verified.getUsername());
+    }
+
+    @Test
+    void testVerify_ExpiredTokenRejected() {
+        // Given
+        TokenService expired = new TokenService("test-secret", -1);
+
+        // When
+        AuthPrincipal verified = tokenService.verify(expired.issue(principal));
+
+        // Then
+        assertNull(verified);
+    }
+
+    @Test
+    void testVerify_MalformedTokens() {
+        assertNull(tokenService.verify(null));
+        assertNull(tokenService.verify(""));
+        assertNull(tokenService.verify("abc"));
+        assertNull(tokenService.verify("abc."));
+        assertNull(tokenService.verify("!!!.???"));
+    }
+}
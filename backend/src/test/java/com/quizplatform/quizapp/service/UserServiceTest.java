@@ -1,5 +1,6 @@
 package com.quizplatform.quizapp.service;
 
+import com.quizplatform.quizapp.exception.LoginCapacityException;
 import com.quizplatform.quizapp.model.User;
 import com.quizplatform.quizapp.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,7 +9,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -21,7 +24,10 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private LoginHashPool loginHashPool;
 
     @InjectMocks
     private UserService userService;
@@ -35,6 +41,14 @@ class UserServiceTest {
         testUser.setPassword("password123");
         testUser.setEmail("test@example.com");
         testUser.setRole("STUDENT");
+
+        // Run pooled work inline so the tests stay single-threaded
+        lenient().when(loginHashPool.call(any())).thenAnswer(invocation ->
+                ((Callable<?>) invocation.getArgument(0)).call());
+        lenient().when(loginHashPool.tryExecute(any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return true;
+        });
     }
 
     @Test
@@ -87,6 +101,7 @@ class UserServiceTest {
         User adminUser = new User();
         adminUser.setUsername("adminuser");
         adminUser.setPassword("password");
+        adminUser.setEmail("admin@example.com");
         adminUser.setRole("ADMIN");
         
         when(userRepository.findByUsername(anyString())).thenReturn(null);
@@ -139,6 +154,53 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
         verify(passwordEncoder, times(1)).matches("password123", "encoded_password");
+        verify(loginHashPool, times(1)).call(any());
+        verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testLoginUser_RehashesOutdatedHash() {
+        // Given
+        testUser.setId("user1");
+        testUser.setPassword("old_hash");
+        when(userRepository.findByUsername("testuser")).thenReturn(testUser);
+        when(passwordEncoder.matches("password123", "old_hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old_hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("new_hash");
+
+        // When
+        User result = userService.loginUser("testuser", "password123");
+
+        // Then
+        assertNotNull(result);
+        verify(userRepository, times(1)).replacePasswordHash("user1", "old_hash", "new_hash");
+    }
+
+    @Test
+    void testLoginUser_NoRehashOnFailedLogin() {
+        // Given
+        testUser.setPassword("old_hash");
+        when(userRepository.findByUsername("testuser")).thenReturn(testUser);
+        when(passwordEncoder.matches("wrong", "old_hash")).thenReturn(false);
+
+        // When
+        User result = userService.loginUser("testuser", "wrong");
+
+        // Then
+        assertNull(result);
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+        verify(loginHashPool, never()).tryExecute(any());
+    }
+
+    @Test
+    void testLoginUser_ShedWhenPoolSaturated() {
+        // Given
+        when(userRepository.findByUsername("testuser")).thenReturn(testUser);
+        doThrow(new LoginCapacityException("busy")).when(loginHashPool).call(any());
+
+        // When / Then
+        assertThrows(LoginCapacityException.class, () -> userService.loginUser("testuser", "password123"));
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
     @Test
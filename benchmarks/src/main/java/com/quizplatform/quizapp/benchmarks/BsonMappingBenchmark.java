@@ -0,0 +1,69 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.quizplatform.quizapp.model.Quiz;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Data mapping of Quiz to and from BSON, which every cache miss and
+ * quiz save pays. No database is needed; the converter runs standalone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BsonMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int questionCount;
+
+    private MappingMongoConverter converter;
+    private DocumentCodec codec;
+    private Quiz quiz;
+    private Document quizDocument;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        codec = new DocumentCodec();
+
+        quiz = Fixtures.quiz(questionCount);
+        quizDocument = new Document();
+        converter.write(quiz, quizDocument);
+    }
+
+    @Benchmark
+    public Document writeQuiz() {
+        Document document = new Document();
+        converter.write(quiz, document);
+        return document;
+    }
+
+    @Benchmark
+    public Quiz readQuiz() {
+        return converter.read(Quiz.class, quizDocument);
+    }
+
+    @Benchmark
+    public int writeQuizToBsonBytes() {
+        Document document = new Document();
+        converter.write(quiz, document);
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.getPosition();
+    }
+}
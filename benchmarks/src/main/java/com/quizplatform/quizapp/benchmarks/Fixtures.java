@@ -0,0 +1,75 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.model.Result;
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Quiz quiz(int questionCount) {
+        Quiz quiz = new Quiz();
+        quiz.setId(new ObjectId().toHexString());
+        quiz.setTitle("Benchmark quiz with " + questionCount + " questions");
+        quiz.setDurationSeconds(1800);
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setQuestionText("Question " + i + ": which of the following statements about topic " + i + " is correct?");
+            question.setOptions(List.of("First option " + i, "Second option " + i, "Third option " + i, "Fourth option " + i));
+            question.setCorrectOption(i % 4);
+            questions.add(question);
+        }
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+
+    static List<Result> results(int count, int distinctQuizzes) {
+        List<Result> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Result result = new Result();
+            result.setId(new ObjectId().toHexString());
+            result.setUserId("user" + (i % 37));
+            result.setQuizId("quiz" + (i % distinctQuizzes));
+            result.setScore((i * 7) % 101);
+            results.add(result);
+        }
+        return results;
+    }
+
+    static Map<String, QuizSummary> summaries(int distinctQuizzes) {
+        Map<String, QuizSummary> summaries = new HashMap<>();
+        for (int i = 0; i < distinctQuizzes; i++) {
+            QuizSummary summary = new QuizSummary();
+            summary.setId("quiz" + i);
+            summary.setTitle("Quiz " + i);
+            summary.setQuestionCount(20);
+            summaries.put(summary.getId(), summary);
+        }
+        return summaries;
+    }
+
+    // The backend uses field injection, so wire collaborators the same way Spring does
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.model.Submission;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the payloads the API sends and receives most: a full quiz
+ * for the quiz page, a page of results, and a submission.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int questionCount;
+
+    private ObjectMapper objectMapper;
+    private Quiz quiz;
+    private byte[] quizJson;
+    private List<Result> results;
+    private byte[] submissionJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same defaults as the mapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        quiz = Fixtures.quiz(questionCount);
+        quizJson = objectMapper.writeValueAsBytes(quiz);
+        results = Fixtures.results(50, 10);
+
+        Submission submission = new Submission();
+        submission.setQuizId(quiz.getId());
+        int[] answers = new int[questionCount];
+        for (int i = 0; i < questionCount; i++) {
+            answers[i] = i % 4;
+        }
+        submission.setAnswers(answers);
+        submissionJson = objectMapper.writeValueAsBytes(submission);
+    }
+
+    @Benchmark
+    public byte[] serializeQuiz() throws Exception {
+        return objectMapper.writeValueAsBytes(quiz);
+    }
+
+    @Benchmark
+    public Quiz deserializeQuiz() throws Exception {
+        return objectMapper.readValue(quizJson, Quiz.class);
+    }
+
+    @Benchmark
+    public byte[] serializeResultPage() throws Exception {
+        return objectMapper.writeValueAsBytes(results);
+    }
+
+    @Benchmark
+    public Submission deserializeSubmission() throws Exception {
+        return objectMapper.readValue(submissionJson, Submission.class);
+    }
+}
@@ -0,0 +1,144 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver for the quiz-start and submit paths, used to
+ * compare a running backend with threads.virtual.enabled off and on.
+ * Not a JMH benchmark: it needs a live server and MongoDB.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.quizplatform.quizapp.benchmarks.LoadTest \
+ *     http://localhost:8080 QUIZ_ID username password 400 30
+ * </pre>
+ * Arguments: base URL, quiz id, username, password, concurrent clients,
+ * duration in seconds. One token is shared by all clients; each loops
+ * GET quiz followed by POST submit, backing off exponentially after a
+ * failed iteration. The backend must run with auth.mode=token.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final long MAX_ERROR_BACKOFF_MS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("Usage: LoadTest <baseUrl> <quizId> <username> <password> <clients> <seconds>");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        String quizId = args[1];
+        String username = args[2];
+        String password = args[3];
+        int clients = Integer.parseInt(args[4]);
+        long deadline = System.nanoTime() + Duration.ofSeconds(Long.parseLong(args[5])).toNanos();
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String token = login(http, baseUrl, username, password);
+        String submitBody = submission(http, baseUrl, quizId, token);
+
+        AtomicLong errors = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(pool.submit(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                long backoffMs = 10;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    boolean ok = send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/quizzes/" + quizId))
+                            .header("Authorization", "Bearer " + token).GET().build())
+                            && send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/api/results/submit"))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(submitBody)).build());
+                    if (!ok) {
+                        errors.incrementAndGet();
+                        // Back off so a failing server is not hammered in a tight loop; jitter keeps clients apart
+                        long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                        Thread.sleep(Math.max(0, Math.min(remainingMs, ThreadLocalRandom.current().nextLong(backoffMs / 2, backoffMs + 1))));
+                        backoffMs = Math.min(backoffMs * 2, MAX_ERROR_BACKOFF_MS);
+                        continue;
+                    }
+                    backoffMs = 10;
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, n);
+            }));
+        }
+
+        long started = System.nanoTime();
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            results.add(future.get());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+
+        long[] all = results.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("clients=%d iterations=%d errors=%d throughput=%.1f it/s p50=%.1f ms p99=%.1f ms%n",
+                clients, all.length, errors.get(), all.length / seconds,
+                percentile(all, 50) / 1e6, percentile(all, 99) / 1e6);
+    }
+
+    private static String login(HttpClient http, String baseUrl, String username, String password) throws Exception {
+        ObjectNode body = JSON.createObjectNode().put("username", username).put("password", password);
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed: " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).path("token").asText();
+    }
+
+    // Answers every question with option 0; the body is built once and reused
+    private static String submission(HttpClient http, String baseUrl, String quizId, String token) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/quizzes/" + quizId))
+                .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Quiz " + quizId + " not found: " + response.statusCode());
+        }
+        int questions = JSON.readTree(response.body()).path("questions").size();
+        ObjectNode body = JSON.createObjectNode().put("quizId", quizId);
+        body.set("answers", JSON.valueToTree(new int[questions]));
+        return body.toString();
+    }
+
+    private static boolean send(HttpClient http, HttpRequest request) {
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
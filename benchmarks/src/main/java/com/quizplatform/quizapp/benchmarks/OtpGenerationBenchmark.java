@@ -0,0 +1,60 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.quizplatform.quizapp.repository.OtpRepository;
+import com.quizplatform.quizapp.service.EmailService;
+import com.quizplatform.quizapp.service.OtpService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP issuance through OtpService.generateAndSendOtp, single-threaded and
+ * contended. The repository and email service are no-op stand-ins, so
+ * what is measured is code generation plus the service's own overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OtpGenerationBenchmark {
+
+    private OtpService otpService;
+
+    @Setup
+    public void setUp() {
+        OtpRepository otpRepository = (OtpRepository) Proxy.newProxyInstance(
+                OtpRepository.class.getClassLoader(),
+                new Class<?>[]{OtpRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "upsertOtp" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "NoOpOtpRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        EmailService emailService = new EmailService() {
+            @Override
+            public void sendOtpEmail(String toEmail, String otp) {
+            }
+        };
+
+        otpService = new OtpService();
+        Fixtures.inject(otpService, "otpRepository", otpRepository);
+        Fixtures.inject(otpService, "emailService", emailService);
+    }
+
+    @Benchmark
+    public String generateOtp() {
+        return otpService.generateAndSendOtp("bench@example.com");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateOtpContended() {
+        return otpService.generateAndSendOtp("bench@example.com");
+    }
+}
@@ -0,0 +1,55 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.quizplatform.quizapp.config.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one login hash check at different BCrypt strengths. Use this to
+ * size auth.login.hash-threads and to judge a strength increase: each step
+ * doubles the time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private PasswordEncoder delegating;
+    private String legacyHash;
+    private String prefixedHash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        delegating = new SecurityConfig().passwordEncoder("bcrypt", strength);
+        legacyHash = bcrypt.encode(PASSWORD);
+        prefixedHash = delegating.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(PASSWORD, legacyHash);
+    }
+
+    @Benchmark
+    public boolean delegatingMatches() {
+        return delegating.matches(PASSWORD, prefixedHash);
+    }
+
+    @Benchmark
+    public boolean delegatingMatchesLegacyHash() {
+        return delegating.matches(PASSWORD, legacyHash);
+    }
+}
@@ -0,0 +1,54 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.service.CachedQuiz;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Body cost of GET /api/quizzes/{id}: serializing and gzipping the quiz on
+ * every request (Jackson plus the container's compression at its default
+ * level), against building the cached payload once per cache load. Serving
+ * a cached payload itself is just handing over a byte array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizPayloadBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int questionCount;
+
+    private ObjectMapper objectMapper;
+    private Quiz quiz;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        quiz = Fixtures.quiz(questionCount);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPerRequest() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(quiz);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public CachedQuiz buildCachedPayload() {
+        return CachedQuiz.of(quiz, objectMapper);
+    }
+}
@@ -0,0 +1,93 @@
+package com.quizplatform.quizapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizplatform.quizapp.controllers.ResultController;
+import com.quizplatform.quizapp.model.AuthPrincipal;
+import com.quizplatform.quizapp.model.QuizSummary;
+import com.quizplatform.quizapp.model.Result;
+import com.quizplatform.quizapp.repository.ResultRepository;
+import com.quizplatform.quizapp.service.QuizService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller-side cost of a results page: building the response map and
+ * resolving quiz titles, with and without JSON serialization. The
+ * repository and quiz service are in-memory stand-ins, so only the
+ * controller's own work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMapBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ResultController resultController;
+    private AuthPrincipal admin;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        List<Result> results = Fixtures.results(pageSize, 10);
+        Map<String, QuizSummary> summaries = Fixtures.summaries(10);
+
+        ResultRepository resultRepository = (ResultRepository) Proxy.newProxyInstance(
+                ResultRepository.class.getClassLoader(),
+                new Class<?>[]{ResultRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new PageImpl<>(results, (Pageable) args[0], 10_000);
+                    case "findSliceBy", "findByIdLessThan" ->
+                            new SliceImpl<>(results, (Pageable) args[args.length - 1], true);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryResultRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        QuizService quizService = new QuizService(1 << 20, 600) {
+            @Override
+            public Map<String, QuizSummary> findSummaries(Collection<String> ids) {
+                return summaries;
+            }
+        };
+
+        resultController = new ResultController();
+        Fixtures.inject(resultController, "resultRepository", resultRepository);
+        Fixtures.inject(resultController, "quizService", quizService);
+
+        admin = new AuthPrincipal();
+        admin.setId("admin");
+        admin.setUsername("admin");
+        admin.setRole("ADMIN");
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public Object offsetPage() {
+        return resultController.getAllResults(0, pageSize, null, admin).getBody();
+    }
+
+    @Benchmark
+    public Object cursorPage() {
+        return resultController.getAllResults(0, pageSize, "", admin).getBody();
+    }
+
+    @Benchmark
+    public byte[] offsetPageSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(resultController.getAllResults(0, pageSize, null, admin).getBody());
+    }
+}
@@ -0,0 +1,81 @@
+package com.quizplatform.quizapp.repository;
+
+import com.quizplatform.quizapp.model.Question;
+import com.quizplatform.quizapp.model.Quiz;
+import com.quizplatform.quizapp.service.AnswerKey;
+import com.quizplatform.quizapp.service.AnswerTally;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-question accuracy over a quiz's stored results: the scan behind
+ * /api/quizzes/{id}/answer-stats, minus the network. Each result is a raw
+ * BSON document holding the packed answers and correct mask, as the
+ * repository reads them off the cursor. Lives in the repository package
+ * because ResultRepositoryImpl.readPackedAnswers is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnswerScanBenchmark {
+
+    @Param({"100000", "500000"})
+    private int resultCount;
+
+    @Param({"20", "100"})
+    private int questionCount;
+
+    private List<RawBsonDocument> documents;
+
+    @Setup
+    public void setUp() {
+        Quiz quiz = quiz(questionCount);
+        AnswerKey key = AnswerKey.of(quiz);
+        Random random = new Random(42);
+        BsonDocumentCodec codec = new BsonDocumentCodec();
+        documents = new ArrayList<>(resultCount);
+        for (int r = 0; r < resultCount; r++) {
+            int[] answers = new int[questionCount];
+            for (int i = 0; i < questionCount; i++) {
+                answers[i] = random.nextInt(5) - 1;
+            }
+            // Shaped like the scan's projection: just the two binaries
+            BsonDocument document = new BsonDocument("answers", new BsonBinary(AnswerKey.pack(answers)))
+                    .append("correctMask", new BsonBinary(key.correctMask(answers)));
+            documents.add(new RawBsonDocument(document, codec));
+        }
+    }
+
+    @Benchmark
+    public AnswerTally tally() {
+        AnswerTally tally = new AnswerTally(questionCount);
+        for (RawBsonDocument document : documents) {
+            ResultRepositoryImpl.readPackedAnswers(document, tally::add);
+        }
+        return tally;
+    }
+
+    private static Quiz quiz(int questionCount) {
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setCorrectOption(i % 4);
+            questions.add(question);
+        }
+        Quiz quiz = new Quiz();
+        quiz.setId("650000000000000000000001");
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+}
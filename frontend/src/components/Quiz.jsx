@@ -5,6 +5,26 @@ import Navbar from './Navbar';
 import { AuthContext } from '../context/AuthContext';
 import './Quiz.css'; // Import the CSS file
 
+// crypto.randomUUID only exists in secure contexts (HTTPS or localhost);
+// getRandomValues works everywhere, so build a v4 UUID from it otherwise
+const newSubmissionKey = () => {
+  if (typeof crypto !== 'undefined' && typeof crypto.randomUUID === 'function') {
+    return crypto.randomUUID();
+  }
+  const bytes = new Uint8Array(16);
+  if (typeof crypto !== 'undefined' && typeof crypto.getRandomValues === 'function') {
+    crypto.getRandomValues(bytes);
+  } else {
+    for (let i = 0; i < bytes.length; i++) {
+      bytes[i] = Math.floor(Math.random() * 256);
+    }
+  }
+  bytes[6] = (bytes[6] & 0x0f) | 0x40;
+  bytes[8] = (bytes[8] & 0x3f) | 0x80;
+  const hex = Array.from(bytes, (b) => b.toString(16).padStart(2, '0')).join('');
+  return `${hex.slice(0, 8)}-${hex.slice(8, 12)}-${hex.slice(12, 16)}-${hex.slice(16, 20)}-${hex.slice(20)}`;
+};
+
 const Quiz = () => {
   const { id } = useParams();
   const [quiz, setQuiz] = useState(null);
@@ -24,17 +44,39 @@ const Quiz = () => {
   const [webcamActive, setWebcamActive] = useState(false);
   const [webcamError, setWebcamError] = useState('');
   const wasFullscreenRef = useRef(false);
+  // Server-side attempt: owns the deadline and keeps autosaved answers across reloads
+  const attemptIdRef = useRef(null);
+  // One key per attempt, reused if the submit is retried, so the server stores it once
+  const submissionKeyRef = useRef(null);
 
   useEffect(() => {
     const fetchQuiz = async () => {
       try {
         const response = await api.get(`/api/quizzes/${id}`);
         setQuiz(response.data);
-        // Default timer: 1 minute per question if no duration provided
-        const seconds = (response.data.durationSeconds)
-          ? response.data.durationSeconds
-          : (response.data.questions?.length || 1) * 60;
-        setTimeLeft(seconds);
+        try {
+          // Starting again after a reload resumes the same attempt and clock
+          const attempt = (await api.post('/api/attempts', { quizId: id })).data;
+          attemptIdRef.current = attempt.id;
+          // The attempt's own question and option order (and sample, for pooled
+          // quizzes); answers are indexed by this order from here on
+          if (attempt.questions) {
+            setQuiz({ ...response.data, questions: attempt.questions });
+          }
+          const saved = {};
+          attempt.answers.forEach((option, index) => {
+            if (option >= 0) saved[index] = option;
+          });
+          setAnswers(saved);
+          setTimeLeft(attempt.remainingSeconds);
+        } catch {
+          // No attempt support: fall back to a local countdown,
+          // 1 minute per question if no duration provided
+          const seconds = (response.data.durationSeconds)
+            ? response.data.durationSeconds
+            : (response.data.questions?.length || 1) * 60;
+          setTimeLeft(seconds);
+        }
       } catch (err) {
         setError('Error fetching quiz');
       } finally {
@@ -92,19 +134,33 @@ const Quiz = () => {
 
   const handleAnswer = useCallback((questionIndex, optionIndex) => {
     setAnswers((prev) => ({ ...prev, [questionIndex]: optionIndex }));
+    if (attemptIdRef.current) {
+      // Autosave; finishing sends the full answer vector again, so a lost click is harmless
+      api.post(`/api/attempts/${attemptIdRef.current}/answers`, { question: questionIndex, answer: optionIndex })
+        .catch(() => {});
+    }
   }, []);
 
   const handleSubmit = useCallback(async () => {
     if (!quiz) return;
-    let calculatedScore = 0;
-    quiz.questions.forEach((question, index) => {
-      if (answers[index] === question.correctOption) {
-        calculatedScore += 1;
-      }
-    });
-    const finalScore = Math.round((calculatedScore / quiz.questions.length) * 100);
+    // The server scores the raw answers; -1 marks an unanswered question
+    const answerVector = quiz.questions.map((_, index) => (answers[index] ?? -1));
     try {
-      await api.post('/api/results/submit', { quizId: id, score: finalScore });
+      let response;
+      if (attemptIdRef.current) {
+        // Finishing is idempotent; after the deadline the server keeps the autosaved answers
+        response = await api.post(`/api/attempts/${attemptIdRef.current}/finish`, { answers: answerVector });
+      } else {
+        if (!submissionKeyRef.current) {
+          submissionKeyRef.current = newSubmissionKey();
+        }
+        response = await api.post(
+          '/api/results/submit',
+          { quizId: id, answers: answerVector },
+          { headers: { 'Idempotency-Key': submissionKeyRef.current } }
+        );
+      }
+      const finalScore = response.data.score;
       setScore(finalScore);
       // Turn off webcam as the test is completed
       const stream = streamRef.current;
@@ -24,6 +24,10 @@ const Results = () => {
       // Handle new paginated response structure
       if (response.data.results) {
         setResults(response.data.results);
+        // Titles come back with the page, resolved server-side in one query
+        if (response.data.quizTitles) {
+          setQuizTitles((prev) => ({ ...prev, ...response.data.quizTitles }));
+        }
         setPagination({
           currentPage: response.data.currentPage,
           totalPages: response.data.totalPages,
@@ -45,34 +49,6 @@ const Results = () => {
     fetchResults();
   }, [user]);
 
-  // Fetch quiz titles for admin view to display friendly names
-  useEffect(() => {
-    const loadQuizTitles = async () => {
-      if (!results || results.length === 0) return;
-      const ids = Array.from(new Set(results.map((r) => r.quizId))).filter(Boolean);
-      const missing = ids.filter((id) => !quizTitles[id]);
-      if (missing.length === 0) return;
-      try {
-        const fetched = await Promise.all(
-          missing.map(async (id) => {
-            try {
-              const res = await api.get(`/api/quizzes/${id}`);
-              return [id, res.data?.title || id];
-            } catch {
-              return [id, id];
-            }
-          })
-        );
-        const map = { ...quizTitles };
-        fetched.forEach(([id, title]) => { map[id] = title; });
-        setQuizTitles(map);
-      } catch {}
-    };
-    if (user?.role === 'ADMIN') {
-      loadQuizTitles();
-    }
-  }, [results, user, quizTitles]);
-
   if (loading) return (
     <div className="results-loading">
       <Navbar />
@@ -5,4 +5,15 @@ const api = axios.create({
   withCredentials: true, // For session cookies
 });
 
-export default api;
\ No newline at end of file
+// Send the signed login token so any backend node can authenticate the request
+api.interceptors.request.use((config) => {
+  try {
+    const token = JSON.parse(localStorage.getItem('user'))?.token;
+    if (token) {
+      config.headers.Authorization = `Bearer ${token}`;
+    }
+  } catch {}
+  return config;
+});
+
+export default api;